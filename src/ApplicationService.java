@@ -1,3 +1,4 @@
+import java.util.*;
 /**
  * Service class that encapsulates the core business logic for Internship Applications.
  * <p>
@@ -9,23 +10,45 @@
  * <li>Students cannot apply if they have already confirmed a placement.</li>
  * </ul>
  * </p>
+ * <p>
+ * Application lookups by student or by internship are answered from the {@link ApplicationStore}, which
+ * indexes every application in both directions, and placement lookups from the {@link PlacementIndex}.
+ * Withdrawal requests awaiting staff review are read from the {@link PendingWorkQueues}, and the
+ * availability rules are answered from the bitmaps of the {@link EligibilityIndex}.
+ * </p>
  */
 public class ApplicationService implements IApplicationService {
     private final IUserRepository<Student> studentRepo;
     private final IInternshipRepository internshipRepo;
+    private final ApplicationStore applicationStore;
+    private final PlacementIndex placementIndex;
+    private final PendingWorkQueues pendingWork;
+    private final EligibilityIndex eligibility;
     private final IOutputService outputService;
     /**
      * Constructs the ApplicationService with necessary dependencies.
      *
-     * @param studentRepo    Repository to access student data.
-     * @param internshipRepo Repository to access internship data.
-     * @param outputService  Service to display messages to the user.
+     * @param studentRepo      Repository to access student data.
+     * @param internshipRepo   Repository to access internship data.
+     * @param applicationStore Index of all applications, kept current by entity change events.
+     * @param placementIndex   Index of confirmed placements, kept current by entity change events.
+     * @param pendingWork      Queue of withdrawal requests awaiting review.
+     * @param eligibility      Bitmaps of the internships open to each major and level.
+     * @param outputService    Service to display messages to the user.
      */
     public ApplicationService(IUserRepository<Student> studentRepo,
                               IInternshipRepository internshipRepo,
+                              ApplicationStore applicationStore,
+                              PlacementIndex placementIndex,
+                              PendingWorkQueues pendingWork,
+                              EligibilityIndex eligibility,
                               IOutputService outputService) {
         this.studentRepo = studentRepo;
         this.internshipRepo = internshipRepo;
+        this.applicationStore = applicationStore;
+        this.placementIndex = placementIndex;
+        this.pendingWork = pendingWork;
+        this.eligibility = eligibility;
         this.outputService = outputService;
     }
     /**
@@ -59,27 +82,8 @@ public class ApplicationService implements IApplicationService {
             return false;
         }
 
-        if (!"Approved".equals(internship.getStatus()) || !internship.isVisible()) {
-            outputService.displayError("Internship is not available.");
-            return false;
-        }
-
-        if (!internship.hasAvailableSlots()) {
-            outputService.displayError("No available slots for this internship.");
-            return false;
-        }
-
-        String preferredMajor = internship.getPreferredMajor();
-        if (!preferredMajor.equalsIgnoreCase(student.getMajor()) &&
-                !preferredMajor.equalsIgnoreCase("all")) {
-            outputService.displayError("Your major does not match the internship requirements.");
-            return false;
-        }
-
-        int year = student.getYearOfStudy();
-        String level = internship.getLevel();
-        if (year <= 2 && !level.equalsIgnoreCase("Basic")) {
-            outputService.displayError("Year 1 and 2 students can only apply for Basic-level internships.");
+        if (!eligibility.isEligible(student, internshipID)) {
+            reportIneligibility(student, internship);
             return false;
         }
 
@@ -88,6 +92,24 @@ public class ApplicationService implements IApplicationService {
         outputService.displayMessage("Application submitted successfully!");
         return true;
     }
+    /**
+     * Tells the student which rule an application broke. Only called once the index has ruled it out,
+     * so the rules are re-checked on a single internship.
+     */
+    private void reportIneligibility(Student student, Internship internship) {
+        if (internship.getStatusCode() != StringDictionary.STATUS_APPROVED || !internship.isVisible()) {
+            outputService.displayError("Internship is not available.");
+        } else if (!internship.hasAvailableSlots()) {
+            outputService.displayError("No available slots for this internship.");
+        } else if (internship.getPreferredMajorCode() != student.getMajorCode()
+                && internship.getPreferredMajorCode() != StringDictionary.MAJOR_ALL) {
+            outputService.displayError("Your major does not match the internship requirements.");
+        } else if (student.getYearOfStudy() <= 2 && internship.getLevelCode() != StringDictionary.LEVEL_BASIC) {
+            outputService.displayError("Year 1 and 2 students can only apply for Basic-level internships.");
+        } else {
+            outputService.displayError("Internship is not available.");
+        }
+    }
     /**
      * Immediately withdraws a student's application.
      * <p>
@@ -180,7 +202,7 @@ public class ApplicationService implements IApplicationService {
             return false;
         }
 
-        String currentStatus = internship.getStudentStatus(studentID);
+        String currentStatus = applicationStore.getStatus(studentID, internshipID);
         if (!"Confirmed".equals(currentStatus) && !"Approved".equals(currentStatus)) {
             outputService.displayError("Can only withdraw from confirmed or approved placements.");
             return false;
@@ -245,4 +267,46 @@ public class ApplicationService implements IApplicationService {
         }
         return rejected;
     }
+
+    @Override
+    public List<String> findApplications(String studentID, String status) {
+        return applicationStore.getInternshipIDs(studentID, status);
+    }
+
+    @Override
+    public List<String> findApplicants(String internshipID, String status) {
+        return applicationStore.getStudentIDs(internshipID, status);
+    }
+
+    @Override
+    public int countApplicants(String internshipID, String status) {
+        return applicationStore.countApplicants(internshipID, status);
+    }
+
+    @Override
+    public List<String> findEligibleInternships(String studentID, String level) {
+        Student student = studentRepo.getById(studentID);
+        return student == null ? new ArrayList<>() : eligibility.getEligibleIDs(student, level);
+    }
+
+    @Override
+    public boolean isEligible(String studentID, String internshipID) {
+        Student student = studentRepo.getById(studentID);
+        return student != null && eligibility.isEligible(student, internshipID);
+    }
+
+    @Override
+    public List<String> findPlacedStudents(String internshipID) {
+        return placementIndex.getPlacedStudents(internshipID);
+    }
+
+    @Override
+    public List<WithdrawalRequest> getPendingWithdrawals(int offset, int limit) {
+        return pendingWork.getWithdrawals().page(offset, limit);
+    }
+
+    @Override
+    public int countPendingWithdrawals() {
+        return pendingWork.getWithdrawals().size();
+    }
 }
@@ -0,0 +1,266 @@
+import java.util.*;
+/**
+ * Central table of every (student, internship) application and its status.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a <b>Derived Index</b> kept next to the repositories. The authoritative application state
+ * still lives in each {@link Internship} (and is persisted from there); the store subscribes to
+ * {@link IEntityChangeListener} events and mirrors it in a form that can be queried from either side.
+ * {@link ApplicationService} answers questions such as "which of this student's applications are Approved"
+ * or "how many applicants of this internship are Pending" here, without walking the other side.
+ * </p>
+ * <p>
+ * <b>Layout:</b>
+ * <ul>
+ * <li>Student and internship IDs are numbered once, in first-seen order.</li>
+ * <li>Every application is one slot of an open-addressing table: a {@code long} key (student number in the
+ * high half, internship number in the low half) and a {@code byte} holding the {@link StringDictionary}
+ * status code.</li>
+ * <li>Two reverse indexes hold, per student, the internship numbers applied for and, per internship, the
+ * student numbers that applied, each as a plain {@code int[]}.</li>
+ * </ul>
+ * Applications are never deleted (a withdrawal is a status), so none of the structures needs tombstones.
+ * </p>
+ */
+public class ApplicationStore implements IEntityChangeListener {
+    private static final int INITIAL_CAPACITY = 64;     // table slots, always a power of two
+    private static final int INITIAL_LIST_SIZE = 2;
+
+    private final Map<String, Integer> studentNumbers = new HashMap<>();
+    private final List<String> studentIDs = new ArrayList<>();
+    private final Map<String, Integer> internshipNumbers = new HashMap<>();
+    private final List<String> internshipIDs = new ArrayList<>();
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY]; // status code + 1; 0 marks an empty slot
+    private int size;
+
+    private int[][] internshipsByStudent = new int[16][];
+    private int[] internshipCountByStudent = new int[16];
+    private int[][] studentsByInternship = new int[16][];
+    private int[] studentCountByInternship = new int[16];
+    /**
+     * Replaces the contents with the applications currently held by the given internships.
+     * Called once after the initial load, before the store is subscribed to change events.
+     *
+     * @param internships Every internship in the system.
+     */
+    public synchronized void rebuild(Iterable<Internship> internships) {
+        studentNumbers.clear();
+        studentIDs.clear();
+        internshipNumbers.clear();
+        internshipIDs.clear();
+        keys = new long[INITIAL_CAPACITY];
+        statuses = new byte[INITIAL_CAPACITY];
+        size = 0;
+        internshipsByStudent = new int[16][];
+        internshipCountByStudent = new int[16];
+        studentsByInternship = new int[16][];
+        studentCountByInternship = new int[16];
+        for (Internship internship : internships) {
+            record(internship);
+        }
+    }
+
+    // ===== IEntityChangeListener =====
+
+    @Override
+    public synchronized void onInternshipAdded(Internship internship) {
+        record(internship);
+    }
+
+    @Override
+    public synchronized void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        put(studentID, internship.getInternshipID(), newStatus);
+    }
+
+    // ===== Queries =====
+    /**
+     * @return The application status, or {@code null} if the student never applied for the internship.
+     */
+    public synchronized String getStatus(String studentID, String internshipID) {
+        Integer student = studentNumbers.get(studentID);
+        Integer internship = internshipNumbers.get(internshipID);
+        if (student == null || internship == null) {
+            return null;
+        }
+        int slot = find(key(student, internship));
+        return statuses[slot] == 0 ? null : StringDictionary.STATUSES.decode(statuses[slot] - 1);
+    }
+    /**
+     * Lists the internships a student applied for, in the order the applications were first made.
+     *
+     * @param studentID The student.
+     * @param status    Only applications in this status, or {@code null} for all.
+     * @return The internship IDs.
+     */
+    public synchronized List<String> getInternshipIDs(String studentID, String status) {
+        Integer student = studentNumbers.get(studentID);
+        if (student == null) {
+            return new ArrayList<>();
+        }
+        int statusCode = statusFilter(status);
+        List<String> result = new ArrayList<>();
+        int[] internships = internshipsByStudent[student];
+        for (int i = 0; i < internshipCountByStudent[student]; i++) {
+            if (matches(student, internships[i], statusCode)) {
+                result.add(internshipIDs.get(internships[i]));
+            }
+        }
+        return result;
+    }
+    /**
+     * Lists the students who applied for an internship, in the order they first applied.
+     *
+     * @param internshipID The internship.
+     * @param status       Only applications in this status, or {@code null} for all.
+     * @return The student IDs.
+     */
+    public synchronized List<String> getStudentIDs(String internshipID, String status) {
+        Integer internship = internshipNumbers.get(internshipID);
+        if (internship == null) {
+            return new ArrayList<>();
+        }
+        int statusCode = statusFilter(status);
+        List<String> result = new ArrayList<>();
+        int[] students = studentsByInternship[internship];
+        for (int i = 0; i < studentCountByInternship[internship]; i++) {
+            if (matches(students[i], internship, statusCode)) {
+                result.add(studentIDs.get(students[i]));
+            }
+        }
+        return result;
+    }
+    /**
+     * Counts the applications of an internship, optionally in one status only.
+     */
+    public synchronized int countApplicants(String internshipID, String status) {
+        Integer internship = internshipNumbers.get(internshipID);
+        if (internship == null) {
+            return 0;
+        }
+        int statusCode = statusFilter(status);
+        if (statusCode == StringDictionary.ANY) {
+            return studentCountByInternship[internship];
+        }
+        int count = 0;
+        int[] students = studentsByInternship[internship];
+        for (int i = 0; i < studentCountByInternship[internship]; i++) {
+            if (matches(students[i], internship, statusCode)) {
+                count++;
+            }
+        }
+        return count;
+    }
+    /**
+     * @return The number of applications in the store.
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    // ===== Internals =====
+
+    private void record(Internship internship) {
+        for (Map.Entry<String, String> application : internship.viewStudentStatuses().entrySet()) {
+            put(application.getKey(), internship.getInternshipID(), application.getValue());
+        }
+    }
+
+    private void put(String studentID, String internshipID, String status) {
+        int code = StringDictionary.STATUSES.encode(status);
+        if (code < 0 || code >= Byte.MAX_VALUE) {
+            throw new IllegalStateException("Status code " + code + " of \"" + status + "\" does not fit the application table");
+        }
+        int student = number(studentID, studentNumbers, studentIDs);
+        int internship = number(internshipID, internshipNumbers, internshipIDs);
+        long key = key(student, internship);
+        int slot = find(key);
+        boolean added = statuses[slot] == 0;
+        keys[slot] = key;
+        statuses[slot] = (byte) (code + 1);
+        if (added) {
+            size++;
+            append(student, internship);
+            if (size * 2 > keys.length) {
+                grow();
+            }
+        }
+    }
+
+    private void append(int student, int internship) {
+        if (student >= internshipsByStudent.length) {
+            int length = Math.max(student + 1, internshipsByStudent.length * 2);
+            internshipsByStudent = Arrays.copyOf(internshipsByStudent, length);
+            internshipCountByStudent = Arrays.copyOf(internshipCountByStudent, length);
+        }
+        if (internship >= studentsByInternship.length) {
+            int length = Math.max(internship + 1, studentsByInternship.length * 2);
+            studentsByInternship = Arrays.copyOf(studentsByInternship, length);
+            studentCountByInternship = Arrays.copyOf(studentCountByInternship, length);
+        }
+        internshipsByStudent[student] = add(internshipsByStudent[student], internshipCountByStudent[student]++, internship);
+        studentsByInternship[internship] = add(studentsByInternship[internship], studentCountByInternship[internship]++, student);
+    }
+
+    private static int[] add(int[] list, int index, int value) {
+        if (list == null) {
+            list = new int[INITIAL_LIST_SIZE];
+        } else if (index == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+        }
+        list[index] = value;
+        return list;
+    }
+
+    private boolean matches(int student, int internship, int statusCode) {
+        return statusCode == StringDictionary.ANY || statuses[find(key(student, internship))] == statusCode + 1;
+    }
+
+    private static int statusFilter(String status) {
+        if (status == null) {
+            return StringDictionary.ANY;
+        }
+        int code = StringDictionary.STATUSES.lookup(status);
+        return code < 0 ? StringDictionary.NONE : code;
+    }
+
+    private static int number(String id, Map<String, Integer> numbers, List<String> ids) {
+        Integer number = numbers.get(id);
+        if (number == null) {
+            number = ids.size();
+            numbers.put(id, number);
+            ids.add(id);
+        }
+        return number;
+    }
+
+    private static long key(int student, int internship) {
+        return ((long) student << 32) | (internship & 0xFFFFFFFFL);
+    }
+    /**
+     * @return The slot holding {@code key}, or the empty slot where it would be inserted.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        while (statuses[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldStatuses = statuses;
+        keys = new long[oldKeys.length * 2];
+        statuses = new byte[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldStatuses[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                statuses[slot] = oldStatuses[i];
+            }
+        }
+    }
+}
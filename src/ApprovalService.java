@@ -1,3 +1,4 @@
+import java.util.*;
 // Single Responsibility - handles approval business logic
 /**
  * Service class responsible for administrative approval workflows.
@@ -11,23 +12,31 @@
  * on the state transitions (Approved/Rejected) of system entities, separate from
  * the logic of creating them or applying to them.
  * </p>
+ * <p>
+ * The review backlogs are read from {@link PendingWorkQueues}, which follow every status transition,
+ * so listing them never scans the repositories.
+ * </p>
  */
 public class ApprovalService implements IApprovalService {
     private final IUserRepository<CompanyRepresentative> companyRepo;
     private final IInternshipRepository internshipRepo;
+    private final PendingWorkQueues pendingWork;
     private final IOutputService outputService;
     /**
      * Constructs the ApprovalService with necessary repositories.
      *
      * @param companyRepo    Repository to access Company Representative data.
      * @param internshipRepo Repository to access Internship data.
+     * @param pendingWork    Queues of representatives and internships awaiting approval.
      * @param outputService  Service to display confirmation messages.
      */
     public ApprovalService(IUserRepository<CompanyRepresentative> companyRepo,
                           IInternshipRepository internshipRepo,
+                          PendingWorkQueues pendingWork,
                           IOutputService outputService) {
         this.companyRepo = companyRepo;
         this.internshipRepo = internshipRepo;
+        this.pendingWork = pendingWork;
         this.outputService = outputService;
     }
     /**
@@ -112,4 +121,38 @@ public class ApprovalService implements IApprovalService {
         outputService.displayMessage("Internship rejected: " + internship.getTitle());
         return true;
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<CompanyRepresentative> getPendingCompanyReps(int offset, int limit) {
+        List<CompanyRepresentative> reps = new ArrayList<>();
+        for (String repID : pendingWork.getCompanyReps().page(offset, limit)) {
+            CompanyRepresentative rep = companyRepo.getById(repID);
+            if (rep != null) {
+                reps.add(rep);
+            }
+        }
+        return reps;
+    }
+
+    @Override
+    public int countPendingCompanyReps() {
+        return pendingWork.getCompanyReps().size();
+    }
+
+    @Override
+    public List<Internship> getPendingInternships(int offset, int limit) {
+        List<Internship> internships = new ArrayList<>();
+        for (String internshipID : pendingWork.getInternships().page(offset, limit)) {
+            Internship internship = internshipRepo.getById(internshipID);
+            if (internship != null) {
+                internships.add(internship);
+            }
+        }
+        return internships;
+    }
+
+    @Override
+    public int countPendingInternships() {
+        return pendingWork.getInternships().size();
+    }
+}
@@ -1,10 +1,21 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 /**
  * Concrete implementation of the Authentication Service.
  * <p>
  * <b>Security Note:</b> This class separates security credentials (passwords) from the
  * User Profile objects stored in {@link UserRepository}. This ensures that a compromise
- * of the user list does not automatically compromise user passwords.
+ * of the user list does not automatically compromise user passwords. A password a user has set is kept only
+ * as a {@link PasswordHasher} hash with its own salt, which is also all that the change listener (and so the
+ * write-ahead log and snapshots) ever sees.
+ * </p>
+ * <p>
+ * <b>Default Password:</b> Accounts loaded from the data files start with {@link #DEFAULT_PASSWORD}. They are
+ * stored as the explicit {@link #DEFAULT_PASSWORD_MARKER} rather than a hash: every such account has the same
+ * password anyway, and the marker says so openly instead of through a shared hash that one crack would open.
+ * Logging in with it asks the user to change it.
  * </p>
  * <p>
  * It also enforces <b>Role-Based Access Control</b> at the login stage, preventing
@@ -12,30 +23,89 @@ import java.util.*;
  * </p>
  */
 public class AuthenticationService implements IAuthenticationService {
+    /** Stored instead of a hash for an account that still uses {@link #DEFAULT_PASSWORD}. */
+    static final String DEFAULT_PASSWORD_MARKER = "default$must-change";
+
     private final Map<String, String> credentials;
     private final Map<String, String> emailToUserID;
     private final Set<String> loggedInUsers;
     private final IOutputService outputService;
     private IUserRepository<CompanyRepresentative> companyRepo;
+    private IEntityChangeListener changeListener;
 
     public AuthenticationService(IOutputService outputService) {
-        this.credentials = new HashMap<>();
-        this.emailToUserID = new HashMap<>();
-        this.loggedInUsers = new HashSet<>();
+        // Concurrent, because the initial load registers the three user files from separate threads
+        this.credentials = new ConcurrentHashMap<>();
+        this.emailToUserID = new ConcurrentHashMap<>();
+        this.loggedInUsers = ConcurrentHashMap.newKeySet();
         this.outputService = outputService;
     }
 
     public void setCompanyRepository(IUserRepository<CompanyRepresentative> companyRepo) {
         this.companyRepo = companyRepo;
     }
+    /**
+     * Attaches a listener that is told about every credential (as its hash) and email registration,
+     * so that passwords set at runtime survive a restart.
+     *
+     * @param changeListener The listener, or {@code null} to detach.
+     */
+    public void setChangeListener(IEntityChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
 
     @Override
     public void registerUser(String userID, String password) {
-        credentials.put(userID, password);
+        storeCredential(userID, PasswordHasher.hash(password));
+    }
+    /**
+     * Registers a batch with {@link #DEFAULT_PASSWORD} as {@link #DEFAULT_PASSWORD_MARKER}, which needs no
+     * hashing; any other password is hashed per user, each with its own salt.
+     */
+    @Override
+    public void registerUsers(Collection<String> userIDs, String password) {
+        for (String userID : userIDs) {
+            storeCredential(userID, DEFAULT_PASSWORD.equals(password) ? DEFAULT_PASSWORD_MARKER : PasswordHasher.hash(password));
+        }
+    }
+    /**
+     * Restores a credential read back by {@link MutationReplayer}. Records written before passwords were
+     * hashed hold the password itself; it is hashed on the way in.
+     *
+     * @param userID The user.
+     * @param stored The stored hash or default-password marker (or, from an old log, the password).
+     */
+    public void restoreCredential(String userID, String stored) {
+        boolean kept = PasswordHasher.isHash(stored) || DEFAULT_PASSWORD_MARKER.equals(stored);
+        credentials.put(userID, kept ? stored : PasswordHasher.hash(stored));
+    }
+    /**
+     * @return {@code true} if the user has never changed the default password.
+     */
+    public boolean usesDefaultPassword(String userID) {
+        return DEFAULT_PASSWORD_MARKER.equals(credentials.get(userID));
+    }
+
+    private static boolean matches(String password, String stored) {
+        if (DEFAULT_PASSWORD_MARKER.equals(stored)) {
+            return MessageDigest.isEqual(DEFAULT_PASSWORD.getBytes(StandardCharsets.UTF_8),
+                    password.getBytes(StandardCharsets.UTF_8));
+        }
+        return PasswordHasher.verify(password, stored);
+    }
+
+    private void storeCredential(String userID, String hash) {
+        credentials.put(userID, hash);
+        if (changeListener != null) {
+            changeListener.onCredentialChanged(userID, hash);
+        }
     }
 
     public void registerEmail(String email, String userID) {
         emailToUserID.put(email.toLowerCase(), userID);
+        if (changeListener != null) {
+            changeListener.onEmailRegistered(email.toLowerCase(), userID);
+        }
     }
     /**
      * Authenticates a user against the stored credentials.
@@ -58,7 +128,7 @@ public class AuthenticationService implements IAuthenticationService {
         }
 
         // Check password
-        if (credentials.containsKey(userID) && credentials.get(userID).equals(password)) {
+        if (matches(password, credentials.get(userID))) {
 
             // === FIX: Specific checks for Company Rep status ===
             if (userID.startsWith("CR") && companyRepo != null) {
@@ -79,6 +149,9 @@ public class AuthenticationService implements IAuthenticationService {
             // ===================================================
 
             loggedInUsers.add(userID);
+            if (usesDefaultPassword(userID)) {
+                outputService.displayMessage("You are still using the default password. Please change it from your menu.");
+            }
             return true;
         }
 
@@ -107,8 +180,8 @@ public class AuthenticationService implements IAuthenticationService {
      * @return {@code true} if the old password matched and update was successful.
      */
     public boolean changePassword(String userID, String oldPassword, String newPassword) {
-        if (credentials.containsKey(userID) && credentials.get(userID).equals(oldPassword)) {
-            credentials.put(userID, newPassword);
+        if (matches(oldPassword, credentials.get(userID))) {
+            storeCredential(userID, PasswordHasher.hash(newPassword));
             outputService.displayMessage("Password changed successfully!");
             return true;
         }
@@ -119,4 +192,13 @@ public class AuthenticationService implements IAuthenticationService {
     public String getUserIDFromEmail(String email) {
         return emailToUserID.get(email.toLowerCase());
     }
+
+    // Copies used by SnapshotManager (credentials as hashes or the default marker); not part of the public service contract
+    Map<String, String> exportCredentials() {
+        return new HashMap<>(credentials);
+    }
+
+    Map<String, String> exportEmails() {
+        return new HashMap<>(emailToUserID);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+import java.util.*;
+/**
+ * Command-line converter from the sample CSV files to the binary column format.
+ * <p>
+ * <b>Usage:</b> {@code java BinaryDataConverter [studentCSV companyCSV staffCSV]}. Each input is read with
+ * {@link CSVDataLoader} and written next to it with a {@code .bin} extension by {@link BinaryDataSaver}.
+ * Without arguments the three {@code sample_*.csv} files in the working directory are converted.
+ * </p>
+ */
+public class BinaryDataConverter {
+    static final String STUDENT_CSV = "sample_student_list.csv";
+    static final String COMPANY_CSV = "sample_company_representative_list.csv";
+    static final String STAFF_CSV = "sample_staff_list.csv";
+
+    public static void main(String[] args) {
+        String studentCSV = args.length >= 3 ? args[0] : STUDENT_CSV;
+        String companyCSV = args.length >= 3 ? args[1] : COMPANY_CSV;
+        String staffCSV = args.length >= 3 ? args[2] : STAFF_CSV;
+
+        CSVDataLoader csvLoader = new CSVDataLoader();
+        BinaryDataSaver binarySaver = new BinaryDataSaver();
+
+        binarySaver.saveStudents(toBinaryName(studentCSV), csvLoader.loadStudents(studentCSV));
+        binarySaver.saveCompanyReps(toBinaryName(companyCSV), csvLoader.loadCompanyReps(companyCSV));
+        binarySaver.saveStaff(toBinaryName(staffCSV), csvLoader.loadStaff(staffCSV));
+
+        System.out.println("Wrote " + toBinaryName(studentCSV) + ", " + toBinaryName(companyCSV)
+                + " and " + toBinaryName(staffCSV));
+    }
+    /**
+     * @return The file name with its {@code .csv} extension replaced by {@code .bin}.
+     */
+    static String toBinaryName(String csvFile) {
+        return (csvFile.endsWith(".csv") ? csvFile.substring(0, csvFile.length() - 4) : csvFile) + ".bin";
+    }
+}
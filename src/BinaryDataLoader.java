@@ -0,0 +1,139 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Data Loader strategy for the binary column files written by {@link BinaryDataSaver}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class belongs to the <b>Persistence Layer (Read Side)</b> and is a drop-in {@link IDataLoader}.
+ * Each file is mapped once into a single {@link java.nio.ByteBuffer}; columns are then decoded straight from
+ * that buffer, so there is no tokenizing, no {@code Integer.parseInt} and no per-row allocation for
+ * dictionary-encoded values.
+ * </p>
+ * <p>
+ * <b>Robustness:</b> Like {@link CSVDataLoader}, a file that is missing, truncated, of an unknown version
+ * or of the wrong entity type is reported on {@code System.err} and yields an empty list instead of a crash.
+ * </p>
+ */
+public class BinaryDataLoader implements IDataLoader {
+    private final boolean reportLoadStats;
+    /**
+     * Creates a loader that prints a throughput report for every file it reads.
+     */
+    public BinaryDataLoader() {
+        this(true);
+    }
+    /**
+     * Creates a loader.
+     *
+     * @param reportLoadStats {@code true} to print rows/s and bytes/s after each file.
+     */
+    public BinaryDataLoader(boolean reportLoadStats) {
+        this.reportLoadStats = reportLoadStats;
+    }
+
+    @Override
+    public List<Student> loadStudents(String filename) {
+        return load(filename, ColumnarFile.TYPE_STUDENTS, reader -> {
+            String[] ids = reader.strings("id");
+            String[] names = reader.strings("name");
+            String[] majors = reader.dict("major");
+            int[] years = reader.ints("year");
+
+            List<Student> students = new ArrayList<>(ids.length);
+            for (int row = 0; row < ids.length; row++) {
+                students.add(new Student(ids[row], names[row], years[row], majors[row]));
+            }
+            return students;
+        });
+    }
+
+    @Override
+    public List<CompanyRepresentative> loadCompanyReps(String filename) {
+        return load(filename, ColumnarFile.TYPE_COMPANY_REPS, reader -> {
+            String[] ids = reader.strings("id");
+            String[] names = reader.strings("name");
+            String[] companies = reader.dict("company");
+            String[] departments = reader.dict("department");
+            String[] positions = reader.strings("position");
+            String[] emails = reader.strings("email");
+            String[] statuses = reader.dict("status");
+
+            List<CompanyRepresentative> reps = new ArrayList<>(ids.length);
+            for (int row = 0; row < ids.length; row++) {
+                CompanyRepresentative rep = new CompanyRepresentative(ids[row], names[row], companies[row],
+                        departments[row], positions[row], emails[row]);
+                rep.setStatus(statuses[row]);
+                reps.add(rep);
+            }
+            return reps;
+        });
+    }
+
+    @Override
+    public List<CareerCenterStaff> loadStaff(String filename) {
+        return load(filename, ColumnarFile.TYPE_STAFF, reader -> {
+            String[] ids = reader.strings("id");
+            String[] names = reader.strings("name");
+
+            List<CareerCenterStaff> staff = new ArrayList<>(ids.length);
+            for (int row = 0; row < ids.length; row++) {
+                staff.add(new CareerCenterStaff(ids[row], names[row]));
+            }
+            return staff;
+        });
+    }
+
+    @Override
+    public List<Internship> loadInternships(String filename) {
+        return load(filename, ColumnarFile.TYPE_INTERNSHIPS, reader -> {
+            String[] ids = reader.strings("id");
+            String[] titles = reader.strings("title");
+            String[] descriptions = reader.strings("description");
+            String[] levels = reader.dict("level");
+            String[] majors = reader.dict("major");
+            String[] openingDates = reader.strings("openingDate");
+            String[] closingDates = reader.strings("closingDate");
+            int[] totalSlots = reader.ints("totalSlots");
+            String[] companies = reader.dict("company");
+            String[] repIDs = reader.strings("representativeID");
+            String[] statuses = reader.dict("status");
+            boolean[] visible = reader.bools("visible");
+            int[] confirmedSlots = reader.ints("confirmedSlots");
+
+            List<Internship> internships = new ArrayList<>(ids.length);
+            for (int row = 0; row < ids.length; row++) {
+                Internship internship = new Internship(ids[row], titles[row], descriptions[row], levels[row],
+                        majors[row], openingDates[row], closingDates[row], totalSlots[row], companies[row], repIDs[row]);
+                internship.setStatus(statuses[row]);
+                internship.setVisible(visible[row]);
+                internship.restoreConfirmedSlots(confirmedSlots[row]);
+                internships.add(internship);
+            }
+            return internships;
+        });
+    }
+
+    private <T> List<T> load(String filename, byte expectedType, ColumnDecoder<T> decoder) {
+        long start = System.nanoTime();
+        try {
+            ColumnarFile.Reader reader = new ColumnarFile.Reader(filename);
+            if (reader.getEntityType() != expectedType) {
+                throw new IOException(filename + " holds entity type " + reader.getEntityType()
+                        + ", expected " + expectedType);
+            }
+            List<T> result = decoder.decode(reader);
+            if (reportLoadStats) {
+                CSVDataLoader.printLoadReport(filename, result.size(), reader.getSizeBytes(), System.nanoTime() - start);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading file: " + filename + " (" + e.getMessage() + ")");
+            return new ArrayList<>();
+        }
+    }
+
+    // Turns the columns of one mapped file into entities
+    private interface ColumnDecoder<T> {
+        List<T> decode(ColumnarFile.Reader reader) throws IOException;
+    }
+}
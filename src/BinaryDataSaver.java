@@ -0,0 +1,163 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Data Saver strategy that writes the versioned binary column format defined in {@link ColumnarFile}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class belongs to the <b>Persistence Layer (Write Side)</b> and is the counterpart of
+ * {@link BinaryDataLoader}. It trades human readability for load speed: a cold start no longer has to
+ * tokenize and parse text, it only copies fixed-width values and slices strings out of a mapped file.
+ * </p>
+ * <p>
+ * <b>Encoding Choices:</b>
+ * <ul>
+ * <li><b>Dictionary Columns:</b> major, company, department, level and status have very few distinct
+ * values, so each row stores a 1-byte code instead of the text.</li>
+ * <li><b>Fixed-Width Columns:</b> year of study, total slots and confirmed slots are 4-byte integers.</li>
+ * <li><b>Atomic Replace:</b> Each file is written to a temporary file and renamed into place.</li>
+ * </ul>
+ * </p>
+ */
+public class BinaryDataSaver implements IDataSaver {
+
+    @Override
+    public void saveCompanyReps(String filename, List<CompanyRepresentative> reps) {
+        List<String> ids = new ArrayList<>(), names = new ArrayList<>(), companies = new ArrayList<>(),
+                departments = new ArrayList<>(), positions = new ArrayList<>(), emails = new ArrayList<>(),
+                statuses = new ArrayList<>();
+        for (CompanyRepresentative rep : reps) {
+            ids.add(rep.getUserID());
+            names.add(rep.getName());
+            companies.add(rep.getCompanyName());
+            departments.add(rep.getDepartment());
+            positions.add(rep.getPosition());
+            emails.add(rep.getEmail());
+            statuses.add(rep.getStatus());
+        }
+        try {
+            new ColumnarFile.Writer(ColumnarFile.TYPE_COMPANY_REPS, reps.size())
+                    .stringColumn("id", ids)
+                    .stringColumn("name", names)
+                    .dictColumn("company", companies)
+                    .dictColumn("department", departments)
+                    .stringColumn("position", positions)
+                    .stringColumn("email", emails)
+                    .dictColumn("status", statuses)
+                    .writeTo(filename);
+        } catch (IOException e) {
+            System.err.println("Error saving company representatives to " + filename + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveStudents(String filename, List<Student> students) {
+        List<String> ids = new ArrayList<>(), names = new ArrayList<>(), majors = new ArrayList<>();
+        int[] years = new int[students.size()];
+        for (int row = 0; row < students.size(); row++) {
+            Student student = students.get(row);
+            ids.add(student.getUserID());
+            names.add(student.getName());
+            majors.add(student.getMajor());
+            years[row] = student.getYearOfStudy();
+        }
+        try {
+            new ColumnarFile.Writer(ColumnarFile.TYPE_STUDENTS, students.size())
+                    .stringColumn("id", ids)
+                    .stringColumn("name", names)
+                    .dictColumn("major", majors)
+                    .intColumn("year", years)
+                    .writeTo(filename);
+        } catch (IOException e) {
+            System.err.println("Error saving students to " + filename + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveStaff(String filename, List<CareerCenterStaff> staff) {
+        List<String> ids = new ArrayList<>(), names = new ArrayList<>();
+        for (CareerCenterStaff member : staff) {
+            ids.add(member.getUserID());
+            names.add(member.getName());
+        }
+        try {
+            new ColumnarFile.Writer(ColumnarFile.TYPE_STAFF, staff.size())
+                    .stringColumn("id", ids)
+                    .stringColumn("name", names)
+                    .writeTo(filename);
+        } catch (IOException e) {
+            System.err.println("Error saving staff to " + filename + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveInternships(String filename, List<Internship> internships) {
+        int rows = internships.size();
+        List<String> ids = new ArrayList<>(rows), titles = new ArrayList<>(rows), descriptions = new ArrayList<>(rows),
+                levels = new ArrayList<>(rows), majors = new ArrayList<>(rows), openingDates = new ArrayList<>(rows),
+                closingDates = new ArrayList<>(rows), companies = new ArrayList<>(rows), repIDs = new ArrayList<>(rows),
+                statuses = new ArrayList<>(rows);
+        int[] totalSlots = new int[rows];
+        int[] confirmedSlots = new int[rows];
+        boolean[] visible = new boolean[rows];
+        for (int row = 0; row < rows; row++) {
+            Internship internship = internships.get(row);
+            ids.add(internship.getInternshipID());
+            titles.add(internship.getTitle());
+            descriptions.add(internship.getDescription());
+            levels.add(internship.getLevel());
+            majors.add(internship.getPreferredMajor());
+            openingDates.add(internship.getOpeningDate());
+            closingDates.add(internship.getClosingDate());
+            companies.add(internship.getCompanyName());
+            repIDs.add(internship.getRepresentativeID());
+            statuses.add(internship.getStatus());
+            totalSlots[row] = internship.getTotalSlots();
+            confirmedSlots[row] = internship.getConfirmedSlots();
+            visible[row] = internship.isVisible();
+        }
+        try {
+            new ColumnarFile.Writer(ColumnarFile.TYPE_INTERNSHIPS, rows)
+                    .stringColumn("id", ids)
+                    .stringColumn("title", titles)
+                    .stringColumn("description", descriptions)
+                    .dictColumn("level", levels)
+                    .dictColumn("major", majors)
+                    .stringColumn("openingDate", openingDates)
+                    .stringColumn("closingDate", closingDates)
+                    .intColumn("totalSlots", totalSlots)
+                    .dictColumn("company", companies)
+                    .stringColumn("representativeID", repIDs)
+                    .dictColumn("status", statuses)
+                    .boolColumn("visible", visible)
+                    .intColumn("confirmedSlots", confirmedSlots)
+                    .writeTo(filename);
+        } catch (IOException e) {
+            System.err.println("Error saving internships to " + filename + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveApplications(String filename, List<Internship> internships) {
+        List<String> internshipIDs = new ArrayList<>(), studentIDs = new ArrayList<>(),
+                statuses = new ArrayList<>(), reasons = new ArrayList<>();
+        for (Internship internship : internships) {
+            for (Map.Entry<String, String> application : internship.getAllStudentStatuses().entrySet()) {
+                internshipIDs.add(internship.getInternshipID());
+                studentIDs.add(application.getKey());
+                statuses.add(application.getValue());
+                reasons.add("Pending Withdrawal".equals(application.getValue())
+                        ? internship.getWithdrawalReason(application.getKey()) : null);
+            }
+        }
+        try {
+            new ColumnarFile.Writer(ColumnarFile.TYPE_APPLICATIONS, internshipIDs.size())
+                    .dictColumn("internshipID", internshipIDs)
+                    .stringColumn("studentID", studentIDs)
+                    .dictColumn("status", statuses)
+                    .stringColumn("withdrawalReason", reasons)
+                    .writeTo(filename);
+        } catch (IOException e) {
+            System.err.println("Error saving applications to " + filename + ": " + e.getMessage());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import java.io.*;
 import java.util.*;
+import java.util.function.Function;
 /**
  * Concrete implementation of the Data Loader strategy for Comma-Separated Value (CSV) files.
  * <p>
@@ -11,38 +12,62 @@ import java.util.*;
  * <p>
  * <b>Robustness Features:</b>
  * <ul>
- * <li><b>Header Skipping:</b> Automatically detects and skips the first row of CSVs.</li>
+ * <li><b>Header Projection:</b> The first row is read as the header and each needed column is located
+ * by name once. Columns the entity does not use (e.g. email) are skipped without being copied.</li>
  * <li><b>Empty Line Handling:</b> Ignores blank lines to prevent parsing crashes.</li>
- * <li><b>Safe Split:</b> Uses Regex splitting to handle cases where data might contain special characters.</li>
+ * <li><b>Quoted Fields:</b> Uses the RFC 4180 aware {@link CSVRecordReader}, so a name such as
+ * {@code "Tan, Wei Ling"} no longer shifts every column after it.</li>
  * <li><b>Partial Loading:</b> If one line is corrupt, it skips that line and continues loading the rest
  * (Fault Tolerance), rather than crashing the entire application.</li>
  * </ul>
  * </p>
+ * <p>
+ * <b>Streaming:</b> Rows are parsed straight from a buffered byte stream into entities. The file is
+ * never materialized as a list of lines, so peak heap during boot is bounded by the entities
+ * themselves. After each file a short throughput report (rows/s and bytes/s) is printed.
+ * </p>
+ * <p>
+ * <b>Segments:</b> Rows appended by {@link IncrementalDataSaver} are overlaid on the base file, so the
+ * loaded entities reflect the latest incremental saves even before the segments are compacted.
+ * </p>
  */
 // Single Responsibility - handles CSV loading only
 public class CSVDataLoader implements IDataLoader {
+    // Columns each entity is built from, in the order the row converters expect
+    static final String[] STUDENT_COLUMNS = {"StudentID", "Name", "Major", "Year"};
+    static final String[] COMPANY_REP_COLUMNS = CSVDataSaver.COMPANY_REP_HEADER.split(",");
+    static final String[] STAFF_COLUMNS = {"StaffID", "Name"};
+    static final String[] INTERNSHIP_COLUMNS = CSVDataSaver.INTERNSHIP_HEADER.split(",");
 
+    private final boolean reportLoadStats;
+    /**
+     * Creates a loader that prints a throughput report for every file it reads.
+     */
+    public CSVDataLoader() {
+        this(true);
+    }
+    /**
+     * Creates a loader.
+     *
+     * @param reportLoadStats {@code true} to print rows/s and bytes/s after each file.
+     */
+    public CSVDataLoader(boolean reportLoadStats) {
+        this.reportLoadStats = reportLoadStats;
+    }
+    /**
+     * Loads the list of Students.
+     * <p>
+     * <b>Expected Format:</b> {@code StudentID, Name, Major, Year, Email}
+     * </p>
+     *
+     * @param filename The file path.
+     * @return A list of populated {@link Student} objects.
+     */
     @Override
     public List<Student> loadStudents(String filename) {
         List<Student> students = new ArrayList<>();
-        List<String> lines = readCSVFile(filename);
-
-        // Skip header row, start from index 1
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) continue;
-
-            String[] data = line.split(",");
-            // CSV format: StudentID,Name,Major,Year,Email
-            String id = data[0].trim();           // StudentID
-            String name = data[1].trim();         // Name
-            String major = data[2].trim();        // Major
-            int year = Integer.parseInt(data[3].trim()); // Year
-            // data[4] is email - we're ignoring it for now
-
-            students.add(new Student(id, name, year, major));
-        }
-        return students;
+        readCSVFile(filename, STUDENT_COLUMNS, data -> students.add(toStudent(data)));
+        return applySegments(filename, students, STUDENT_COLUMNS, CSVDataLoader::toStudent, Student::getUserID);
     }
     /**
      * Loads the list of Company Representatives.
@@ -56,32 +81,9 @@ public class CSVDataLoader implements IDataLoader {
     @Override
     public List<CompanyRepresentative> loadCompanyReps(String filename) {
         List<CompanyRepresentative> reps = new ArrayList<>();
-        List<String> lines = readCSVFile(filename);
-
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) continue;
-
-            String[] data = line.split(",");
-            // CSV format: CompanyRepID,Name,CompanyName,Department,Position,Email,Status
-            String id = data[0].trim();           // CompanyRepID
-            String name = data[1].trim();         // Name
-            String company = data[2].trim();      // CompanyName
-            String dept = data[3].trim();         // Department
-            String position = data[4].trim();     // Position
-            String email = data[5].trim();        // Email
-            // data[6] is Status - handled separately
-
-            CompanyRepresentative rep = new CompanyRepresentative(id, name, company, dept, position, email);
-
-            // Set status from CSV if it exists
-            if (data.length > 6) {
-                rep.setStatus(data[6].trim());
-            }
-
-            reps.add(rep);
-        }
-        return reps;
+        readCSVFile(filename, COMPANY_REP_COLUMNS, data -> reps.add(toCompanyRep(data)));
+        return applySegments(filename, reps, COMPANY_REP_COLUMNS, CSVDataLoader::toCompanyRep,
+                CompanyRepresentative::getUserID);
     }
     /**
      * Loads the list of Career Center Staff.
@@ -92,39 +94,181 @@ public class CSVDataLoader implements IDataLoader {
     @Override
     public List<CareerCenterStaff> loadStaff(String filename) {
         List<CareerCenterStaff> staff = new ArrayList<>();
-        List<String> lines = readCSVFile(filename);
+        readCSVFile(filename, STAFF_COLUMNS, data -> staff.add(toStaff(data)));
+        return applySegments(filename, staff, STAFF_COLUMNS, CSVDataLoader::toStaff, CareerCenterStaff::getUserID);
+    }
+    /**
+     * Loads the list of Internships written by {@link CSVDataSaver#saveInternships}.
+     * <p>
+     * <b>Expected Format:</b> {@code ID, Title, Description, Level, Major, Opening, Closing, Slots,
+     * Company, RepID, Status, Visible, ConfirmedSlots}
+     * </p>
+     *
+     * @param filename The file path.
+     * @return A list of {@link Internship} objects with their status, visibility and slot count restored.
+     */
+    @Override
+    public List<Internship> loadInternships(String filename) {
+        List<Internship> internships = new ArrayList<>();
+        readCSVFile(filename, INTERNSHIP_COLUMNS, data -> internships.add(toInternship(data)));
+        return applySegments(filename, internships, INTERNSHIP_COLUMNS, CSVDataLoader::toInternship,
+                Internship::getInternshipID);
+    }
 
-        for (int i = 1; i < lines.size(); i++) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) continue;
+    static Student toStudent(String[] data) {
+        // CSV format: StudentID,Name,Major,Year,Email (read through STUDENT_COLUMNS)
+        requireColumns(data, 4);
+        String id = data[0];                      // StudentID
+        String name = data[1];                    // Name
+        String major = data[2];                   // Major
+        int year = Integer.parseInt(data[3]);     // Year
+        // Email is not projected - we're ignoring it for now
+
+        return new Student(id, name, year, major);
+    }
 
-            String[] data = line.split(",");
-            // CSV format: StaffID,Name,Role,Department,Email
-            String id = data[0].trim();    // StaffID
-            String name = data[1].trim();  // Name
-            // data[2] is Role, data[3] is Department, data[4] is Email - we're ignoring for now
+    static CompanyRepresentative toCompanyRep(String[] data) {
+        // CSV format: CompanyRepID,Name,CompanyName,Department,Position,Email,Status
+        requireColumns(data, 6);
+        String id = data[0];           // CompanyRepID
+        String name = data[1];         // Name
+        String company = data[2];      // CompanyName
+        String dept = data[3];         // Department
+        String position = data[4];     // Position
+        String email = data[5];        // Email
+        // data[6] is Status - handled separately
 
-            staff.add(new CareerCenterStaff(id, name));
+        CompanyRepresentative rep = new CompanyRepresentative(id, name, company, dept, position, email);
+
+        // Set status from CSV if it exists
+        if (data.length > 6 && data[6] != null) {
+            rep.setStatus(data[6]);
         }
-        return staff;
+        return rep;
+    }
+
+    static Internship toInternship(String[] data) {
+        // CSV format: InternshipID,Title,Description,Level,PreferredMajor,OpeningDate,ClosingDate,
+        //             TotalSlots,CompanyName,RepresentativeID,Status,Visible,ConfirmedSlots
+        requireColumns(data, 13);
+        Internship internship = new Internship(data[0], data[1], data[2], data[3], data[4], data[5], data[6],
+                Integer.parseInt(data[7]), data[8], data[9]);
+        internship.setStatus(data[10]);
+        internship.setVisible(Boolean.parseBoolean(data[11]));
+        internship.restoreConfirmedSlots(Integer.parseInt(data[12]));
+        return internship;
+    }
+
+    static CareerCenterStaff toStaff(String[] data) {
+        // CSV format: StaffID,Name,Role,Department,Email (read through STAFF_COLUMNS)
+        requireColumns(data, 2);
+        String id = data[0];    // StaffID
+        String name = data[1];  // Name
+        // Role, Department and Email are not projected - we're ignoring them for now
+
+        return new CareerCenterStaff(id, name);
     }
     /**
-     * Helper method to read raw text lines from a file.
+     * Streams every data row of a file (header excluded) into the given consumer.
+     * <p>
+     * A row that fails to convert (missing columns, non-numeric year) is reported and skipped.
+     * </p>
      *
-     * @param filename The path to read.
-     * @return A list of strings, one per line.
+     * @param filename   The path to read.
+     * @param columns    The header names to project; the handler receives them in this order.
+     * @param rowHandler Receives the fields of each data row.
      */
-    private List<String> readCSVFile(String filename) {
-        List<String> lines = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                lines.add(line);
+    private void readCSVFile(String filename, String[] columns, RowHandler rowHandler) {
+        long start = System.nanoTime();
+        long rows = 0;
+        long bytes = 0;
+        try (CSVRecordReader reader = CSVRecordReader.open(filename)) {
+            String[] header = reader.readRecord();
+            reader.setProjection(header != null ? header : columns, columns);
+
+            String[] data;
+            while ((data = reader.readRecord()) != null) {
+                try {
+                    rowHandler.handle(data);
+                    rows++;
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    System.err.println("Skipping malformed row " + reader.getRecordCount() + " in " + filename);
+                }
             }
+            bytes = reader.getBytesConsumed();
         } catch (IOException e) {
             System.err.println("Error reading file: " + filename);
             e.printStackTrace();
+            return;
+        }
+
+        if (reportLoadStats) {
+            printLoadReport(filename, rows, bytes, System.nanoTime() - start);
         }
-        return lines;
+    }
+
+    /**
+     * Overlays the rows that {@link IncrementalDataSaver} appended to the segments of {@code filename}.
+     * <p>
+     * Segments are read oldest first and a row replaces any earlier entity with the same key, keeping its
+     * position, so the result is the latest saved state in base file order.
+     * </p>
+     *
+     * @param filename The base file.
+     * @param base     The entities read from the base file.
+     * @param columns  The columns the mapper expects.
+     * @param mapper   Converts one segment row into an entity.
+     * @param key      Extracts the entity ID.
+     * @return {@code base} itself when there are no segments, otherwise the merged list.
+     */
+    static <T> List<T> applySegments(String filename, List<T> base, String[] columns,
+                                     Function<String[], T> mapper, Function<T, String> key) {
+        List<String> segments = IncrementalDataSaver.existingSegments(filename);
+        if (segments.isEmpty()) {
+            return base;
+        }
+
+        Map<String, T> merged = new LinkedHashMap<>();
+        for (T entity : base) {
+            merged.put(key.apply(entity), entity);
+        }
+        for (String segment : segments) {
+            try (CSVRecordReader reader = CSVRecordReader.open(segment)) {
+                // Segments carry no header row; their columns are in CSVDataSaver order, which the column lists follow
+                reader.setProjection(columns, columns);
+                String[] data;
+                while ((data = reader.readRecord()) != null) {
+                    try {
+                        T entity = mapper.apply(data);
+                        merged.put(key.apply(entity), entity);
+                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                        System.err.println("Skipping malformed row " + reader.getRecordCount() + " in " + segment);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading file: " + segment);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    // A projected column the row does not reach is null; report it like a short row
+    private static void requireColumns(String[] data, int count) {
+        for (int i = 0; i < count; i++) {
+            if (data[i] == null) {
+                throw new ArrayIndexOutOfBoundsException("Row has no column " + i);
+            }
+        }
+    }
+
+    static void printLoadReport(String filename, long rows, long bytes, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        System.out.println(String.format("Loaded %d rows (%d bytes) from %s in %.1f ms [%.0f rows/s, %.1f KB/s]",
+                rows, bytes, filename, elapsedNanos / 1_000_000.0, rows / seconds, bytes / 1024.0 / seconds));
+    }
+
+    // Callback used to push each parsed row into the entity list being built
+    private interface RowHandler {
+        void handle(String[] data);
     }
 }
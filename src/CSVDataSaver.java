@@ -1,5 +1,6 @@
 import java.io.*;
 import java.util.*;
+import java.util.function.Function;
 /**
  * Concrete implementation of the Data Saver for CSV files.
  * <p>
@@ -16,6 +17,12 @@ import java.util.*;
  * </p>
  */
 public class CSVDataSaver implements IDataSaver {
+    static final String COMPANY_REP_HEADER = "CompanyRepID,Name,CompanyName,Department,Position,Email,Status";
+    static final String STUDENT_HEADER = "StudentID,Name,Major,Year,Email";
+    static final String STAFF_HEADER = "StaffID,Name,Role,Department,Email";
+    static final String INTERNSHIP_HEADER = "InternshipID,Title,Description,Level,PreferredMajor,OpeningDate,ClosingDate,"
+            + "TotalSlots,CompanyName,RepresentativeID,Status,Visible,ConfirmedSlots";
+    static final String APPLICATION_HEADER = "InternshipID,StudentID,Status,WithdrawalReason";
     /**
      * Serializes and saves the list of Company Representatives to a CSV file.
      * <p>
@@ -34,33 +41,137 @@ public class CSVDataSaver implements IDataSaver {
      */
     @Override
     public void saveCompanyReps(String filename, List<CompanyRepresentative> reps) {
-        
+        // Header must match the format expected by CSVDataLoader: ID,Name,Company,Dept,Position,Email,Status
+        if (writeFile(filename, COMPANY_REP_HEADER, reps, CSVDataSaver::toCSVRow, "company reps")) {
+            System.out.println("Company Representatives saved successfully to " + filename);
+        }
+    }
+    /**
+     * Saves the list of Students.
+     * <p>
+     * <b>Format:</b> {@code StudentID, Name, Major, Year, Email}. The email column is left empty
+     * because {@link Student} does not keep it.
+     * </p>
+     *
+     * @param filename The target file path.
+     * @param students The students to persist.
+     */
+    @Override
+    public void saveStudents(String filename, List<Student> students) {
+        writeFile(filename, STUDENT_HEADER, students, CSVDataSaver::toCSVRow, "students");
+    }
+    /**
+     * Saves the list of Career Center Staff.
+     * <p>
+     * <b>Format:</b> {@code StaffID, Name, Role, Department, Email}. Only ID, Name and Role are known.
+     * </p>
+     *
+     * @param filename The target file path.
+     * @param staff    The staff members to persist.
+     */
+    @Override
+    public void saveStaff(String filename, List<CareerCenterStaff> staff) {
+        writeFile(filename, STAFF_HEADER, staff, CSVDataSaver::toCSVRow, "staff");
+    }
+    /**
+     * Saves the list of Internships, including the runtime state (status, visibility, confirmed slots)
+     * that {@link CSVDataLoader#loadInternships} restores.
+     *
+     * @param filename    The target file path.
+     * @param internships The internships to persist.
+     */
+    @Override
+    public void saveInternships(String filename, List<Internship> internships) {
+        writeFile(filename, INTERNSHIP_HEADER, internships, CSVDataSaver::toCSVRow, "internships");
+    }
+    /**
+     * Saves every application of the given internships, one row per (internship, student) pair.
+     * <p>
+     * <b>Format:</b> {@code InternshipID, StudentID, Status, WithdrawalReason}. This is the relational
+     * data that has no column of its own in the internship file.
+     * </p>
+     *
+     * @param filename    The target file path.
+     * @param internships The internships whose applications are persisted.
+     */
+    @Override
+    public void saveApplications(String filename, List<Internship> internships) {
+        List<String> rows = new ArrayList<>();
+        for (Internship internship : internships) {
+            for (String studentID : internship.getAllStudentStatuses().keySet()) {
+                rows.add(toApplicationRow(internship, studentID));
+            }
+        }
+        writeFile(filename, APPLICATION_HEADER, rows, row -> row, "applications");
+    }
+
+    private static <T> boolean writeFile(String filename, String header, List<T> items,
+                                         Function<T, String> toRow, String label) {
         try (BufferedWriter bw = new BufferedWriter(new FileWriter(filename))) {
-            // 1. Write the Header (Must match the format expected by CSVDataLoader)
-            // Format based on CSVDataLoader: ID,Name,Company,Dept,Position,Email,Status
-            bw.write("CompanyRepID,Name,CompanyName,Department,Position,Email,Status");
+            bw.write(header);
             bw.newLine();
-
-            // 2. Iterate and Write Data
-            for (CompanyRepresentative rep : reps) {
-                String line = String.format("%s,%s,%s,%s,%s,%s,%s",
-                        rep.getUserID(),
-                        rep.getName(),
-                        rep.getCompanyName(),
-                        rep.getDepartment(),
-                        rep.getPosition(),
-                        rep.getEmail(),
-                        rep.getStatus() // This is the crucial part (Approved/Pending/Rejected)
-                );
-                bw.write(line);
+            for (T item : items) {
+                bw.write(toRow.apply(item));
                 bw.newLine();
             }
-            
-            System.out.println("Company Representatives saved successfully to " + filename);
-            
+            return true;
         } catch (IOException e) {
-            System.err.println("Error saving company reps: " + e.getMessage());
+            System.err.println("Error saving " + label + ": " + e.getMessage());
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    // ===== Row formats (shared with IncrementalDataSaver, which appends single rows) =====
+
+    static String toCSVRow(CompanyRepresentative rep) {
+        return toCSVField(rep.getUserID()) + ',' + toCSVField(rep.getName()) + ','
+                + toCSVField(rep.getCompanyName()) + ',' + toCSVField(rep.getDepartment()) + ','
+                + toCSVField(rep.getPosition()) + ',' + toCSVField(rep.getEmail()) + ','
+                + toCSVField(rep.getStatus()); // This is the crucial part (Approved/Pending/Rejected)
+    }
+
+    static String toCSVRow(Student student) {
+        return toCSVField(student.getUserID()) + ',' + toCSVField(student.getName()) + ','
+                + toCSVField(student.getMajor()) + ',' + student.getYearOfStudy() + ',';
+    }
+
+    static String toCSVRow(CareerCenterStaff staff) {
+        return toCSVField(staff.getUserID()) + ',' + toCSVField(staff.getName()) + ','
+                + toCSVField(staff.getRole()) + ",,";
+    }
+
+    static String toCSVRow(Internship i) {
+        return String.join(",",
+                toCSVField(i.getInternshipID()), toCSVField(i.getTitle()), toCSVField(i.getDescription()),
+                toCSVField(i.getLevel()), toCSVField(i.getPreferredMajor()),
+                toCSVField(i.getOpeningDate()), toCSVField(i.getClosingDate()),
+                String.valueOf(i.getTotalSlots()), toCSVField(i.getCompanyName()),
+                toCSVField(i.getRepresentativeID()), toCSVField(i.getStatus()),
+                String.valueOf(i.isVisible()), String.valueOf(i.getConfirmedSlots()));
+    }
+
+    static String toApplicationRow(Internship internship, String studentID) {
+        String status = internship.getStudentStatus(studentID);
+        String reason = "Pending Withdrawal".equals(status) ? internship.getWithdrawalReason(studentID) : null;
+        return toCSVField(internship.getInternshipID()) + ',' + toCSVField(studentID) + ','
+                + toCSVField(status) + ',' + toCSVField(reason);
+    }
+    /**
+     * Quotes a value when it contains a delimiter, quote or line break (RFC 4180),
+     * so that {@link CSVRecordReader} reads back exactly the same text.
+     *
+     * @param value The raw field value.
+     * @return The value, quoted and escaped if required.
+     */
+    static String toCSVField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
         }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
 }
\ No newline at end of file
@@ -0,0 +1,317 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+/**
+ * Streaming, RFC 4180 aware record reader for Comma-Separated Value files.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a helper of the <b>Persistence Layer (Read Side)</b>. It replaces the old
+ * "read every line into a List, then {@code String.split(",")}" approach used by
+ * {@link CSVDataLoader}. Bytes are pulled from a buffered stream and tokenized in place,
+ * so the whole file is never held in memory and no regular expression runs per row.
+ * </p>
+ * <p>
+ * <b>Parsing Rules:</b>
+ * <ul>
+ * <li><b>Quoting:</b> A field wrapped in double quotes may contain commas and line breaks.
+ * A doubled quote ({@code ""}) inside a quoted field is read as a single quote.</li>
+ * <li><b>Trimming:</b> Spaces and tabs around unquoted fields are removed, matching the
+ * {@code trim()} calls the loader used to make on every column.</li>
+ * <li><b>Blank Lines:</b> Lines that contain only whitespace are skipped.</li>
+ * <li><b>Line Endings:</b> Both {@code \n} and {@code \r\n} are accepted. A UTF-8 byte order mark is ignored.</li>
+ * <li><b>Projection:</b> After {@link #setProjection}, only the requested columns become strings; the
+ * others are scanned for quotes and separators but never copied.</li>
+ * </ul>
+ * </p>
+ */
+public class CSVRecordReader implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private long bytesConsumed;
+    private long recordCount;
+    private boolean firstRead = true;
+
+    private final List<String> fields = new ArrayList<>();
+    private int fieldLimit = Integer.MAX_VALUE;
+    private int fieldsSeen;
+    private boolean keepField = true;
+    private boolean firstFieldEmpty;
+
+    // Column projection: output slot of every source column (-1 = skipped), or null to return all columns
+    private int[] slotByColumn;
+    private int projectionWidth;
+    private String[] projected;
+    private byte[] fieldBytes = new byte[256];
+    private int fieldLength;
+    /**
+     * Creates a reader over a raw byte stream.
+     *
+     * @param in The source stream. It does not need to be buffered; this class buffers internally.
+     */
+    public CSVRecordReader(InputStream in) {
+        this(in, BUFFER_SIZE);
+    }
+    /**
+     * Creates a reader with a custom buffer size, e.g. a small one for reading a single record.
+     *
+     * @param in         The source stream.
+     * @param bufferSize Number of bytes requested from the stream per read.
+     */
+    public CSVRecordReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[Math.max(1, bufferSize)];
+    }
+    /**
+     * Opens a reader directly on a file path.
+     *
+     * @param filename The path of the CSV file.
+     * @return A reader positioned at the first record (usually the header).
+     * @throws IOException if the file cannot be opened.
+     */
+    public static CSVRecordReader open(String filename) throws IOException {
+        return new CSVRecordReader(new FileInputStream(filename));
+    }
+    /**
+     * Reads the next non-blank record.
+     *
+     * @return The fields of the record, or {@code null} when the end of the stream is reached.
+     * @throws IOException if the underlying stream fails.
+     */
+    public String[] readRecord() throws IOException {
+        return readRecord(Integer.MAX_VALUE);
+    }
+    /**
+     * Reads the next non-blank record but only creates strings for its leading fields. The rest of the
+     * record is still consumed, so the reader stays aligned on record boundaries.
+     *
+     * @param maxFields Number of leading fields to return, e.g. {@code 1} to read just the key column.
+     * @return Up to {@code maxFields} fields, or {@code null} when the end of the stream is reached.
+     * @throws IOException if the underlying stream fails.
+     */
+    public String[] readRecord(int maxFields) throws IOException {
+        fieldLimit = Math.max(1, maxFields);
+        while (true) {
+            fields.clear();
+            if (slotByColumn != null) {
+                projected = new String[projectionWidth];
+            }
+            fieldsSeen = 0;
+            keepField = keep(0);
+            int status = parseRecord();
+            if (status == EOF && fieldsSeen == 0) {
+                return null;
+            }
+            if (fieldsSeen == 1 && firstFieldEmpty) {
+                if (status == EOF) return null;
+                continue; // blank line
+            }
+            recordCount++;
+            return slotByColumn != null ? projected : fields.toArray(new String[0]);
+        }
+    }
+    /**
+     * Restricts every following {@link #readRecord()} to the named columns. Column positions are resolved
+     * once against {@code header}; the bytes of all other columns are skipped without creating strings.
+     * <p>
+     * The returned array has one slot per requested column, in the requested order. A column that is not
+     * named in the header is taken from its position in {@code columns}, as the loaders did before headers
+     * were read, unless that position holds another requested column by name; it is then always
+     * {@code null}. A column the row does not reach is {@code null}.
+     * </p>
+     *
+     * @param header  The header row (names are compared ignoring case and surrounding spaces).
+     * @param columns The columns to return.
+     */
+    public void setProjection(String[] header, String... columns) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = header.length - 1; i >= 0; i--) {
+            positions.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        int[] sources = new int[columns.length];
+        Set<Integer> named = new HashSet<>();
+        for (int slot = 0; slot < columns.length; slot++) {
+            Integer position = positions.get(columns[slot].trim().toLowerCase(Locale.ROOT));
+            sources[slot] = position != null ? position : -1;
+            if (position != null) {
+                named.add(position);
+            }
+        }
+        // Positional fallback only where no named column sits, so a reordered header loses nothing
+        int width = 0;
+        for (int slot = 0; slot < columns.length; slot++) {
+            if (sources[slot] < 0 && !named.contains(slot)) {
+                sources[slot] = slot;
+            }
+            width = Math.max(width, sources[slot] + 1);
+        }
+        int[] slots = new int[width];
+        Arrays.fill(slots, -1);
+        for (int slot = 0; slot < columns.length; slot++) {
+            if (sources[slot] >= 0) {
+                slots[sources[slot]] = slot;
+            }
+        }
+        this.slotByColumn = slots;
+        this.projectionWidth = columns.length;
+    }
+
+    public long getBytesConsumed() {
+        return bytesConsumed;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private static final int EOF = -1;
+    private static final int END_OF_LINE = 1;
+
+    /**
+     * Tokenizes one physical record into {@link #fields}.
+     *
+     * @return {@link #EOF} if the stream ended while reading, otherwise {@link #END_OF_LINE}.
+     */
+    private int parseRecord() throws IOException {
+        fieldLength = 0;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int trailingSpaces = 0;
+
+        while (true) {
+            int b = nextByte();
+            if (b == EOF) {
+                if (fieldLength > 0 || quoted || fieldsSeen > 0) {
+                    endField(quoted, trailingSpaces);
+                }
+                return EOF;
+            }
+
+            if (inQuotes) {
+                if (b == '"') {
+                    int next = peekByte();
+                    if (next == '"') {
+                        nextByte();
+                        appendByte('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    appendByte(b);
+                }
+                continue;
+            }
+
+            switch (b) {
+                case ',':
+                    endField(quoted, trailingSpaces);
+                    quoted = false;
+                    trailingSpaces = 0;
+                    break;
+                case '\n':
+                    endField(quoted, trailingSpaces);
+                    return END_OF_LINE;
+                case '\r':
+                    break;
+                case '"':
+                    if (fieldLength == 0 && !quoted) {
+                        quoted = true;
+                        inQuotes = true;
+                    } else {
+                        appendByte(b);
+                        trailingSpaces = 0;
+                    }
+                    break;
+                case ' ':
+                case '\t':
+                    // Leading whitespace is dropped; trailing whitespace is trimmed when the field ends
+                    if (fieldLength > 0 && !quoted) {
+                        appendByte(b);
+                        trailingSpaces++;
+                    }
+                    break;
+                default:
+                    if (!quoted) {
+                        appendByte(b);
+                        trailingSpaces = 0;
+                    }
+            }
+        }
+    }
+
+    private void endField(boolean quoted, int trailingSpaces) {
+        int length = quoted ? fieldLength : fieldLength - trailingSpaces;
+        if (fieldsSeen == 0) {
+            firstFieldEmpty = length == 0;
+        }
+        if (keepField) {
+            String value = length == 0 ? "" : new String(fieldBytes, 0, length, StandardCharsets.UTF_8);
+            if (slotByColumn != null) {
+                projected[slotByColumn[fieldsSeen]] = value;
+            } else {
+                fields.add(value);
+            }
+        }
+        keepField = keep(++fieldsSeen);
+        fieldLength = 0;
+    }
+
+    // Skipped columns are still counted, since their length decides how quotes and spaces are read
+    private void appendByte(int b) {
+        if (keepField) {
+            if (fieldLength == fieldBytes.length) {
+                fieldBytes = Arrays.copyOf(fieldBytes, fieldBytes.length * 2);
+            }
+            fieldBytes[fieldLength] = (byte) b;
+        }
+        fieldLength++;
+    }
+
+    private boolean keep(int column) {
+        if (slotByColumn != null) {
+            return column < slotByColumn.length && slotByColumn[column] >= 0;
+        }
+        return column < fieldLimit;
+    }
+
+    private int nextByte() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        bytesConsumed++;
+        return buffer[position++] & 0xFF;
+    }
+
+    private int peekByte() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        if (firstRead) {
+            firstRead = false;
+            // Skip a UTF-8 byte order mark left behind by spreadsheet exports
+            if (limit >= 3 && (buffer[0] & 0xFF) == 0xEF && (buffer[1] & 0xFF) == 0xBB && (buffer[2] & 0xFF) == 0xBF) {
+                position = 3;
+                bytesConsumed += 3;
+            }
+        }
+        return true;
+    }
+}
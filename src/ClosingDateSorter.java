@@ -2,12 +2,13 @@ import java.util.*;
 /**
  * A concrete strategy for sorting Internships by their Closing Date.
  * <p>
- * This class implements the <b>Strategy Design Pattern</b>. It relies on the String
- * comparison of dates formatted as "DD-MM-YYYY".
+ * This class implements the <b>Strategy Design Pattern</b>. It compares the epoch-day values
+ * that {@link Internship} parses from its "DD-MM-YYYY" closing date, so dates order chronologically
+ * rather than by their text. Unparseable dates sort last.
  * </p>
  * <p>
- * <b>Note:</b> For robust date sorting in a production environment, this should ideally
- * parse Strings into {@code LocalDate} objects. Currently, it performs lexicographical sorting.
+ * <b>Note:</b> Listings that only need closing-date order ask the repository for it with
+ * {@link InternshipQuery#orderByClosingDate()} instead of sorting the result.
  * </p>
  */
 public class ClosingDateSorter implements IInternshipSorter, Comparator<Internship> {
@@ -21,16 +22,16 @@ public class ClosingDateSorter implements IInternshipSorter, Comparator<Internsh
         internships.sort(this);
     }
     /**
-     * Compares two Internship objects based on their closing date string.
+     * Compares two Internship objects based on their closing date.
      *
      * @param i1 The first {@link Internship} to compare.
      * @param i2 The second {@link Internship} to compare.
-     * @return A negative integer, zero, or a positive integer as the first date
-     * is lexicographically less than, equal to, or greater than the second.
+     * @return A negative integer, zero, or a positive integer as the first internship
+     * closes before, on the same day as, or after the second.
      */
 
     @Override
     public int compare(Internship i1, Internship i2) {
-        return i1.getClosingDate().compareTo(i2.getClosingDate());
+        return Integer.compare(i1.getClosingDay(), i2.getClosingDay());
     }
 }
@@ -0,0 +1,327 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+/**
+ * Versioned binary column store shared by {@link BinaryDataSaver} and {@link BinaryDataLoader}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a helper of the <b>Persistence Layer</b>. Each file holds the rows of a single entity type,
+ * stored column by column so the loader never tokenizes text: numbers are read as fixed-width values and
+ * strings are sliced straight out of one memory-mapped {@link ByteBuffer}.
+ * </p>
+ * <p>
+ * <b>Layout (big-endian):</b>
+ * <pre>
+ * int    magic "IMSC"
+ * short  format version
+ * byte   entity type
+ * int    row count
+ * short  column count
+ * per column:   short name length, name bytes (UTF-8), byte kind, int block length
+ * per column:   block
+ *   STRING  int[rows + 1] end offsets relative to the data start, then UTF-8 data
+ *   DICT    int entry count, per entry (int length, UTF-8 bytes), byte code width (1, 2 or 4),
+ *           then one code per row; code -1 (all bits set) means null
+ *   INT     int[rows]
+ *   BOOL    byte[rows]
+ * </pre>
+ * Low-cardinality columns (major, company, level, status) are dictionary-encoded, so each distinct value
+ * is decoded once and every row shares the same {@link String} instance.
+ * </p>
+ */
+final class ColumnarFile {
+    static final int MAGIC = 0x494D5343; // "IMSC"
+    static final short VERSION = 1;
+
+    static final byte KIND_STRING = 1;
+    static final byte KIND_DICT = 2;
+    static final byte KIND_INT = 3;
+    static final byte KIND_BOOL = 4;
+
+    static final byte TYPE_STUDENTS = 1;
+    static final byte TYPE_COMPANY_REPS = 2;
+    static final byte TYPE_STAFF = 3;
+    static final byte TYPE_INTERNSHIPS = 4;
+    static final byte TYPE_APPLICATIONS = 5;
+
+    private ColumnarFile() {
+    }
+    /**
+     * Collects columns in memory and writes them as one file.
+     */
+    static class Writer {
+        private final byte entityType;
+        private final int rowCount;
+        private final List<String> names = new ArrayList<>();
+        private final List<Byte> kinds = new ArrayList<>();
+        private final List<byte[]> blocks = new ArrayList<>();
+
+        Writer(byte entityType, int rowCount) {
+            this.entityType = entityType;
+            this.rowCount = rowCount;
+        }
+
+        /** Free-form text column. {@code null} is stored as an empty string. */
+        Writer stringColumn(String name, List<String> values) throws IOException {
+            checkRows(name, values.size());
+            List<byte[]> encoded = new ArrayList<>(values.size());
+            int total = 0;
+            for (String value : values) {
+                byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+                encoded.add(bytes);
+                total += bytes.length;
+            }
+            ByteArrayOutputStream block = new ByteArrayOutputStream(4 * (rowCount + 1) + total);
+            DataOutputStream out = new DataOutputStream(block);
+            int end = 0;
+            out.writeInt(0);
+            for (byte[] bytes : encoded) {
+                end += bytes.length;
+                out.writeInt(end);
+            }
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+            return add(name, KIND_STRING, block.toByteArray());
+        }
+
+        /** Low-cardinality text column, stored as a dictionary plus one code per row. */
+        Writer dictColumn(String name, List<String> values) throws IOException {
+            checkRows(name, values.size());
+            Map<String, Integer> dictionary = new LinkedHashMap<>();
+            int[] codes = new int[values.size()];
+            for (int row = 0; row < codes.length; row++) {
+                String value = values.get(row);
+                codes[row] = value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+            }
+            // -1 must still fit in the chosen width, so leave the top code free
+            int width = dictionary.size() < 0xFF ? 1 : dictionary.size() < 0xFFFF ? 2 : 4;
+
+            ByteArrayOutputStream block = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(block);
+            out.writeInt(dictionary.size());
+            for (String value : dictionary.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeByte(width);
+            for (int code : codes) {
+                if (width == 1) out.writeByte(code);
+                else if (width == 2) out.writeShort(code);
+                else out.writeInt(code);
+            }
+            return add(name, KIND_DICT, block.toByteArray());
+        }
+
+        Writer intColumn(String name, int[] values) throws IOException {
+            checkRows(name, values.length);
+            ByteBuffer block = ByteBuffer.allocate(4 * values.length);
+            block.asIntBuffer().put(values);
+            return add(name, KIND_INT, block.array());
+        }
+
+        Writer boolColumn(String name, boolean[] values) {
+            checkRows(name, values.length);
+            byte[] block = new byte[values.length];
+            for (int row = 0; row < values.length; row++) {
+                block[row] = (byte) (values[row] ? 1 : 0);
+            }
+            return add(name, KIND_BOOL, block);
+        }
+        /**
+         * Writes the header and all columns to a temporary file, then renames it over {@code filename}
+         * so readers never see a half-written file.
+         */
+        void writeTo(String filename) throws IOException {
+            Path target = Paths.get(filename);
+            Path temp = Paths.get(filename + ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeByte(entityType);
+                out.writeInt(rowCount);
+                out.writeShort(names.size());
+                for (int i = 0; i < names.size(); i++) {
+                    byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+                    out.writeShort(name.length);
+                    out.write(name);
+                    out.writeByte(kinds.get(i));
+                    out.writeInt(blocks.get(i).length);
+                }
+                for (byte[] block : blocks) {
+                    out.write(block);
+                }
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private void checkRows(String name, int size) {
+            if (size != rowCount) {
+                throw new IllegalArgumentException("Column " + name + " has " + size + " rows, expected " + rowCount);
+            }
+        }
+
+        private Writer add(String name, byte kind, byte[] block) {
+            names.add(name);
+            kinds.add(kind);
+            blocks.add(block);
+            return this;
+        }
+    }
+    /**
+     * Maps a column file once and decodes individual columns on request.
+     */
+    static class Reader {
+        private final String filename;
+        private final ByteBuffer buffer;
+        private final byte entityType;
+        private final int rowCount;
+        private final Map<String, Integer> columnOffsets = new HashMap<>();
+        private final Map<String, Byte> columnKinds = new HashMap<>();
+
+        Reader(String filename) throws IOException {
+            this.filename = filename;
+            try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException(filename + " is larger than 2 GB");
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.BIG_ENDIAN);
+            }
+
+            if (buffer.remaining() < 13 || buffer.getInt() != MAGIC) {
+                throw new IOException(filename + " is not a columnar data file");
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported columnar format version " + version + " in " + filename);
+            }
+            entityType = buffer.get();
+            rowCount = buffer.getInt();
+            int columnCount = buffer.getShort();
+
+            String[] names = new String[columnCount];
+            byte[] kinds = new byte[columnCount];
+            int[] lengths = new int[columnCount];
+            for (int i = 0; i < columnCount; i++) {
+                byte[] name = new byte[buffer.getShort()];
+                buffer.get(name);
+                names[i] = new String(name, StandardCharsets.UTF_8);
+                kinds[i] = buffer.get();
+                lengths[i] = buffer.getInt();
+            }
+            int offset = buffer.position();
+            for (int i = 0; i < columnCount; i++) {
+                columnOffsets.put(names[i], offset);
+                columnKinds.put(names[i], kinds[i]);
+                offset += lengths[i];
+            }
+            if (offset > buffer.limit()) {
+                throw new IOException(filename + " is truncated");
+            }
+        }
+
+        byte getEntityType() {
+            return entityType;
+        }
+
+        int getRowCount() {
+            return rowCount;
+        }
+
+        long getSizeBytes() {
+            return buffer.capacity();
+        }
+
+        String[] strings(String column) throws IOException {
+            int offset = locate(column, KIND_STRING);
+            int dataStart = offset + 4 * (rowCount + 1);
+            // One bulk copy of the column's text, then every value is a slice of it
+            byte[] data = copy(dataStart, buffer.getInt(offset + 4 * rowCount));
+            String[] values = new String[rowCount];
+            int from = 0;
+            for (int row = 0; row < rowCount; row++) {
+                int to = buffer.getInt(offset + 4 * (row + 1));
+                values[row] = from == to ? "" : new String(data, from, to - from, StandardCharsets.UTF_8);
+                from = to;
+            }
+            return values;
+        }
+
+        String[] dict(String column) throws IOException {
+            int position = locate(column, KIND_DICT);
+            String[] dictionary = new String[buffer.getInt(position)];
+            position += 4;
+            for (int i = 0; i < dictionary.length; i++) {
+                int length = buffer.getInt(position);
+                dictionary[i] = decode(position + 4, length);
+                position += 4 + length;
+            }
+            int width = buffer.get(position++);
+
+            String[] values = new String[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                int code;
+                if (width == 1) {
+                    code = buffer.get(position + row) & 0xFF;
+                    if (code == 0xFF) code = -1;
+                } else if (width == 2) {
+                    code = buffer.getShort(position + 2 * row) & 0xFFFF;
+                    if (code == 0xFFFF) code = -1;
+                } else {
+                    code = buffer.getInt(position + 4 * row);
+                }
+                values[row] = code < 0 ? null : dictionary[code];
+            }
+            return values;
+        }
+
+        int[] ints(String column) throws IOException {
+            int offset = locate(column, KIND_INT);
+            int[] values = new int[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = buffer.getInt(offset + 4 * row);
+            }
+            return values;
+        }
+
+        boolean[] bools(String column) throws IOException {
+            int offset = locate(column, KIND_BOOL);
+            boolean[] values = new boolean[rowCount];
+            for (int row = 0; row < rowCount; row++) {
+                values[row] = buffer.get(offset + row) != 0;
+            }
+            return values;
+        }
+
+        private int locate(String column, byte kind) throws IOException {
+            Integer offset = columnOffsets.get(column);
+            if (offset == null) {
+                throw new IOException("Column " + column + " missing from " + filename);
+            }
+            if (columnKinds.get(column) != kind) {
+                throw new IOException("Column " + column + " in " + filename + " has unexpected kind " + columnKinds.get(column));
+            }
+            return offset;
+        }
+
+        private String decode(int offset, int length) {
+            return length == 0 ? "" : new String(copy(offset, length), StandardCharsets.UTF_8);
+        }
+
+        private byte[] copy(int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(offset);
+            slice.get(bytes);
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+import java.util.*;
+/**
+ * Prefix tree over normalized company names.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A secondary index used by {@link InternshipRepository} (internships by company) and {@link UserRepository}
+ * (representatives by company). Names are normalized (lower case, trimmed, inner whitespace collapsed), so
+ * staff can type "acme" and find "Acme, Inc". Every node knows how many values lie below it, so the size of
+ * a prefix match is known in O(prefix length) and the matches themselves are collected in time proportional
+ * to their number.
+ * </p>
+ *
+ * @param <V> The indexed values, e.g. {@link Internship} or {@link CompanyRepresentative}.
+ */
+public class CompanyNameIndex<V> {
+    private final Node<V> root = new Node<>();
+    /**
+     * @return The form names are indexed and matched under.
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public synchronized void add(String companyName, V value) {
+        String key = normalize(companyName);
+        Node<V> node = root;
+        node.size++;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+            node.size++;
+        }
+        if (node.values == null) {
+            node.values = new LinkedHashSet<>();
+            node.name = companyName.trim();
+        }
+        if (!node.values.add(value)) {
+            // Already present: undo the counts taken on the way down
+            adjust(key, -1);
+        }
+    }
+
+    public synchronized void remove(String companyName, V value) {
+        String key = normalize(companyName);
+        Node<V> node = node(key);
+        if (node != null && node.values != null && node.values.remove(value)) {
+            adjust(key, -1);
+        }
+    }
+    /**
+     * @return The number of values whose company name starts with {@code prefix}.
+     */
+    public synchronized int count(String prefix) {
+        Node<V> node = node(normalize(prefix));
+        return node == null ? 0 : node.size;
+    }
+    /**
+     * @return The values whose company name starts with {@code prefix}, grouped by company in name order.
+     */
+    public synchronized List<V> find(String prefix) {
+        Node<V> node = node(normalize(prefix));
+        List<V> result = new ArrayList<>(node == null ? 0 : node.size);
+        if (node != null) {
+            collect(node, result);
+        }
+        return result;
+    }
+    /**
+     * Autocompletion: the distinct company names starting with {@code prefix}, in alphabetical order.
+     *
+     * @param prefix The text typed so far.
+     * @param limit  Maximum number of names to return.
+     * @return Company names as first spelled when indexed.
+     */
+    public synchronized List<String> complete(String prefix, int limit) {
+        List<String> names = new ArrayList<>();
+        Node<V> node = node(normalize(prefix));
+        if (node != null) {
+            complete(node, names, limit);
+        }
+        return names;
+    }
+
+    private Node<V> node(String key) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node == null || node.size == 0 ? null : node;
+    }
+
+    private void adjust(String key, int delta) {
+        Node<V> node = root;
+        node.size += delta;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            node.size += delta;
+        }
+    }
+
+    private static <V> void collect(Node<V> node, List<V> result) {
+        if (node.values != null) {
+            result.addAll(node.values);
+        }
+        for (Node<V> child : node.children.values()) {
+            if (child.size > 0) {
+                collect(child, result);
+            }
+        }
+    }
+
+    private static <V> void complete(Node<V> node, List<String> names, int limit) {
+        if (names.size() >= limit) {
+            return;
+        }
+        if (node.values != null && !node.values.isEmpty()) {
+            names.add(node.name);
+        }
+        for (Node<V> child : node.children.values()) {
+            if (child.size > 0) {
+                complete(child, names, limit);
+            }
+        }
+    }
+
+    private static class Node<V> {
+        final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        Set<V> values;  // non-null once a name ends here
+        String name;    // display spelling of that name
+        int size;       // values in this subtree
+    }
+}
@@ -19,6 +19,7 @@ import java.util.*;
 public class CompanyRepMenuController implements IMenuController {
     private final CompanyRepresentative currentRep;
     private final IInternshipRepository internshipRepo;
+    private final InternshipQueryPlanner planner;
     private final IApplicationService applicationService;
     private final IOutputService outputService;
     private final IAuthenticationService authService;
@@ -33,6 +34,7 @@ public class CompanyRepMenuController implements IMenuController {
      *
      * @param rep                The currently logged-in Company Representative.
      * @param internshipRepo     Repository for storing/retrieving internships.
+     * @param planner            Plans and runs the internship listings.
      * @param applicationService Service for handling student application logic (Approve/Reject).
      * @param outputService      Service for console output.
      * @param authService        Service for password management.
@@ -40,12 +42,14 @@ public class CompanyRepMenuController implements IMenuController {
      */
     public CompanyRepMenuController(CompanyRepresentative rep,
                                     IInternshipRepository internshipRepo,
+                                    InternshipQueryPlanner planner,
                                     IApplicationService applicationService,
                                     IOutputService outputService,
                                     IAuthenticationService authService,
                                     Scanner scanner) {
         this.currentRep = rep;
         this.internshipRepo = internshipRepo;
+        this.planner = planner;
         this.applicationService = applicationService;
         this.outputService = outputService;
         this.authService = authService;
@@ -108,41 +112,16 @@ public class CompanyRepMenuController implements IMenuController {
      * Applies local filters (Status) and Sorting strategies.
      */
     private void viewMyInternships() {
-        List<Internship> myInternships = internshipRepo.getByRepresentativeID(currentRep.getUserID());
+        InternshipQuery query = InternshipQuery.all().representativeID(currentRep.getUserID())
+                .status(filterStatus).preferredMajor(filterMajor).level(filterLevel);
+        List<Internship> filtered = planner.list(sortOrder.equals("alphabetical") ? query.orderAlphabetically() : query.orderByClosingDate());
 
-        if (myInternships.isEmpty()) {
+        // Only an empty page needs to know whether anything was posted at all
+        if (filtered.isEmpty() && planner.list(InternshipQuery.all().representativeID(currentRep.getUserID()).limit(1)).isEmpty()) {
             outputService.displayMessage("No internships posted.");
             return;
         }
 
-        List<Internship> filtered = new ArrayList<>();
-
-        for (Internship i : myInternships) {
-            boolean matches = true;
-
-            if (!filterStatus.equalsIgnoreCase("all") && !i.getStatus().equalsIgnoreCase(filterStatus)) {
-                matches = false;
-            }
-
-            if (!filterMajor.equalsIgnoreCase("all") && !i.getPreferredMajor().equalsIgnoreCase(filterMajor)) {
-                matches = false;
-            }
-
-            if (!filterLevel.equalsIgnoreCase("all") && !i.getLevel().equalsIgnoreCase(filterLevel)) {
-                matches = false;
-            }
-
-            if (matches) {
-                filtered.add(i);
-            }
-        }
-
-        if (sortOrder.equals("alphabetical")) {
-            filtered.sort(new AlphabeticalSorter());
-        } else {
-            filtered.sort(new ClosingDateSorter());
-        }
-
         outputService.displayMessage("\n===== My Internships =====");
         outputService.displayMessage("Active Filters: Status=" + filterStatus + " | Major=" + filterMajor +
                 " | Level=" + filterLevel + " | Sort=" + sortOrder);
@@ -356,7 +335,7 @@ public class CompanyRepMenuController implements IMenuController {
      * The logic flows in funnel shape:
      * <ol>
      * <li><b>Get All Owned:</b> {@code internshipRepo.getByRepresentativeID}</li>
-     * <li><b>Filter for Activity:</b> Iterate and check {@code getAllStudentStatuses()} for "Pending".</li>
+     * <li><b>Filter for Activity:</b> Count each internship's "Pending" applicants via {@code applicationService.countApplicants}.</li>
      * <li><b>Select Context:</b> User picks one Internship.</li>
      * <li><b>Filter for Student:</b> Show only the students in that specific internship who are "Pending".</li>
      * </ol>
@@ -372,13 +351,7 @@ public class CompanyRepMenuController implements IMenuController {
 
         outputService.displayMessage("\n===== Your Internships =====");
         for (Internship i : myInternships) {
-            Map<String, String> statuses = i.getAllStudentStatuses();
-            int pendingCount = 0;
-            for (String status : statuses.values()) {
-                if ("Pending".equals(status)) {
-                    pendingCount++;
-                }
-            }
+            int pendingCount = applicationService.countApplicants(i.getInternshipID(), "Pending");
 
             outputService.displayMessage(String.format("%s - %s [%s] (Pending Applications: %d)",
                     i.getInternshipID(), i.getTitle(), i.getStatus(), pendingCount));
@@ -398,7 +371,7 @@ public class CompanyRepMenuController implements IMenuController {
             return;
         }
 
-        Map<String, String> statuses = internship.getAllStudentStatuses();
+        Map<String, String> statuses = internship.viewStudentStatuses();
         if (statuses.isEmpty()) {
             outputService.displayMessage("No applications yet.");
             return;
@@ -19,22 +19,22 @@ public class CompanyRepresentative extends User {
      * @param position    The job title.
      * @param email       The contact email.
      */
-    private String companyName;
+    private int companyCode; // StringDictionary.COMPANIES code
     private String department;
     private String position;
     private String email;
-    private String status;
+    private int statusCode; // StringDictionary.STATUSES code
     private final List<String> internshipIDs;
     private static final int MAX_INTERNSHIPS = 5;
 
     public CompanyRepresentative(String userID, String name, String companyName,
                                  String department, String position, String email) {
         super(userID, name);
-        this.companyName = companyName;
+        this.companyCode = StringDictionary.COMPANIES.encode(companyName);
         this.department = department;
         this.position = position;
         this.email = email;
-        this.status = "Pending";
+        this.statusCode = StringDictionary.STATUS_PENDING;
         this.internshipIDs = new ArrayList<>();
     }
 
@@ -44,7 +44,11 @@ public class CompanyRepresentative extends User {
     }
 
     public String getCompanyName() {
-        return companyName;
+        return StringDictionary.COMPANIES.decode(companyCode);
+    }
+
+    public int getCompanyCode() {
+        return companyCode;
     }
 
     public String getDepartment() {
@@ -60,11 +64,17 @@ public class CompanyRepresentative extends User {
     }
 
     public String getStatus() {
-        return status;
+        return StringDictionary.STATUSES.decode(statusCode);
+    }
+
+    public int getStatusCode() {
+        return statusCode;
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        String oldStatus = getStatus();
+        this.statusCode = StringDictionary.STATUSES.encode(status);
+        notifyChanged(IEntityChangeListener.FIELD_STATUS, oldStatus);
     }
     /**
      * Checks if the representative's account has been approved by staff.
@@ -72,7 +82,7 @@ public class CompanyRepresentative extends User {
      * @return {@code true} if status is "Approved".
      */
     public boolean isApproved() {
-        return "Approved".equals(status);
+        return statusCode == StringDictionary.STATUS_APPROVED;
     }
 
     public List<String> getInternshipIDs() {
@@ -94,12 +104,26 @@ public class CompanyRepresentative extends User {
     public boolean addInternship(String internshipID) {
         if (canPostInternship()) {
             internshipIDs.add(internshipID);
+            notifyChanged(IEntityChangeListener.FIELD_INTERNSHIPS, null);
             return true;
         }
         return false;
     }
 
+    /**
+     * Replaces the posted internship list from persisted state (recovery only).
+     *
+     * @param ids The persisted internship IDs.
+     */
+    void restoreInternships(Collection<String> ids) {
+        internshipIDs.clear();
+        internshipIDs.addAll(ids);
+        notifyChanged(IEntityChangeListener.FIELD_INTERNSHIPS, null);
+    }
+
     public void removeInternship(String internshipID) {
-        internshipIDs.remove(internshipID);
+        if (internshipIDs.remove(internshipID)) {
+            notifyChanged(IEntityChangeListener.FIELD_INTERNSHIPS, null);
+        }
     }
 }
\ No newline at end of file
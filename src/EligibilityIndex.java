@@ -0,0 +1,137 @@
+import java.util.*;
+/**
+ * Bitmaps over internship ordinals answering "which internships may this student apply for".
+ * <p>
+ * <b>Architectural Role:</b>
+ * A <b>Derived Index</b> fed by {@link IEntityChangeListener} events, like {@link ApplicationStore}. Every
+ * internship is numbered once, in first-seen order, and owns one bit in each of:
+ * <ul>
+ * <li>the <i>open</i> set: Approved, visible and with a free slot;</li>
+ * <li>one set per preferred major ({@link StringDictionary} code);</li>
+ * <li>one set per level.</li>
+ * </ul>
+ * A student's eligible set is then {@code open AND (their major OR "All") [AND Basic for years 1-2]}, a
+ * few word-wise operations instead of re-checking the rules on every internship. Only the open bit can
+ * change after posting; it is updated when an internship reports a status, visibility or slot change.
+ * </p>
+ */
+public class EligibilityIndex implements IEntityChangeListener {
+    private final Map<String, Integer> ordinalByID = new HashMap<>();
+    private final List<String> idByOrdinal = new ArrayList<>();
+    private final BitSet open = new BitSet();
+    private final Map<Integer, BitSet> byMajor = new HashMap<>();
+    private final Map<Integer, BitSet> byLevel = new HashMap<>();
+    /**
+     * Replaces the contents with the given internships. Called once after the initial load, before the
+     * index is subscribed to change events.
+     *
+     * @param internships Every internship in the system.
+     */
+    public synchronized void rebuild(Iterable<Internship> internships) {
+        ordinalByID.clear();
+        idByOrdinal.clear();
+        open.clear();
+        byMajor.clear();
+        byLevel.clear();
+        for (Internship internship : internships) {
+            add(internship);
+        }
+    }
+
+    // ===== IEntityChangeListener =====
+
+    @Override
+    public synchronized void onInternshipAdded(Internship internship) {
+        add(internship);
+    }
+
+    @Override
+    public synchronized void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        if (IEntityChangeListener.FIELD_STATUS.equals(field)
+                || IEntityChangeListener.FIELD_VISIBLE.equals(field)
+                || IEntityChangeListener.FIELD_CONFIRMED_SLOTS.equals(field)) {
+            Integer ordinal = ordinalByID.get(internship.getInternshipID());
+            if (ordinal != null) {
+                open.set(ordinal, isOpen(internship));
+            }
+        }
+    }
+
+    // ===== Queries =====
+    /**
+     * @param student The applicant.
+     * @param level   Level filter of the listing, or {@code null}/"all" for any level.
+     * @return The IDs of the internships the student may apply for, in the order they were first seen.
+     */
+    public synchronized List<String> getEligibleIDs(Student student, String level) {
+        BitSet eligible = eligibleFor(student, level);
+        List<String> ids = new ArrayList<>(eligible.cardinality());
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            ids.add(idByOrdinal.get(i));
+        }
+        return ids;
+    }
+    /**
+     * @return The size of {@link #getEligibleIDs} without listing the IDs.
+     */
+    public synchronized int countEligible(Student student, String level) {
+        return eligibleFor(student, level).cardinality();
+    }
+    /**
+     * @return {@code true} if the student may apply for the internship now.
+     */
+    public synchronized boolean isEligible(Student student, String internshipID) {
+        Integer ordinal = ordinalByID.get(internshipID);
+        if (ordinal == null || !open.get(ordinal)) {
+            return false;
+        }
+        if (!bits(byMajor, student.getMajorCode()).get(ordinal) && !bits(byMajor, StringDictionary.MAJOR_ALL).get(ordinal)) {
+            return false;
+        }
+        return student.getYearOfStudy() > 2 || bits(byLevel, StringDictionary.LEVEL_BASIC).get(ordinal);
+    }
+
+    private BitSet eligibleFor(Student student, String level) {
+        BitSet eligible = (BitSet) bits(byMajor, student.getMajorCode()).clone();
+        eligible.or(bits(byMajor, StringDictionary.MAJOR_ALL));
+        eligible.and(open);
+        if (student.getYearOfStudy() <= 2) {
+            eligible.and(bits(byLevel, StringDictionary.LEVEL_BASIC));
+        }
+        int levelCode = StringDictionary.LEVELS.filterCode(level);
+        if (levelCode != StringDictionary.ANY) {
+            eligible.and(bits(byLevel, levelCode));
+        }
+        return eligible;
+    }
+
+    private void add(Internship internship) {
+        Integer ordinal = ordinalByID.get(internship.getInternshipID());
+        if (ordinal == null) {
+            ordinal = idByOrdinal.size();
+            idByOrdinal.add(internship.getInternshipID());
+            ordinalByID.put(internship.getInternshipID(), ordinal);
+        } else {
+            // A re-added ID (e.g. replayed from the log) may carry different attributes
+            for (BitSet bits : byMajor.values()) {
+                bits.clear(ordinal);
+            }
+            for (BitSet bits : byLevel.values()) {
+                bits.clear(ordinal);
+            }
+        }
+        open.set(ordinal, isOpen(internship));
+        byMajor.computeIfAbsent(internship.getPreferredMajorCode(), c -> new BitSet()).set(ordinal);
+        byLevel.computeIfAbsent(internship.getLevelCode(), c -> new BitSet()).set(ordinal);
+    }
+
+    private static boolean isOpen(Internship internship) {
+        return internship.getStatusCode() == StringDictionary.STATUS_APPROVED
+                && internship.isVisible() && internship.hasAvailableSlots();
+    }
+
+    private static BitSet bits(Map<Integer, BitSet> index, int code) {
+        BitSet bits = index.get(code);
+        return bits != null ? bits : new BitSet(0);
+    }
+}
@@ -0,0 +1,90 @@
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+/**
+ * A Composite listener that forwards every entity change to a list of listeners.
+ * <p>
+ * Repositories hold a single {@link IEntityChangeListener}. Passing them a chain lets the
+ * composition root ({@link Main}) subscribe persistence and derived data at different points
+ * in the lifecycle, e.g. attaching the {@link WriteAheadLog} only after the initial CSV load so
+ * that boot data is not logged again.
+ * </p>
+ */
+// Open-Closed Principle - new subscribers are added without touching entities or repositories
+public class EntityChangeListenerChain implements IEntityChangeListener {
+    private final List<IEntityChangeListener> listeners;
+    /**
+     * Initializes an empty chain.
+     */
+    public EntityChangeListenerChain() {
+        // Copy-on-write: listeners are added rarely, events are dispatched constantly
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+    /**
+     * Subscribes a listener to all subsequent events.
+     *
+     * @param listener The {@link IEntityChangeListener} to add.
+     */
+    public void addListener(IEntityChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(IEntityChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void onInternshipAdded(Internship internship) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onInternshipAdded(internship);
+        }
+    }
+
+    @Override
+    public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onInternshipChanged(internship, field, oldValue);
+        }
+    }
+
+    @Override
+    public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onApplicationChanged(internship, studentID, oldStatus, newStatus);
+        }
+    }
+
+    @Override
+    public void onUserAdded(User user) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onUserAdded(user);
+        }
+    }
+
+    @Override
+    public void onUserChanged(User user, String field, Object oldValue) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onUserChanged(user, field, oldValue);
+        }
+    }
+
+    @Override
+    public void onUserRemoved(User user) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onUserRemoved(user);
+        }
+    }
+
+    @Override
+    public void onCredentialChanged(String userID, String passwordHash) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onCredentialChanged(userID, passwordHash);
+        }
+    }
+
+    @Override
+    public void onEmailRegistered(String email, String userID) {
+        for (IEntityChangeListener listener : listeners) {
+            listener.onEmailRegistered(email, userID);
+        }
+    }
+}
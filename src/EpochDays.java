@@ -0,0 +1,45 @@
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+/**
+ * Converts the "DD-MM-YYYY" dates used throughout the system into epoch days.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A helper of the <b>Domain Layer</b>. {@link Internship} parses its opening and closing dates once, when it
+ * is created or loaded, and keeps the day number next to the original text. Comparing two dates is then a
+ * single {@code int} comparison, and the closing date can key the ordered index of {@link InternshipRepository}.
+ * </p>
+ */
+public final class EpochDays {
+    /** Day number of a missing or unparseable date; it sorts after every real date. */
+    public static final int UNKNOWN = Integer.MAX_VALUE;
+
+    private static final DateTimeFormatter FORMAT =
+            DateTimeFormatter.ofPattern("d-M-uuuu").withResolverStyle(ResolverStyle.STRICT);
+
+    private EpochDays() {
+    }
+    /**
+     * @param date A date in "DD-MM-YYYY" form (single-digit day and month are accepted).
+     * @return The number of days since 1970-01-01, or {@link #UNKNOWN} if the text is not a valid date.
+     */
+    public static int parse(String date) {
+        if (date == null || date.isEmpty()) {
+            return UNKNOWN;
+        }
+        try {
+            return (int) LocalDate.parse(date.trim(), FORMAT).toEpochDay();
+        } catch (DateTimeException e) {
+            return UNKNOWN;
+        }
+    }
+
+    public static int of(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    public static int today() {
+        return of(LocalDate.now());
+    }
+}
@@ -0,0 +1,123 @@
+import java.util.*;
+import java.util.function.Predicate;
+/**
+ * Compares list-based, fused and bitmap execution of an {@link InternshipFilterChain}.
+ * <p>
+ * <b>Usage:</b> {@code java FilterChainBenchmark [runs] [sizes...]}. For each catalog size (default 10,000,
+ * 100,000 and 1,000,000 synthetic internships) the same chain (status, major and level filters plus one
+ * unindexed visibility filter) is run {@code runs} times (default 9) with {@link InternshipFilterChain#filter}
+ * and {@link InternshipFilterChain#run} over the catalog list, and with {@link InternshipFilterChain#execute()}
+ * over an {@link InternshipBitmapIndex}. The fused mode also sorts by closing date and keeps the first 20,
+ * as a listing page would.
+ * The median and best time of each mode are reported, with the heap allocated by one run. The 1,000,000 size needs a heap of about 1 GB.
+ * </p>
+ */
+public class FilterChainBenchmark {
+    private static final String[] MAJORS = {"Computer Science", "Data Science & AI", "Computer Engineering",
+            "Business Analytics", "Electrical Engineering", "All"};
+    private static final String[] LEVELS = {"Basic", "Intermediate", "Advanced"};
+    private static final String[] STATUSES = {"Pending", "Approved", "Rejected", "Filled"};
+
+    public static void main(String[] args) {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 9;
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        if (args.length > 1) {
+            sizes = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                sizes[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        for (int size : sizes) {
+            run(size, runs);
+        }
+    }
+
+    private static void run(int size, int runs) {
+        Random random = new Random(size);
+        List<Internship> catalog = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Internship internship = new Internship("INT" + i, "Intern " + i, "Build things, test things",
+                    LEVELS[random.nextInt(LEVELS.length)], MAJORS[random.nextInt(MAJORS.length)],
+                    "01-01-2025", String.format("28-%02d-2025", 1 + random.nextInt(12)),
+                    1 + random.nextInt(10), "Company " + random.nextInt(200), "rep" + random.nextInt(200));
+            internship.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            internship.setVisible(random.nextInt(3) != 0);
+            catalog.add(internship);
+        }
+        InternshipRepository repository = new InternshipRepository();
+        for (Internship internship : catalog) {
+            repository.add(internship);
+        }
+        InternshipBitmapIndex index = new InternshipBitmapIndex();
+        index.rebuild(catalog);
+
+        InternshipFilterChain chain = new InternshipFilterChain(index, repository);
+        chain.addFilter(new StatusFilter("Approved"));
+        chain.addFilter(new MajorFilter("Computer Science"));
+        chain.addFilter(new LevelFilter("Basic"));
+        chain.addFilter(new IInternshipFilter() {
+            @Override
+            public List<Internship> filter(List<Internship> internships) {
+                List<Internship> visible = new ArrayList<>();
+                for (Internship internship : internships) {
+                    if (internship.isVisible()) {
+                        visible.add(internship);
+                    }
+                }
+                return visible;
+            }
+
+            @Override
+            public Predicate<Internship> asPredicate() {
+                return Internship::isVisible;
+            }
+        });
+
+        int listed = chain.filter(catalog).size();
+        int executed = chain.execute().size();
+        int fused = chain.run(catalog, null, Integer.MAX_VALUE).size();
+        if (listed != executed || listed != fused) {
+            throw new IllegalStateException("Modes disagree: " + listed + " vs " + executed + " vs " + fused);
+        }
+        IInternshipSorter byClosingDate = new ClosingDateSorter();
+        System.out.println(String.format("%,d internships, %,d match", size, listed));
+        report("filter (lists)", runs, () -> chain.filter(catalog).size());
+        report("run (fused)", runs, () -> chain.run(catalog, null, Integer.MAX_VALUE).size());
+        report("execute (bitmaps)", runs, () -> chain.execute().size());
+        report("filter + sort + 20", runs, () -> {
+            List<Internship> page = new ArrayList<>(chain.filter(catalog));
+            byClosingDate.sort(page);
+            return page.subList(0, Math.min(20, page.size())).size();
+        });
+        report("run (sorted, 20)", runs, () -> chain.run(catalog, byClosingDate, 20).size());
+    }
+
+    private static void report(String name, int runs, java.util.function.IntSupplier mode) {
+        for (int warmup = 0; warmup < runs; warmup++) {
+            mode.getAsInt();
+        }
+        long[] timings = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            mode.getAsInt();
+            timings[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        System.out.println(String.format("  %-18s median %8.2f ms  best %8.2f ms  allocated %,10d KB",
+                name, timings[runs / 2] / 1e6, timings[0] / 1e6, allocatedBytes(mode) / 1024));
+    }
+    /**
+     * @return Heap bytes allocated by one run of {@code mode}, or -1 if the JVM cannot measure it.
+     */
+    private static long allocatedBytes(java.util.function.IntSupplier mode) {
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        long thread = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        mode.getAsInt();
+        return allocations.getThreadAllocatedBytes(thread) - before;
+    }
+}
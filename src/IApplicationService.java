@@ -1,3 +1,4 @@
+import java.util.*;
 /**
  * Interface defining the business logic contract for Internship Applications.
  * <p>
@@ -108,4 +109,75 @@ public interface IApplicationService {
      * @return {@code true} if rejected.
      */
     boolean rejectWithdrawal(String internshipID, String studentID);
+    /**
+     * Lists a student's applications in a given status.
+     * <p>
+     * <b>Use Case:</b> The placement confirmation screen offers only the internships whose application
+     * was "Approved".
+     * </p>
+     *
+     * @param studentID The student ID.
+     * @param status    The application status, or {@code null} for every application.
+     * @return The IDs of the internships applied for, oldest application first.
+     */
+    List<String> findApplications(String studentID, String status);
+    /**
+     * Lists the applicants of an internship in a given status.
+     *
+     * @param internshipID The internship ID.
+     * @param status       The application status, or {@code null} for every applicant.
+     * @return The IDs of the applying students, earliest applicant first.
+     */
+    List<String> findApplicants(String internshipID, String status);
+    /**
+     * Counts the applicants of an internship in a given status.
+     * <p>
+     * <b>Use Case:</b> A Company Representative's internship list shows how many applications still await review.
+     * </p>
+     *
+     * @param internshipID The internship ID.
+     * @param status       The application status, or {@code null} for every applicant.
+     * @return The number of matching applications.
+     */
+    int countApplicants(String internshipID, String status);
+    /**
+     * Lists the internships a student may apply for now: Approved, visible, with a free slot, matching the
+     * student's major (or open to all majors) and, for years 1 and 2, at Basic level.
+     * <p>
+     * <b>Use Case:</b> The student's "View Available Internships" listing.
+     * </p>
+     *
+     * @param studentID The student ID.
+     * @param level     Level filter of the listing, or {@code null}/"all" for any level.
+     * @return The IDs of the eligible internships, in no particular order.
+     */
+    List<String> findEligibleInternships(String studentID, String level);
+    /**
+     * Checks the same rules as {@link #findEligibleInternships} for a single internship.
+     *
+     * @param studentID    The student ID.
+     * @param internshipID The internship ID.
+     * @return {@code true} if the student may apply for the internship now.
+     */
+    boolean isEligible(String studentID, String internshipID);
+    /**
+     * Lists the students who have confirmed an internship as their placement.
+     * <p>
+     * <b>Use Case:</b> The Career Center Staff placement report.
+     * </p>
+     *
+     * @param internshipID The internship ID.
+     * @return The IDs of the placed students, in confirmation order.
+     */
+    List<String> findPlacedStudents(String internshipID);
+    /**
+     * Returns one page of the withdrawal requests awaiting staff review, oldest request first.
+     *
+     * @param offset Number of pending requests to skip.
+     * @param limit  Maximum number to return.
+     * @return The pending requests on that page.
+     */
+    List<WithdrawalRequest> getPendingWithdrawals(int offset, int limit);
+
+    int countPendingWithdrawals();
 }
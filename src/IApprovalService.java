@@ -1,3 +1,4 @@
+import java.util.*;
 // Interface for approval operations
 /**
  * Interface defining the contract for administrative approval workflows.
@@ -68,4 +69,24 @@ public interface IApprovalService {
      * @return {@code true} if the operation was successful.
      */
     boolean rejectInternship(String internshipID);
-}
\ No newline at end of file
+    /**
+     * Returns one page of the representatives awaiting approval, oldest registration first.
+     *
+     * @param offset Number of pending representatives to skip.
+     * @param limit  Maximum number to return.
+     * @return The pending representatives on that page.
+     */
+    List<CompanyRepresentative> getPendingCompanyReps(int offset, int limit);
+
+    int countPendingCompanyReps();
+    /**
+     * Returns one page of the internships awaiting approval, oldest posting first.
+     *
+     * @param offset Number of pending internships to skip.
+     * @param limit  Maximum number to return.
+     * @return The pending internships on that page.
+     */
+    List<Internship> getPendingInternships(int offset, int limit);
+
+    int countPendingInternships();
+}
@@ -1,3 +1,4 @@
+import java.util.*;
 /**
  * Interface defining the contract for User Authentication and Session Management.
  * <p>
@@ -19,6 +20,10 @@
  * </p>
  */
 public interface IAuthenticationService {
+    /**
+     * The password of every account loaded from a data file, until the user changes it.
+     */
+    String DEFAULT_PASSWORD = "password";
     /**
      * Registers a new user credential pair in the security system.
      * <p>
@@ -30,6 +35,18 @@ public interface IAuthenticationService {
      * @param password The password to associate with this ID.
      */
     void registerUser(String userID, String password);
+    /**
+     * Registers many users with the same password, e.g. the default password of a whole data file.
+     * Implementations must allow this to be called from several loader threads at once.
+     *
+     * @param userIDs  The unique User IDs.
+     * @param password The password to associate with each ID.
+     */
+    default void registerUsers(Collection<String> userIDs, String password) {
+        for (String userID : userIDs) {
+            registerUser(userID, password);
+        }
+    }
     /**
      * Associates an email address with a specific User ID.
      * <p>
@@ -5,4 +5,5 @@ public interface IDataLoader {
     List<Student> loadStudents(String filename);
     List<CompanyRepresentative> loadCompanyReps(String filename);
     List<CareerCenterStaff> loadStaff(String filename);
-}
\ No newline at end of file
+    List<Internship> loadInternships(String filename);
+}
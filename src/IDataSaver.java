@@ -2,5 +2,8 @@ import java.util.List;
 
 public interface IDataSaver {
     void saveCompanyReps(String filename, List<CompanyRepresentative> reps);
-    // You can add saveStudents or saveInternships here later
+    void saveStudents(String filename, List<Student> students);
+    void saveStaff(String filename, List<CareerCenterStaff> staff);
+    void saveInternships(String filename, List<Internship> internships);
+    void saveApplications(String filename, List<Internship> internships);
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+/**
+ * Observer contract for state changes made to domain entities.
+ * <p>
+ * <b>Architectural Role:</b>
+ * Entities ({@link Internship}, {@link Student}, {@link CompanyRepresentative}) are mutated from many
+ * places: the services, the menu controllers and the entities themselves (e.g. an internship turning
+ * "Filled" when its last slot is confirmed). Instead of asking every caller to remember to persist or
+ * re-index, each entity reports its own changes to a listener that the owning repository attaches
+ * when the entity is added.
+ * </p>
+ * <p>
+ * <b>Design Principles:</b>
+ * <ul>
+ * <li><b>Observer Pattern:</b> Persistence (e.g. {@link WriteAheadLog}) and derived data can subscribe
+ * without the entities knowing who they are.</li>
+ * <li><b>Interface Segregation:</b> All methods have empty default bodies, so a listener only overrides
+ * the events it cares about.</li>
+ * </ul>
+ * </p>
+ */
+public interface IEntityChangeListener {
+    // Field names reported through the "changed" callbacks
+    String FIELD_NAME = "name";
+    String FIELD_STATUS = "status";
+    String FIELD_VISIBLE = "visible";
+    String FIELD_CONFIRMED_SLOTS = "confirmedSlots";
+    String FIELD_APPLICATIONS = "applications";
+    String FIELD_ACCEPTED_PLACEMENT = "acceptedPlacement";
+    String FIELD_WITHDRAWAL_REQUESTS = "withdrawalRequests";
+    String FIELD_INTERNSHIPS = "internships";
+    /**
+     * Called after a new internship has been added to its repository.
+     *
+     * @param internship The added internship.
+     */
+    default void onInternshipAdded(Internship internship) { }
+    /**
+     * Called after a scalar field of an internship changed (status, visibility or confirmed slots).
+     *
+     * @param internship The changed internship (already holding the new value).
+     * @param field      One of the {@code FIELD_*} constants.
+     * @param oldValue   The value before the change.
+     */
+    default void onInternshipChanged(Internship internship, String field, Object oldValue) { }
+    /**
+     * Called after a student's application status on an internship changed.
+     *
+     * @param internship The internship that holds the application.
+     * @param studentID  The applicant.
+     * @param oldStatus  The previous status ("Not Applied" if there was none).
+     * @param newStatus  The new status.
+     */
+    default void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) { }
+    /**
+     * Called after a user has been added to a repository.
+     *
+     * @param user The added user.
+     */
+    default void onUserAdded(User user) { }
+    /**
+     * Called after a field of a user changed.
+     *
+     * @param user     The changed user (already holding the new value).
+     * @param field    One of the {@code FIELD_*} constants.
+     * @param oldValue The value before the change, or {@code null} for collection fields.
+     */
+    default void onUserChanged(User user, String field, Object oldValue) { }
+    /**
+     * Called after a user has been removed from a repository.
+     *
+     * @param user The removed user.
+     */
+    default void onUserRemoved(User user) { }
+    /**
+     * Called after a password was registered or changed in the {@link AuthenticationService}.
+     *
+     * @param userID       The user whose credential changed.
+     * @param passwordHash The new password as a {@link PasswordHasher} hash, or the marker of an account still on
+     *                     {@link IAuthenticationService#DEFAULT_PASSWORD}; the password itself is never passed.
+     */
+    default void onCredentialChanged(String userID, String passwordHash) { }
+    /**
+     * Called after an email address was associated with a user for email login.
+     *
+     * @param email  The (lower-cased) email address.
+     * @param userID The canonical User ID.
+     */
+    default void onEmailRegistered(String email, String userID) { }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * Interface defining the contract for Internship Filtering Strategies.
  * <p>
@@ -15,4 +16,32 @@ public interface IInternshipFilter {
      * @return A new list containing only the internships that satisfy the filter criteria.
      */
     List<Internship> filter(List<Internship> internships);
-}
\ No newline at end of file
+    /**
+     * Bitmap form of the filter, used by {@link InternshipFilterChain#execute()}.
+     * <p>
+     * Filters on an indexed attribute return the matching ordinals of {@code index}, so the chain can
+     * intersect them without reading any {@link Internship}. The default has no index support and returns
+     * {@code null}; the chain then applies {@link #filter} to the intersected result.
+     * </p>
+     *
+     * @param index The bitmap index of the catalog; the caller holds its lock.
+     * @return The ordinals of the matching internships, or {@code null} if the filter cannot use the index.
+     */
+    default CompressedBitmap select(InternshipBitmapIndex index) {
+        return null;
+    }
+    /**
+     * Predicate form of the filter, used by {@link InternshipFilterChain#run}.
+     * <p>
+     * Filters that decide each internship on its own return a test for one internship, so the chain can
+     * apply all of them in a single pass without building a list per filter. The default returns
+     * {@code null}; the chain then applies {@link #filter} to the fused result.
+     * </p>
+     *
+     * @return A test matching exactly the internships {@link #filter} keeps, or {@code null} if the filter
+     *         needs to see the whole list.
+     */
+    default Predicate<Internship> asPredicate() {
+        return null;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * Interface defining the contract for Internship Data Access.
  * <p>
@@ -43,6 +44,19 @@ public interface IInternshipRepository {
      * @return A complete list of all internships (Approved, Pending, Filled, etc.).
      */
     List<Internship> getAll();
+    /**
+     * Read-only counterpart of {@link #getAll()}.
+     * <p>
+     * <b>Usage:</b> Menu listings and report loops that only read the catalog call this instead of
+     * {@code getAll()}, so rendering a menu does not copy the whole catalog. Implementations may return the
+     * same immutable list until an internship is added; the default simply wraps {@code getAll()}.
+     * </p>
+     *
+     * @return An unmodifiable list of all internships.
+     */
+    default List<Internship> viewAll() {
+        return Collections.unmodifiableList(getAll());
+    }
     /**
      * Domain-specific query to find all internships owned by a specific Company Representative.
      * <p>
@@ -56,6 +70,51 @@ public interface IInternshipRepository {
      * @return A list of internships posted by that user.
      */
     List<Internship> getByRepresentativeID(String repID);
+    /**
+     * Finds the internships that satisfy a query.
+     * <p>
+     * <b>Usage:</b> The menu listings describe what they show (e.g. approved, visible, Basic level) instead of
+     * scanning {@link #getAll()} themselves. The default implementation scans. Repositories override it to
+     * narrow the candidates with whatever indexes they keep, and test the remaining criteria on those
+     * candidates; a query on criteria a repository does not index may still scan the catalog. The listings go
+     * through {@link InternshipQueryPlanner}, which covers the other criteria with its own indexes.
+     * </p>
+     *
+     * @param query The criteria.
+     * @return The matching internships, in closing-date order if the query asks for it and otherwise in no
+     * particular order.
+     */
+    default List<Internship> query(InternshipQuery query) {
+        Predicate<Internship> matches = query.toPredicate();
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : getAll()) {
+            if (matches.test(internship)) {
+                result.add(internship);
+            }
+        }
+        return query.order(result);
+    }
+    /**
+     * Autocompletes a company name, e.g. while Career Center Staff set the company filter.
+     * <p>
+     * The default implementation scans the catalog; {@link InternshipRepository} walks its company-name trie.
+     * </p>
+     *
+     * @param prefix The start of the name; compared ignoring case and extra spaces.
+     * @param limit  Maximum number of names to return.
+     * @return The distinct company names with postings that start with {@code prefix}, alphabetically.
+     */
+    default List<String> completeCompanyName(String prefix, int limit) {
+        String key = CompanyNameIndex.normalize(prefix);
+        TreeMap<String, String> names = new TreeMap<>();
+        for (Internship internship : viewAll()) {
+            String name = CompanyNameIndex.normalize(internship.getCompanyName());
+            if (name.startsWith(key)) {
+                names.putIfAbsent(name, internship.getCompanyName());
+            }
+        }
+        return new ArrayList<>(names.values()).subList(0, Math.min(limit, names.size()));
+    }
     /**
      * Generates a new, unique identifier for an internship.
      * <p>
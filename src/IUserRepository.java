@@ -12,8 +12,29 @@ import java.util.*;
 // Dependency Inversion - depend on abstraction, not concrete implementation
 public interface IUserRepository<T extends User> {
     void add(T user);
+    /**
+     * Adds many users at once, e.g. during {@code loadInitialData}. Storage backends override this to
+     * write the whole collection in one batch.
+     *
+     * @param users The users to add.
+     */
+    default void addAll(Collection<? extends T> users) {
+        for (T user : users) {
+            add(user);
+        }
+    }
     T getById(String userID);
     List<T> getAll();
+    /**
+     * Read-only counterpart of {@link #getAll()} for listing loops that do not keep or modify the list.
+     * Implementations may return the same immutable list until a user is added or removed; the default
+     * simply wraps {@code getAll()}.
+     *
+     * @return An unmodifiable list of all users.
+     */
+    default List<T> viewAll() {
+        return Collections.unmodifiableList(getAll());
+    }
     boolean exists(String userID);
     void remove(String userID);
 }
\ No newline at end of file
@@ -0,0 +1,375 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+/**
+ * Dirty-tracking Data Saver that appends only changed records to a segment file next to each CSV.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class belongs to the <b>Persistence Layer (Write Side)</b> and is a drop-in {@link IDataSaver}.
+ * {@link CSVDataSaver} rewrites a whole file on every save, so persisting a single approval costs
+ * O(all rows). This saver listens to entity changes through {@link IEntityChangeListener} and, on save,
+ * writes only the entities that changed since the previous save, making the cost O(changes).
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Dirty Tracking:</b> Only the {@link Kind}s passed to the constructor are tracked, so nothing piles
+ * up for a file that is never saved. When a change event arrives, the row of the changed entity is formatted
+ * on the mutating thread and kept in a concurrent map keyed by ID. Changes to fields the row does not
+ * contain are ignored. Ten changes to one entity still produce one row, and no entity is pinned in memory
+ * or read by the saving thread. Kinds that are not tracked are always saved in full.</li>
+ * <li><b>Segments:</b> A save appends every dirty row to {@code <file>.segment}, in the same CSV format as
+ * the base file but without a header, and forces it to disk before returning. The entity list passed to a
+ * save method is only used when the base file does not exist yet and has to be written in full.</li>
+ * <li><b>Reading:</b> {@link CSVDataLoader} overlays the segments on the base file, later rows winning.</li>
+ * <li><b>Background Compaction:</b> Once a segment holds {@code compactionThreshold} rows it is renamed to
+ * {@code <file>.compacting} (new saves start a fresh segment) and merged into the base file on a
+ * background thread. The merged file replaces the base with an atomic rename, and only then is the
+ * compacting segment deleted, so a crash at any point leaves files that load to the same state.</li>
+ * </ol>
+ * </p>
+ * <p>
+ * Removing an entity cannot be expressed as an appended row; removals still need a full save with
+ * {@link CSVDataSaver}.
+ * </p>
+ */
+public class IncrementalDataSaver implements IDataSaver, IEntityChangeListener, Closeable {
+    public static final String SEGMENT_SUFFIX = ".segment";
+    public static final String COMPACTING_SUFFIX = ".compacting";
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1_000;
+    /**
+     * The files a saver can append to, one per save method.
+     */
+    public enum Kind { COMPANY_REPS, STUDENTS, STAFF, INTERNSHIPS, APPLICATIONS }
+
+    private final CSVDataSaver fullSaver = new CSVDataSaver();
+    private final int compactionThreshold;
+    private final ExecutorService compactor;
+
+    // Dirty rows by ID, for the tracked kinds only
+    private final Map<Kind, Map<String, String>> dirtyRows = new EnumMap<>(Kind.class);
+
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+    /**
+     * Creates a saver that compacts a segment after {@value #DEFAULT_COMPACTION_THRESHOLD} rows.
+     *
+     * @param tracked The kinds whose saves append changes; pass only kinds that are actually saved.
+     */
+    public IncrementalDataSaver(Set<Kind> tracked) {
+        this(tracked, DEFAULT_COMPACTION_THRESHOLD);
+    }
+    /**
+     * Creates a saver.
+     *
+     * @param tracked             The kinds whose saves append changes; pass only kinds that are actually saved.
+     * @param compactionThreshold Number of rows in a segment that triggers a background compaction.
+     */
+    public IncrementalDataSaver(Set<Kind> tracked, int compactionThreshold) {
+        for (Kind kind : tracked) {
+            dirtyRows.put(kind, new ConcurrentHashMap<>());
+        }
+        this.compactionThreshold = Math.max(1, compactionThreshold);
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "segment-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    /**
+     * @return The segment files of {@code filename} that currently exist, oldest first.
+     */
+    static List<String> existingSegments(String filename) {
+        List<String> existing = new ArrayList<>(2);
+        for (String segment : new String[]{filename + COMPACTING_SUFFIX, filename + SEGMENT_SUFFIX}) {
+            if (Files.exists(Paths.get(segment))) {
+                existing.add(segment);
+            }
+        }
+        return existing;
+    }
+    /**
+     * @return The number of changed records waiting for the next save.
+     */
+    public int getDirtyCount() {
+        int count = 0;
+        for (Map<String, String> rows : dirtyRows.values()) {
+            count += rows.size();
+        }
+        return count;
+    }
+
+    // ===== IDataSaver =====
+
+    @Override
+    public void saveCompanyReps(String filename, List<CompanyRepresentative> reps) {
+        int written = save(filename, Kind.COMPANY_REPS, CSVDataSaver.COMPANY_REP_HEADER, 1,
+                () -> fullSaver.saveCompanyReps(filename, reps));
+        if (written >= 0) {
+            System.out.println("Company Representatives saved successfully to " + filename
+                    + " (" + written + " changed)");
+        }
+    }
+
+    @Override
+    public void saveStudents(String filename, List<Student> students) {
+        save(filename, Kind.STUDENTS, CSVDataSaver.STUDENT_HEADER, 1,
+                () -> fullSaver.saveStudents(filename, students));
+    }
+
+    @Override
+    public void saveStaff(String filename, List<CareerCenterStaff> staff) {
+        save(filename, Kind.STAFF, CSVDataSaver.STAFF_HEADER, 1,
+                () -> fullSaver.saveStaff(filename, staff));
+    }
+
+    @Override
+    public void saveInternships(String filename, List<Internship> internships) {
+        save(filename, Kind.INTERNSHIPS, CSVDataSaver.INTERNSHIP_HEADER, 1,
+                () -> fullSaver.saveInternships(filename, internships));
+    }
+
+    @Override
+    public void saveApplications(String filename, List<Internship> internships) {
+        save(filename, Kind.APPLICATIONS, CSVDataSaver.APPLICATION_HEADER, 2,
+                () -> fullSaver.saveApplications(filename, internships));
+    }
+    /**
+     * Appends the dirty rows of one kind to the segment of {@code filename}.
+     *
+     * @return The number of rows appended, or -1 if the save failed (the rows stay dirty).
+     */
+    private int save(String filename, Kind kind, String header, int keyColumns, Runnable fullSave) {
+        Map<String, String> dirty = dirtyRows.get(kind);
+        if (dirty == null || !Files.exists(Paths.get(filename))) {
+            // Not tracked, or nothing to append to yet: write the base file in full
+            if (dirty != null) {
+                dirty.clear();
+            }
+            fullSave.run();
+            return 0;
+        }
+
+        Segment segment = segments.computeIfAbsent(filename, f -> new Segment(f, header, keyColumns));
+        Map<String, String> drained = new LinkedHashMap<>();
+        synchronized (segment) {
+            // Remove before writing: a change made meanwhile marks the entity dirty again
+            for (Iterator<Map.Entry<String, String>> it = dirty.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<String, String> entry = it.next();
+                drained.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            if (drained.isEmpty()) {
+                return 0;
+            }
+
+            try (FileOutputStream stream = new FileOutputStream(filename + SEGMENT_SUFFIX, true);
+                 Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+                for (String row : drained.values()) {
+                    out.write(row);
+                    out.write('\n');
+                }
+                out.flush();
+                stream.getChannel().force(false);
+            } catch (IOException e) {
+                System.err.println("Error appending to " + filename + SEGMENT_SUFFIX + ": " + e.getMessage());
+                for (Map.Entry<String, String> entry : drained.entrySet()) {
+                    dirty.putIfAbsent(entry.getKey(), entry.getValue());
+                }
+                return -1;
+            }
+
+            segment.rows += drained.size();
+            if (segment.rows >= compactionThreshold && !segment.compactionQueued) {
+                segment.compactionQueued = true;
+                compactor.execute(() -> compact(segment));
+            }
+        }
+        return drained.size();
+    }
+
+    // ===== Compaction =====
+
+    private void compact(Segment segment) {
+        Path active = Paths.get(segment.filename + SEGMENT_SUFFIX);
+        Path compacting = Paths.get(segment.filename + COMPACTING_SUFFIX);
+        try {
+            synchronized (segment) {
+                segment.compactionQueued = false;
+                // A compacting file left behind by an interrupted compaction is merged first
+                if (!Files.exists(compacting)) {
+                    if (!Files.exists(active)) {
+                        return;
+                    }
+                    Files.move(active, compacting, StandardCopyOption.ATOMIC_MOVE);
+                    segment.rows = 0;
+                }
+            }
+            mergeIntoBase(segment, compacting);
+            Files.delete(compacting);
+        } catch (IOException e) {
+            System.err.println("Error compacting " + segment.filename + ": " + e.getMessage());
+        }
+    }
+
+    private static void mergeIntoBase(Segment segment, Path compacting) throws IOException {
+        Path base = Paths.get(segment.filename);
+        Path temp = Paths.get(segment.filename + ".tmp");
+        String header = segment.header;
+        Map<String, String[]> rows = new LinkedHashMap<>();
+
+        if (Files.exists(base)) {
+            try (CSVRecordReader reader = CSVRecordReader.open(segment.filename)) {
+                String[] headerFields = reader.readRecord();
+                if (headerFields != null) {
+                    header = toCSVLine(headerFields);
+                }
+                readRows(reader, segment.keyColumns, rows);
+            }
+        }
+        try (CSVRecordReader reader = CSVRecordReader.open(compacting.toString())) {
+            readRows(reader, segment.keyColumns, rows);
+        }
+
+        try (FileOutputStream stream = new FileOutputStream(temp.toFile());
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16)) {
+            out.write(header);
+            out.write(System.lineSeparator());
+            for (String[] row : rows.values()) {
+                out.write(toCSVLine(row));
+                out.write(System.lineSeparator());
+            }
+            // The merged file must be on disk before it replaces the base and the segment is deleted
+            out.flush();
+            stream.getChannel().force(false);
+        }
+        Files.move(temp, base, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void readRows(CSVRecordReader reader, int keyColumns, Map<String, String[]> rows) throws IOException {
+        String[] data;
+        while ((data = reader.readRecord()) != null) {
+            if (data.length < keyColumns) {
+                continue;
+            }
+            String key = keyColumns == 1 ? data[0] : data[0] + '\t' + data[1];
+            rows.put(key, data);
+        }
+    }
+
+    private static String toCSVLine(String[] fields) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) line.append(',');
+            line.append(CSVDataSaver.toCSVField(fields[i]));
+        }
+        return line.toString();
+    }
+    /**
+     * Waits for queued compactions to finish and stops the compaction thread.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Segment compaction still running after 30 s; segments will be merged on the next run");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ===== Entity events =====
+
+    @Override
+    public void onInternshipAdded(Internship internship) {
+        markDirty(Kind.INTERNSHIPS, internship.getInternshipID(), () -> CSVDataSaver.toCSVRow(internship));
+    }
+
+    @Override
+    public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        onInternshipAdded(internship);
+    }
+
+    @Override
+    public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        markDirty(Kind.APPLICATIONS, internship.getInternshipID() + '\t' + studentID,
+                () -> CSVDataSaver.toApplicationRow(internship, studentID));
+    }
+
+    @Override
+    public void onUserAdded(User user) {
+        if (user instanceof Student) {
+            markDirty(Kind.STUDENTS, user.getUserID(), () -> CSVDataSaver.toCSVRow((Student) user));
+        } else if (user instanceof CompanyRepresentative) {
+            markDirty(Kind.COMPANY_REPS, user.getUserID(), () -> CSVDataSaver.toCSVRow((CompanyRepresentative) user));
+        } else if (user instanceof CareerCenterStaff) {
+            markDirty(Kind.STAFF, user.getUserID(), () -> CSVDataSaver.toCSVRow((CareerCenterStaff) user));
+        }
+    }
+
+    @Override
+    public void onUserChanged(User user, String field, Object oldValue) {
+        if (inCSVRow(user, field)) {
+            onUserAdded(user);
+        }
+    }
+    // The user fields CSVDataSaver.toCSVRow writes that can change; others (e.g. a representative's
+    // internship list) would only append an identical row
+    private static boolean inCSVRow(User user, String field) {
+        return IEntityChangeListener.FIELD_NAME.equals(field)
+                || (user instanceof CompanyRepresentative && IEntityChangeListener.FIELD_STATUS.equals(field));
+    }
+
+    @Override
+    public void onUserRemoved(User user) {
+        for (Kind kind : new Kind[]{Kind.STUDENTS, Kind.COMPANY_REPS, Kind.STAFF}) {
+            Map<String, String> dirty = dirtyRows.get(kind);
+            if (dirty != null) {
+                dirty.remove(user.getUserID());
+            }
+        }
+    }
+    // The row is formatted now, on the thread that made the change, and only for tracked kinds
+    private void markDirty(Kind kind, String key, Supplier<String> row) {
+        Map<String, String> dirty = dirtyRows.get(kind);
+        if (dirty != null) {
+            dirty.put(key, row.get());
+        }
+    }
+
+    /**
+     * Per-file segment bookkeeping. Appends and the segment rename synchronize on this object.
+     */
+    private static final class Segment {
+        final String filename;
+        final String header;
+        final int keyColumns;
+        long rows;
+        boolean compactionQueued;
+
+        Segment(String filename, String header, int keyColumns) {
+            this.filename = filename;
+            this.header = header;
+            this.keyColumns = keyColumns;
+            this.rows = countRows(filename + SEGMENT_SUFFIX);
+        }
+
+        private static long countRows(String file) {
+            if (!Files.exists(Paths.get(file))) {
+                return 0;
+            }
+            try (CSVRecordReader reader = CSVRecordReader.open(file)) {
+                while (reader.readRecord() != null) {
+                    // count only
+                }
+                return reader.getRecordCount();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+    }
+}
@@ -12,18 +12,24 @@ public class Internship {
     private String internshipID;
     private String title;
     private String description;
-    private String level;
-    private String preferredMajor;
+    // Repetitive values are held as StringDictionary codes
+    private int levelCode;
+    private int preferredMajorCode;
     private String openingDate;
     private String closingDate;
-    private String status;
-    private String companyName;
+    // The same dates as epoch days (EpochDays.UNKNOWN if unparseable), for ordering and range checks
+    private int openingDay;
+    private int closingDay;
+    private int statusCode;
+    private int companyCode;
     private String representativeID;
     private int totalSlots;
     private int confirmedSlots;
     private boolean isVisible = true;
     private final Map<String, String> statusByStudent;
+    private Map<String, String> statusView; // shared read-only copy, dropped on the next status change
     private final Map<String, String> withdrawalReasons;
+    private IEntityChangeListener changeListener;
     /**
      * Constructs a new Internship posting.
      * Initial status is "Pending" (awaiting Staff approval).
@@ -34,14 +40,16 @@ public class Internship {
         this.internshipID = internshipID;
         this.title = title;
         this.description = description;
-        this.level = level;
-        this.preferredMajor = preferredMajor;
+        this.levelCode = StringDictionary.LEVELS.encode(level);
+        this.preferredMajorCode = StringDictionary.MAJORS.encode(preferredMajor);
         this.openingDate = openingDate;
         this.closingDate = closingDate;
+        this.openingDay = EpochDays.parse(openingDate);
+        this.closingDay = EpochDays.parse(closingDate);
         this.totalSlots = totalSlots;
-        this.companyName = companyName;
+        this.companyCode = StringDictionary.COMPANIES.encode(companyName);
         this.representativeID = representativeID;
-        this.status = "Pending";
+        this.statusCode = StringDictionary.STATUS_PENDING;
         this.confirmedSlots = 0;
         this.statusByStudent = new HashMap<>();
         this.withdrawalReasons = new HashMap<>();
@@ -50,23 +58,61 @@ public class Internship {
     public String getInternshipID() { return internshipID; }
     public String getTitle() { return title; }
     public String getDescription() { return description; }
-    public String getLevel() { return level; }
-    public String getPreferredMajor() { return preferredMajor; }
+    public String getLevel() { return StringDictionary.LEVELS.decode(levelCode); }
+    public String getPreferredMajor() { return StringDictionary.MAJORS.decode(preferredMajorCode); }
     public String getOpeningDate() { return openingDate; }
     public String getClosingDate() { return closingDate; }
-    public String getStatus() { return status; }
-    public String getCompanyName() { return companyName; }
+    public int getOpeningDay() { return openingDay; }
+    public int getClosingDay() { return closingDay; }
+    public String getStatus() { return StringDictionary.STATUSES.decode(statusCode); }
+    public String getCompanyName() { return StringDictionary.COMPANIES.decode(companyCode); }
     public String getRepresentativeID() { return representativeID; }
     public int getTotalSlots() { return totalSlots; }
     public int getConfirmedSlots() { return confirmedSlots; }
     public boolean isVisible() { return isVisible; }
+    public int getLevelCode() { return levelCode; }
+    public int getPreferredMajorCode() { return preferredMajorCode; }
+    public int getStatusCode() { return statusCode; }
+    public int getCompanyCode() { return companyCode; }
 
     public void setStatus(String status) {
-        this.status = status;
+        String oldStatus = getStatus();
+        this.statusCode = StringDictionary.STATUSES.encode(status);
+        notifyChanged(IEntityChangeListener.FIELD_STATUS, oldStatus);
     }
 
     public void setVisible(boolean visible) {
+        boolean wasVisible = this.isVisible;
         this.isVisible = visible;
+        notifyChanged(IEntityChangeListener.FIELD_VISIBLE, wasVisible);
+    }
+    /**
+     * Attaches the listener that is told about every change to this internship.
+     * <p>
+     * Called by the owning repository when the internship is added. Every state transition
+     * below reports through it, including the implicit "Filled"/"Approved" flips caused
+     * by slot changes.
+     * </p>
+     *
+     * @param changeListener The listener, or {@code null} to detach.
+     */
+    public void setChangeListener(IEntityChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    private void notifyChanged(String field, Object oldValue) {
+        if (changeListener != null && !Objects.equals(oldValue, currentValue(field))) {
+            changeListener.onInternshipChanged(this, field, oldValue);
+        }
+    }
+
+    private Object currentValue(String field) {
+        switch (field) {
+            case IEntityChangeListener.FIELD_STATUS: return getStatus();
+            case IEntityChangeListener.FIELD_VISIBLE: return isVisible;
+            case IEntityChangeListener.FIELD_CONFIRMED_SLOTS: return confirmedSlots;
+            default: return null;
+        }
     }
     /**
      * Checks if there are vacancy slots available.
@@ -83,17 +129,31 @@ public class Internship {
     public void incrementConfirmedSlots() {
         if (hasAvailableSlots()) {
             confirmedSlots++;
+            notifyChanged(IEntityChangeListener.FIELD_CONFIRMED_SLOTS, confirmedSlots - 1);
             if (confirmedSlots >= totalSlots) {
-                status = "Filled";
+                setStatus("Filled");
             }
         }
     }
 
+    /**
+     * Restores the confirmed slot count from persisted state (recovery only).
+     * Unlike {@link #incrementConfirmedSlots()}, it does not touch the status.
+     *
+     * @param confirmedSlots The persisted count.
+     */
+    void restoreConfirmedSlots(int confirmedSlots) {
+        int oldSlots = this.confirmedSlots;
+        this.confirmedSlots = confirmedSlots;
+        notifyChanged(IEntityChangeListener.FIELD_CONFIRMED_SLOTS, oldSlots);
+    }
+
     public void decrementConfirmedSlots() {
         if (confirmedSlots > 0) {
             confirmedSlots--;
-            if ("Filled".equals(status)) {
-                status = "Approved";
+            notifyChanged(IEntityChangeListener.FIELD_CONFIRMED_SLOTS, confirmedSlots + 1);
+            if (statusCode == StringDictionary.STATUS_FILLED) {
+                setStatus("Approved");
             }
         }
     }
@@ -104,7 +164,15 @@ public class Internship {
      * @param status    The new status (e.g., "Pending", "Approved", "Withdrawn").
      */
     public void setStudentStatus(String studentID, String status) {
-        statusByStudent.put(studentID, status);
+        status = StringDictionary.STATUSES.canonical(status);
+        String oldStatus = statusByStudent.put(studentID, status);
+        if (!status.equals(oldStatus)) {
+            statusView = null;
+        }
+        if (changeListener != null && !status.equals(oldStatus)) {
+            changeListener.onApplicationChanged(this, studentID,
+                    oldStatus != null ? oldStatus : "Not Applied", status);
+        }
     }
 
     public String getStudentStatus(String studentID) {
@@ -114,6 +182,23 @@ public class Internship {
     public Map<String, String> getAllStudentStatuses() {
         return new HashMap<>(statusByStudent);
     }
+    /**
+     * Read-only counterpart of {@link #getAllStudentStatuses()} for listing loops.
+     * <p>
+     * The same immutable copy is returned until an application status changes, so repeated menu renders
+     * do not allocate a new map each time. Because it is a copy, callers may change statuses while iterating it.
+     * </p>
+     *
+     * @return An unmodifiable map of student ID to application status.
+     */
+    public Map<String, String> viewStudentStatuses() {
+        Map<String, String> view = statusView;
+        if (view == null) {
+            view = Collections.unmodifiableMap(new HashMap<>(statusByStudent));
+            statusView = view;
+        }
+        return view;
+    }
     /**
      * Initiates a withdrawal request for a student.
      * Stores the reason for withdrawal and updates status to "Pending Withdrawal".
@@ -122,14 +207,15 @@ public class Internship {
      * @param reason    The reason provided for withdrawal.
      */
     public void requestWithdrawal(String studentID, String reason) {
-        setStudentStatus(studentID, "Pending Withdrawal");
+        // Store the reason first so listeners see it together with the new status
         withdrawalReasons.put(studentID, reason != null ? reason : "No reason provided");
+        setStudentStatus(studentID, "Pending Withdrawal");
     }
 
     public boolean approveWithdrawal(String studentID) {
         if ("Pending Withdrawal".equals(getStudentStatus(studentID))) {
-            setStudentStatus(studentID, "Withdrawn");
             withdrawalReasons.remove(studentID);
+            setStudentStatus(studentID, "Withdrawn");
             decrementConfirmedSlots();
             return true;
         }
@@ -138,8 +224,8 @@ public class Internship {
 
     public boolean rejectWithdrawal(String studentID) {
         if ("Pending Withdrawal".equals(getStudentStatus(studentID))) {
-            setStudentStatus(studentID, "Confirmed");
             withdrawalReasons.remove(studentID);
+            setStudentStatus(studentID, "Confirmed");
             return true;
         }
         return false;
@@ -0,0 +1,185 @@
+import java.util.*;
+/**
+ * Compressed bitmaps of the internships per status, level, preferred major, company and representative.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A <b>Derived Index</b> fed by {@link IEntityChangeListener} events, like {@link EligibilityIndex}. Every
+ * internship is numbered once, in first-seen order, and the ordinal is added to one {@link CompressedBitmap}
+ * per attribute value ({@link StringDictionary} code). {@link InternshipFilterChain#execute()} asks each
+ * filter for its bitmap via {@link IInternshipFilter#select} and intersects them before any
+ * {@link Internship} object is read. An ordinal maps back to an internship ID, never to the object, so the
+ * index pins no internships and callers resolve the survivors through the repository, getting its current
+ * instance. Level, major, company and owner never change after posting; a status
+ * change moves the ordinal between two status bitmaps and a visibility change updates the hidden bitmap.
+ * </p>
+ * <p>
+ * <b>Statistics:</b> The bitmap cardinalities double as exact per-value counts, and a histogram of closing
+ * days counts any date range. {@link InternshipQueryPlanner} estimates the selectivity of each criterion
+ * from them.
+ * </p>
+ * <p>
+ * <b>Thread Safety:</b> Updates synchronize on the index. The bitmaps it hands out are live, so readers
+ * hold the same lock while using them, as {@link InternshipFilterChain} does.
+ * </p>
+ */
+public class InternshipBitmapIndex implements IEntityChangeListener {
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    private final Map<String, Integer> ordinalByID = new HashMap<>();
+    // Per ordinal: the ID, and what add() needs to unindex a superseded instance
+    private final List<String> idByOrdinal = new ArrayList<>();
+    private final List<String> representativeByOrdinal = new ArrayList<>();
+    private final List<Integer> closingDayByOrdinal = new ArrayList<>();
+    private CompressedBitmap all = new CompressedBitmap();
+    private final Map<Integer, CompressedBitmap> byStatus = new HashMap<>();
+    private final Map<Integer, CompressedBitmap> byLevel = new HashMap<>();
+    private final Map<Integer, CompressedBitmap> byMajor = new HashMap<>();
+    private final Map<Integer, CompressedBitmap> byCompany = new HashMap<>();
+    private final Map<String, CompressedBitmap> byRepresentative = new HashMap<>();
+    private CompressedBitmap hidden = new CompressedBitmap();
+    private final NavigableMap<Integer, Integer> closingDayCounts = new TreeMap<>();
+    /**
+     * Replaces the contents with the given internships. Called once after the initial load, before the
+     * index is subscribed to change events.
+     *
+     * @param internships Every internship in the system.
+     */
+    public synchronized void rebuild(Iterable<Internship> internships) {
+        ordinalByID.clear();
+        idByOrdinal.clear();
+        representativeByOrdinal.clear();
+        closingDayByOrdinal.clear();
+        byStatus.clear();
+        byLevel.clear();
+        byMajor.clear();
+        byCompany.clear();
+        byRepresentative.clear();
+        closingDayCounts.clear();
+        all = new CompressedBitmap();
+        hidden = new CompressedBitmap();
+        for (Internship internship : internships) {
+            add(internship);
+        }
+    }
+
+    // ===== IEntityChangeListener =====
+
+    @Override
+    public synchronized void onInternshipAdded(Internship internship) {
+        add(internship);
+    }
+
+    @Override
+    public synchronized void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        Integer ordinal = ordinalByID.get(internship.getInternshipID());
+        if (ordinal != null && IEntityChangeListener.FIELD_STATUS.equals(field)) {
+            bitmap(byStatus, StringDictionary.STATUSES.lookup((String) oldValue)).remove(ordinal);
+            entry(byStatus, internship.getStatusCode()).add(ordinal);
+        } else if (ordinal != null && IEntityChangeListener.FIELD_VISIBLE.equals(field)) {
+            setHidden(ordinal, !internship.isVisible());
+        }
+    }
+
+    // ===== Queries (call while holding the index's lock) =====
+
+    public synchronized CompressedBitmap all() {
+        return all;
+    }
+    /**
+     * @param code A {@link StringDictionary#STATUSES} code.
+     * @return The ordinals of the internships with that status; empty for an unknown code.
+     */
+    public synchronized CompressedBitmap status(int code) {
+        return bitmap(byStatus, code);
+    }
+
+    public synchronized CompressedBitmap level(int code) {
+        return bitmap(byLevel, code);
+    }
+
+    public synchronized CompressedBitmap major(int code) {
+        return bitmap(byMajor, code);
+    }
+
+    public synchronized CompressedBitmap company(int code) {
+        return bitmap(byCompany, code);
+    }
+
+    public synchronized CompressedBitmap representative(String repID) {
+        return byRepresentative.getOrDefault(repID, EMPTY);
+    }
+    /**
+     * @return The ordinals of the internships hidden from students.
+     */
+    public synchronized CompressedBitmap hidden() {
+        return hidden;
+    }
+    /**
+     * @param from First closing epoch day included.
+     * @param to   Last closing epoch day included.
+     * @return The number of internships closing in the range.
+     */
+    public synchronized int countClosingBetween(int from, int to) {
+        int count = 0;
+        for (int days : closingDayCounts.subMap(from, true, to, true).values()) {
+            count += days;
+        }
+        return count;
+    }
+    /**
+     * @param ordinal A value taken from one of this index's bitmaps.
+     * @return The ID of the internship it stands for.
+     */
+    public synchronized String getID(int ordinal) {
+        return idByOrdinal.get(ordinal);
+    }
+
+    public synchronized int size() {
+        return idByOrdinal.size();
+    }
+
+    private void add(Internship internship) {
+        Integer ordinal = ordinalByID.get(internship.getInternshipID());
+        if (ordinal == null) {
+            ordinal = idByOrdinal.size();
+            idByOrdinal.add(internship.getInternshipID());
+            representativeByOrdinal.add(internship.getRepresentativeID());
+            closingDayByOrdinal.add(internship.getClosingDay());
+            ordinalByID.put(internship.getInternshipID(), ordinal);
+            all.add(ordinal);
+        } else {
+            // A re-added ID (e.g. replayed from the log) supersedes the earlier instance
+            for (Map<Integer, CompressedBitmap> index : Arrays.asList(byStatus, byLevel, byMajor, byCompany)) {
+                for (CompressedBitmap bitmap : index.values()) {
+                    bitmap.remove(ordinal);
+                }
+            }
+            representative(representativeByOrdinal.set(ordinal, internship.getRepresentativeID())).remove(ordinal);
+            closingDayCounts.merge(closingDayByOrdinal.set(ordinal, internship.getClosingDay()), -1,
+                    (a, b) -> a + b == 0 ? null : a + b);
+        }
+        entry(byStatus, internship.getStatusCode()).add(ordinal);
+        entry(byLevel, internship.getLevelCode()).add(ordinal);
+        entry(byMajor, internship.getPreferredMajorCode()).add(ordinal);
+        entry(byCompany, internship.getCompanyCode()).add(ordinal);
+        byRepresentative.computeIfAbsent(internship.getRepresentativeID(), r -> new CompressedBitmap()).add(ordinal);
+        closingDayCounts.merge(internship.getClosingDay(), 1, Integer::sum);
+        setHidden(ordinal, !internship.isVisible());
+    }
+
+    private void setHidden(int ordinal, boolean isHidden) {
+        if (isHidden) {
+            hidden.add(ordinal);
+        } else {
+            hidden.remove(ordinal);
+        }
+    }
+
+    private static CompressedBitmap entry(Map<Integer, CompressedBitmap> index, int code) {
+        return index.computeIfAbsent(code, c -> new CompressedBitmap());
+    }
+
+    private static CompressedBitmap bitmap(Map<Integer, CompressedBitmap> index, int code) {
+        return index.getOrDefault(code, EMPTY);
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * A Composite Filter implementation that allows chaining multiple filters together.
  * <p>
@@ -6,15 +7,40 @@ import java.util.*;
  * to filtering. It holds a list of {@link IInternshipFilter} objects and applies
  * them sequentially. An internship must pass <b>all</b> filters in the chain to be included in the result.
  * </p>
+ * <p>
+ * <b>Bitmap Execution:</b> A chain created with an {@link InternshipBitmapIndex} can also run over the whole
+ * catalog with {@link #execute()}. Filters with index support contribute a {@link CompressedBitmap}; these
+ * are intersected smallest first, and only the surviving IDs are resolved through the repository and passed
+ * through the remaining, unindexed filters.
+ * </p>
+ * <p>
+ * <b>Fused Execution:</b> {@link #run} tests every filter's {@link IInternshipFilter#asPredicate()} in one
+ * pass over the input and collects the survivors into a single list, which is then sorted and cut to the
+ * limit in place. {@link #filter} builds one intermediate list per filter; {@code run} builds one in total
+ * when every filter has a predicate form.
+ * </p>
  */
 // Open-Closed Principle - can add new filters without modifying existing code
 public class InternshipFilterChain implements IInternshipFilter {
     private final List<IInternshipFilter> filters;
+    private final InternshipBitmapIndex index;
+    private final IInternshipRepository repository;
     /**
      * Initializes an empty filter chain.
      */
     public InternshipFilterChain() {
+        this(null, null);
+    }
+    /**
+     * Initializes an empty filter chain that can also {@link #execute()} against a bitmap index.
+     *
+     * @param index      Bitmap index of the catalog, or {@code null} for list filtering only.
+     * @param repository The repository the index was built from; resolves the IDs that {@link #execute()} selects.
+     */
+    public InternshipFilterChain(InternshipBitmapIndex index, IInternshipRepository repository) {
         this.filters = new ArrayList<>();
+        this.index = index;
+        this.repository = repository;
     }
     /**
      * Adds a new filter to the chain.
@@ -39,4 +65,145 @@ public class InternshipFilterChain implements IInternshipFilter {
         }
         return result;
     }
-}
\ No newline at end of file
+    /**
+     * Filters, sorts and limits in one pipeline.
+     * <p>
+     * Logic: The predicates of all fusable filters are tested together on each internship, so the input is
+     * read once and only the survivors are copied. Filters without a predicate form then run on that list.
+     * Without a sorter the pass stops as soon as {@code limit} internships have been kept; with one the
+     * whole match is sorted and the tail beyond {@code limit} dropped.
+     * </p>
+     *
+     * @param internships The initial list of internships; not modified.
+     * @param sorter      Order of the result, or {@code null} to keep the input order.
+     * @param limit       Maximum number of internships returned.
+     * @return A new list of the internships that satisfy ALL criteria.
+     */
+    public List<Internship> run(List<Internship> internships, IInternshipSorter sorter, int limit) {
+        List<Predicate<Internship>> predicates = new ArrayList<>();
+        List<IInternshipFilter> unfused = new ArrayList<>();
+        for (IInternshipFilter filter : filters) {
+            Predicate<Internship> predicate = filter.asPredicate();
+            if (predicate != null) {
+                predicates.add(predicate);
+            } else {
+                unfused.add(filter);
+            }
+        }
+        // Stopping early is only safe when no later step can drop or reorder what was kept
+        int stopAt = sorter == null && unfused.isEmpty() ? limit : Integer.MAX_VALUE;
+        Predicate<Internship> matches = fuse(predicates);
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : internships) {
+            if (result.size() >= stopAt) {
+                break;
+            }
+            if (matches.test(internship)) {
+                result.add(internship);
+            }
+        }
+        for (IInternshipFilter filter : unfused) {
+            result = filter.filter(result);
+        }
+        if (sorter != null) {
+            sorter.sort(result);
+        }
+        if (result.size() > limit) {
+            result.subList(limit, result.size()).clear();
+        }
+        return result;
+    }
+    /**
+     * A nested chain can be fused when every filter in it can.
+     */
+    @Override
+    public Predicate<Internship> asPredicate() {
+        List<Predicate<Internship>> predicates = new ArrayList<>();
+        for (IInternshipFilter filter : filters) {
+            Predicate<Internship> predicate = filter.asPredicate();
+            if (predicate == null) {
+                return null;
+            }
+            predicates.add(predicate);
+        }
+        return fuse(predicates);
+    }
+    /**
+     * Runs the chain over every internship in the bitmap index.
+     * <p>
+     * Logic: The bitmaps of the indexed filters are intersected smallest first, so the work shrinks with
+     * each step and no {@link Internship} is touched until the intersection is known. The surviving IDs are
+     * then looked up in the repository, and filters without index support run as usual on that (already
+     * reduced) list.
+     * </p>
+     *
+     * @return The internships that satisfy ALL criteria, in the index's first-seen order.
+     * @throws IllegalStateException If the chain was created without a bitmap index and repository.
+     */
+    public List<Internship> execute() {
+        if (index == null || repository == null) {
+            throw new IllegalStateException("This filter chain has no bitmap index to execute against.");
+        }
+        List<String> ids;
+        List<IInternshipFilter> unindexed = new ArrayList<>();
+        synchronized (index) {
+            CompressedBitmap selected = select(index, unindexed);
+            List<String> selectedIDs = new ArrayList<>(selected.cardinality());
+            selected.forEach(ordinal -> selectedIDs.add(index.getID(ordinal)));
+            ids = selectedIDs;
+        }
+        List<Internship> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Internship internship = repository.getById(id);
+            if (internship != null) {
+                result.add(internship);
+            }
+        }
+        for (IInternshipFilter filter : unindexed) {
+            result = filter.filter(result);
+        }
+        return result;
+    }
+    /**
+     * A nested chain has index support when every filter in it has.
+     */
+    @Override
+    public CompressedBitmap select(InternshipBitmapIndex index) {
+        List<IInternshipFilter> unindexed = new ArrayList<>();
+        CompressedBitmap selected = select(index, unindexed);
+        return unindexed.isEmpty() ? selected : null;
+    }
+
+    private CompressedBitmap select(InternshipBitmapIndex index, List<IInternshipFilter> unindexed) {
+        List<CompressedBitmap> bitmaps = new ArrayList<>();
+        for (IInternshipFilter filter : filters) {
+            CompressedBitmap bitmap = filter.select(index);
+            if (bitmap != null) {
+                bitmaps.add(bitmap);
+            } else {
+                unindexed.add(filter);
+            }
+        }
+        if (bitmaps.isEmpty()) {
+            return index.all();
+        }
+        bitmaps.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+        CompressedBitmap selected = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && selected.cardinality() > 0; i++) {
+            selected = selected.and(bitmaps.get(i));
+        }
+        return selected;
+    }
+
+    private static Predicate<Internship> fuse(List<Predicate<Internship>> predicates) {
+        List<Predicate<Internship>> tests = new ArrayList<>(predicates);
+        return internship -> {
+            for (int i = 0; i < tests.size(); i++) {
+                if (!tests.get(i).test(internship)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+}
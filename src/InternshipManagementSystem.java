@@ -1,4 +1,6 @@
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The core orchestrator class for the Internship Management System (IMS).
@@ -32,6 +34,7 @@ public class InternshipManagementSystem {
     private final IOutputService outputService;
     private final MenuControllerFactory controllerFactory;
     private final Scanner scanner;
+    private SnapshotManager snapshotManager;
 
     /**
      * Constructs the System Orchestrator.
@@ -76,39 +79,128 @@ public class InternshipManagementSystem {
         this.scanner = scanner;
     }
     /**
-     * Loads the initial state of the application from external files.
+     * Enables crash recovery from snapshots and the write-ahead log.
+     *
+     * @param snapshotManager The manager to recover from, or {@code null} to always load from CSV.
+     */
+    public void setSnapshotManager(SnapshotManager snapshotManager) {
+        this.snapshotManager = snapshotManager;
+    }
+    /**
+     * Loads the initial state of the application.
      * <p>
      * <b>Initialization Sequence:</b>
-     * 1. Reads CSV files.
-     * 2. Populates the in-memory Repositories.
-     * 3. Registers User credentials with the AuthenticationService (Passwords).
+     * 1. If a snapshot exists, loads it (it already contains users, internships, applications and credentials).
+     *    Otherwise reads the CSV files, populates the Repositories and registers default credentials.
+     * 2. Replays the write-ahead log records written after the snapshot (the "tail").
+     * 3. Prints how long each phase took, so slow restarts can be attributed.
+     * </p>
+     * <p>
+     * A snapshot or log that exists but cannot be read is fatal: the repositories would hold only part of
+     * the saved state, and carrying on would overwrite the files with it on the next snapshot.
      * </p>
      *
      * @param studentFile    Path to student CSV.
      * @param companyRepFile Path to company rep CSV.
      * @param staffFile      Path to staff CSV.
+     * @return {@code false} if recovery failed; the caller must then stop without saving anything.
+     */
+    public boolean loadInitialData(String studentCSV, String companyCSV, String staffCSV) {
+        long start = System.nanoTime();
+        String baseLabel;
+        long baseRecords;
+
+        if (snapshotManager != null && snapshotManager.hasSnapshot()) {
+            baseLabel = "snapshot";
+            if (studentRepo instanceof LazyStudentRepository) {
+                // The snapshot holds only the changed students; the others come from the student file
+                ((LazyStudentRepository) studentRepo).loadIndex(studentCSV);
+            }
+            try {
+                baseRecords = snapshotManager.loadSnapshot();
+            } catch (IOException | RuntimeException e) {
+                outputService.displayError("Could not read snapshot (" + e.getMessage() + ")");
+                return false;
+            }
+        } else {
+            baseLabel = "data file";
+            baseRecords = loadFromDataFiles(studentCSV, companyCSV, staffCSV);
+        }
+        long baseDone = System.nanoTime();
+
+        long replayed = 0;
+        if (snapshotManager != null) {
+            try {
+                replayed = snapshotManager.replayLog();
+            } catch (IOException e) {
+                outputService.displayError("Could not replay write-ahead log (" + e.getMessage() + ")");
+                return false;
+            }
+        }
+        long end = System.nanoTime();
+
+        outputService.displayMessage(String.format(
+                "Startup: %s load %.1f ms (%d records) | log replay %.1f ms (%d records) | total %.1f ms",
+                baseLabel, (baseDone - start) / 1e6, baseRecords,
+                (end - baseDone) / 1e6, replayed, (end - start) / 1e6));
+        if (snapshotManager != null && snapshotManager.getSkippedRecords() > 0) {
+            outputService.displayError("Skipped " + snapshotManager.getSkippedRecords() + " unreadable recovery records.");
+        }
+        outputService.displayMessage("Data loaded successfully!");
+        return true;
+    }
+
+    /**
+     * Loads the three user files concurrently, so boot takes as long as the largest file rather than
+     * the sum. Each source fills its own repository and registers its IDs in one bulk call.
      */
-    public void loadInitialData(String studentCSV, String companyCSV, String staffCSV) {
-        List<Student> students = dataLoader.loadStudents(studentCSV);
-        for (Student s : students) {
-            studentRepo.add(s);
-            authService.registerUser(s.getUserID(), "password");
+    private long loadFromDataFiles(String studentCSV, String companyCSV, String staffCSV) {
+        CompletableFuture<Integer> students = CompletableFuture.supplyAsync(() -> loadStudents(studentCSV));
+        CompletableFuture<Integer> reps = CompletableFuture.supplyAsync(() -> loadCompanyReps(companyCSV));
+        CompletableFuture<Integer> staff = CompletableFuture.supplyAsync(() -> loadStaff(staffCSV));
+        return (long) students.join() + reps.join() + staff.join();
+    }
+
+    private int loadStudents(String studentCSV) {
+        List<String> studentIDs;
+        if (studentRepo instanceof LazyStudentRepository) {
+            // Only the ID index is built; each student is read from the file when first used
+            studentIDs = ((LazyStudentRepository) studentRepo).loadIndex(studentCSV);
+        } else {
+            List<Student> students = dataLoader.loadStudents(studentCSV);
+            studentRepo.addAll(students);
+            studentIDs = new ArrayList<>(students.size());
+            for (Student s : students) {
+                studentIDs.add(s.getUserID());
+            }
         }
+        authService.registerUsers(studentIDs, IAuthenticationService.DEFAULT_PASSWORD);
+        return studentIDs.size();
+    }
 
+    private int loadCompanyReps(String companyCSV) {
         List<CompanyRepresentative> reps = dataLoader.loadCompanyReps(companyCSV);
+        companyRepo.addAll(reps);
+        List<String> repIDs = new ArrayList<>(reps.size());
+        for (CompanyRepresentative r : reps) {
+            repIDs.add(r.getUserID());
+        }
+        authService.registerUsers(repIDs, IAuthenticationService.DEFAULT_PASSWORD);
         for (CompanyRepresentative r : reps) {
-            companyRepo.add(r);
-            authService.registerUser(r.getUserID(), "password");
             authService.registerEmail(r.getEmail(), r.getUserID());
         }
+        return reps.size();
+    }
 
+    private int loadStaff(String staffCSV) {
         List<CareerCenterStaff> staff = dataLoader.loadStaff(staffCSV);
+        staffRepo.addAll(staff);
+        List<String> staffIDs = new ArrayList<>(staff.size());
         for (CareerCenterStaff s : staff) {
-            staffRepo.add(s);
-            authService.registerUser(s.getUserID(), "password");
+            staffIDs.add(s.getUserID());
         }
-
-        outputService.displayMessage("Data loaded successfully!");
+        authService.registerUsers(staffIDs, IAuthenticationService.DEFAULT_PASSWORD);
+        return staff.size();
     }
     /**
      * Starts the main application loop.
@@ -245,7 +337,7 @@ public class InternshipManagementSystem {
         outputService.displayMessage("Enter password:");
         String password = scanner.nextLine();
 
-        String id = "CR" + (companyRepo.getAll().size() + 1);
+        String id = "CR" + (companyRepo.viewAll().size() + 1);
         CompanyRepresentative rep = new CompanyRepresentative(id, name, company, dept, position, email);
 
         companyRepo.add(rep);
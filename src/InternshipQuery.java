@@ -0,0 +1,284 @@
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Predicate;
+/**
+ * Criteria for {@link IInternshipRepository#query}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a <b>Query Object</b> of the <b>Repository Layer</b>. The menu controllers describe which
+ * internships they want (e.g. approved, visible, Basic level) and the repository decides how to find them:
+ * {@link InternshipRepository} narrows the candidates by representative, company prefix or closing date and
+ * tests the other criteria on them (scanning the catalog when none of those three is set),
+ * {@link JdbcInternshipRepository} runs an indexed SQL query, and other repositories fall back to a scan with
+ * {@link #matches}. The menu listings go through {@link InternshipQueryPlanner}, which answers status, level,
+ * major, company and visibility from {@link InternshipBitmapIndex} instead.
+ * </p>
+ * <p>
+ * Text criteria compare ignoring case. A criterion that is {@code null} or {@code "all"} (the menus'
+ * "no filter" value) places no constraint.
+ * </p>
+ * <p>
+ * Results come in no particular order unless {@link #orderByClosingDate()} or {@link #orderAlphabetically()}
+ * is requested; repositories with a closing-date index then return them in order without sorting the
+ * catalog. {@link InternshipQueryPlanner} additionally ranks keyword queries by relevance.
+ * </p>
+ */
+public class InternshipQuery {
+    private String status;
+    private String level;
+    private String preferredMajor;
+    private String companyName;
+    private String companyPrefix;
+    private String representativeID;
+    private Boolean visible;
+    private int closingFrom = Integer.MIN_VALUE;
+    private int closingTo = Integer.MAX_VALUE;
+    private boolean orderByClosingDate;
+    private boolean orderAlphabetically;
+    private String keywords;
+    private Student eligibleFor;
+    private int limit = Integer.MAX_VALUE;
+    /**
+     * @return A query that matches every internship until criteria are added.
+     */
+    public static InternshipQuery all() {
+        return new InternshipQuery();
+    }
+
+    public InternshipQuery status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public InternshipQuery level(String level) {
+        this.level = level;
+        return this;
+    }
+
+    public InternshipQuery preferredMajor(String preferredMajor) {
+        this.preferredMajor = preferredMajor;
+        return this;
+    }
+
+    public InternshipQuery companyName(String companyName) {
+        this.companyName = companyName;
+        return this;
+    }
+    /**
+     * Matches companies whose name starts with the given text, ignoring case and extra spaces, so "acme"
+     * finds "Acme Corp" and "ACME Labs". {@link InternshipRepository} answers it from its company-name trie.
+     *
+     * @param companyPrefix The start of the company name, or {@code null}/"all" for any company.
+     */
+    public InternshipQuery companyPrefix(String companyPrefix) {
+        this.companyPrefix = companyPrefix;
+        return this;
+    }
+    /**
+     * @param representativeID Owner of the postings (exact match), or {@code null} for any owner.
+     */
+    public InternshipQuery representativeID(String representativeID) {
+        this.representativeID = representativeID;
+        return this;
+    }
+
+    public InternshipQuery visible(boolean visible) {
+        this.visible = visible;
+        return this;
+    }
+
+    /**
+     * Restricts the closing date to an inclusive range, e.g. "closing in the next 7 days". Internships
+     * whose closing date cannot be parsed never match a range.
+     *
+     * @param from First closing date to include, or {@code null} for no lower bound.
+     * @param to   Last closing date to include, or {@code null} for no upper bound.
+     */
+    public InternshipQuery closingBetween(LocalDate from, LocalDate to) {
+        this.closingFrom = from != null ? EpochDays.of(from) : Integer.MIN_VALUE;
+        this.closingTo = to != null ? EpochDays.of(to) : EpochDays.UNKNOWN - 1;
+        return this;
+    }
+    /**
+     * Requests the result sorted by closing date, soonest first (unparseable dates last).
+     */
+    public InternshipQuery orderByClosingDate() {
+        this.orderByClosingDate = true;
+        this.orderAlphabetically = false;
+        return this;
+    }
+    /**
+     * Requests the result sorted by title, ignoring case.
+     */
+    public InternshipQuery orderAlphabetically() {
+        this.orderAlphabetically = true;
+        this.orderByClosingDate = false;
+        return this;
+    }
+    /**
+     * Matches internships whose title or description contains any of the keywords, split into words the
+     * way {@link InternshipSearchIndex} does.
+     *
+     * @param keywords Free text, or {@code null} for no keyword constraint.
+     */
+    public InternshipQuery keywords(String keywords) {
+        this.keywords = keywords;
+        return this;
+    }
+    /**
+     * Matches only the internships the student may apply for now: Approved, visible, with a free slot,
+     * for the student's major (or all majors) and, for years 1 and 2, at Basic level.
+     */
+    public InternshipQuery eligibleFor(Student student) {
+        this.eligibleFor = student;
+        return this;
+    }
+    /**
+     * Keeps only the first {@code limit} internships of the ordered result.
+     */
+    public InternshipQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public String getStatus() { return status; }
+    public String getLevel() { return level; }
+    public String getPreferredMajor() { return preferredMajor; }
+    public String getCompanyName() { return companyName; }
+    /** @return The normalized company-name prefix, or {@code null} when unconstrained. */
+    public String getCompanyPrefix() {
+        return companyPrefix == null || companyPrefix.equalsIgnoreCase("all") ? null : CompanyNameIndex.normalize(companyPrefix);
+    }
+    public String getRepresentativeID() { return representativeID; }
+    /** @return The required visibility, or {@code null} for either. */
+    public Boolean getVisible() { return visible; }
+    /** @return The first closing epoch day included. */
+    public int getClosingFrom() { return closingFrom; }
+    /** @return The last closing epoch day included. */
+    public int getClosingTo() { return closingTo; }
+    public boolean hasClosingRange() { return closingFrom != Integer.MIN_VALUE || closingTo != Integer.MAX_VALUE; }
+    public boolean isOrderedByClosingDate() { return orderByClosingDate; }
+    public boolean isOrderedAlphabetically() { return orderAlphabetically; }
+    /** @return The keyword text, or {@code null} when unconstrained. */
+    public String getKeywords() {
+        return keywords == null || keywords.trim().isEmpty() ? null : keywords;
+    }
+    /** @return The student whose eligibility is required, or {@code null}. */
+    public Student getEligibleFor() { return eligibleFor; }
+    public int getLimit() { return limit; }
+
+    // Dictionary codes of the text criteria, or StringDictionary.ANY when unconstrained
+    int statusCode() { return StringDictionary.STATUSES.filterCode(status); }
+    int levelCode() { return StringDictionary.LEVELS.filterCode(level); }
+    int preferredMajorCode() { return StringDictionary.MAJORS.filterCode(preferredMajor); }
+    int companyCode() { return StringDictionary.COMPANIES.filterCode(companyName); }
+    /**
+     * @return The codes of the known companies matching the prefix, or {@code null} when unconstrained.
+     * There are far fewer companies than internships, so the prefix is tested once per company.
+     */
+    BitSet companyPrefixCodes() {
+        String prefix = getCompanyPrefix();
+        if (prefix == null) {
+            return null;
+        }
+        BitSet codes = new BitSet();
+        for (int code = 0; code < StringDictionary.COMPANIES.size(); code++) {
+            if (CompanyNameIndex.normalize(StringDictionary.COMPANIES.decode(code)).startsWith(prefix)) {
+                codes.set(code);
+            }
+        }
+        return codes;
+    }
+    /**
+     * Resolves the criteria once into a test that only compares codes, for scanning many internships.
+     *
+     * @return A predicate that accepts the internships satisfying all criteria.
+     */
+    public Predicate<Internship> toPredicate() {
+        final int statusCode = statusCode();
+        final int levelCode = levelCode();
+        final int majorCode = preferredMajorCode();
+        final int companyCode = companyCode();
+        final BitSet companyCodes = companyPrefixCodes();
+        final String repID = representativeID;
+        final Boolean visibility = visible;
+        final int from = closingFrom;
+        final int to = closingTo;
+        final Predicate<Internship> eligible = eligibleFor != null ? eligibility(eligibleFor) : null;
+        final Predicate<Internship> matchesKeywords = getKeywords() != null ? keywordMatch(getKeywords()) : null;
+        return internship -> StringDictionary.matches(statusCode, internship.getStatusCode())
+                && StringDictionary.matches(levelCode, internship.getLevelCode())
+                && StringDictionary.matches(majorCode, internship.getPreferredMajorCode())
+                && StringDictionary.matches(companyCode, internship.getCompanyCode())
+                && (companyCodes == null || (internship.getCompanyCode() >= 0 && companyCodes.get(internship.getCompanyCode())))
+                && (repID == null || repID.equals(internship.getRepresentativeID()))
+                && (visibility == null || visibility == internship.isVisible())
+                && internship.getClosingDay() >= from && internship.getClosingDay() <= to
+                && (eligible == null || eligible.test(internship))
+                && (matchesKeywords == null || matchesKeywords.test(internship));
+    }
+    /**
+     * @return The eligibility rules of {@link #eligibleFor} as a predicate, resolved once for the student.
+     */
+    static Predicate<Internship> eligibility(Student student) {
+        final int major = student.getMajorCode();
+        final boolean basicOnly = student.getYearOfStudy() <= 2;
+        return internship -> internship.getStatusCode() == StringDictionary.STATUS_APPROVED
+                && internship.isVisible()
+                && internship.hasAvailableSlots()
+                && (internship.getPreferredMajorCode() == major || internship.getPreferredMajorCode() == StringDictionary.MAJOR_ALL)
+                && (!basicOnly || internship.getLevelCode() == StringDictionary.LEVEL_BASIC);
+    }
+    /**
+     * @return A predicate accepting internships whose title or description contains any of the keywords.
+     */
+    static Predicate<Internship> keywordMatch(String keywords) {
+        final Set<String> words = new HashSet<>(InternshipSearchIndex.tokenize(keywords));
+        return internship -> containsAny(internship.getTitle(), words) || containsAny(internship.getDescription(), words);
+    }
+
+    private static boolean containsAny(String text, Set<String> words) {
+        for (String word : InternshipSearchIndex.tokenize(text)) {
+            if (words.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean matches(Internship internship) {
+        return toPredicate().test(internship);
+    }
+    /**
+     * Applies the requested ordering and limit to a result that was collected in no particular order.
+     * Repositories that cannot serve the order from an index call this last.
+     *
+     * @param result The matching internships; sorted in place.
+     * @return The same list, or its first {@link #getLimit()} elements.
+     */
+    public List<Internship> order(List<Internship> result) {
+        if (orderByClosingDate) {
+            result.sort(new ClosingDateSorter());
+        } else if (orderAlphabetically) {
+            result.sort(new AlphabeticalSorter());
+        }
+        return truncate(result);
+    }
+    /**
+     * @return The first {@link #getLimit()} elements of an already ordered result.
+     */
+    public List<Internship> truncate(List<Internship> result) {
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+    /**
+     * @return A query with only this query's closing-date range, ordered by closing date. Used by
+     * {@link InternshipQueryPlanner} to drive a plan from a repository's date index.
+     */
+    InternshipQuery closingRangeOnly() {
+        InternshipQuery range = new InternshipQuery();
+        range.closingFrom = closingFrom;
+        range.closingTo = closingTo;
+        range.orderByClosingDate = true;
+        return range;
+    }
+}
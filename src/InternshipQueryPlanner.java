@@ -0,0 +1,315 @@
+import java.util.*;
+import java.util.function.Predicate;
+/**
+ * Cost-based planner that answers the internship listings of all menu controllers.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class sits in the <b>Repository Layer</b>, above {@link IInternshipRepository} and the derived indexes.
+ * For each {@link InternshipQuery} it estimates how many internships every applicable access path would
+ * read, using the per-value counts of the {@link InternshipBitmapIndex}, the posting list lengths of the
+ * {@link InternshipSearchIndex} and the eligible-set size of the {@link EligibilityIndex}:
+ * <ul>
+ * <li><b>scan</b> reads every internship;</li>
+ * <li><b>bitmaps</b> reads the intersection of the status, level, major, company, owner and hidden bitmaps,
+ * estimated by assuming the criteria are independent;</li>
+ * <li><b>keywords</b> reads the postings of the keywords;</li>
+ * <li><b>closing dates</b> reads the internships in the closing-date range, already in date order;</li>
+ * <li><b>eligibility</b> reads the internships a student may apply for.</li>
+ * </ul>
+ * The plan is driven from the cheapest path. The criteria that path does not guarantee are then tested
+ * most selective first, so most rejected internships fail on their first test.
+ * </p>
+ * <p>
+ * <b>Ordering:</b> Results are sorted as the query asks. A keyword query without a sort order is ranked by
+ * relevance, which only the keyword path knows, so it is always driven from there. When no sort is needed
+ * the limit stops the plan early.
+ * </p>
+ */
+public class InternshipQueryPlanner {
+    private final IInternshipRepository internshipRepo;
+    private final InternshipBitmapIndex bitmaps;
+    private final InternshipSearchIndex searchIndex;
+    private final EligibilityIndex eligibility;
+    /**
+     * @param internshipRepo Source of the internships and of closing-date ranges.
+     * @param bitmaps        Per-value bitmaps and counts of the catalog.
+     * @param searchIndex    Keyword index over titles and descriptions.
+     * @param eligibility    Bitmaps of the internships open to each student.
+     */
+    public InternshipQueryPlanner(IInternshipRepository internshipRepo, InternshipBitmapIndex bitmaps,
+                                  InternshipSearchIndex searchIndex, EligibilityIndex eligibility) {
+        this.internshipRepo = internshipRepo;
+        this.bitmaps = bitmaps;
+        this.searchIndex = searchIndex;
+        this.eligibility = eligibility;
+    }
+    /**
+     * Plans and runs a query.
+     *
+     * @param query The criteria, sort order and limit.
+     * @return The matching internships in the requested order.
+     */
+    public List<Internship> list(InternshipQuery query) {
+        return execute(plan(query), query);
+    }
+    /**
+     * @return A one-line description of the plan chosen for {@code query}, e.g. for diagnostics.
+     */
+    public String explain(InternshipQuery query) {
+        return plan(query).toString();
+    }
+
+    enum AccessPath { SCAN, BITMAPS, KEYWORDS, CLOSING_DATES, ELIGIBILITY }
+    /**
+     * One criterion of a query with its estimated selectivity (fraction of the catalog it keeps).
+     */
+    private static final class Criterion {
+        final String name;
+        final double selectivity;
+        final Predicate<Internship> test;
+        final CompressedBitmap bitmap; // non-null when the bitmap path can answer it
+        final AccessPath path;         // the other path that guarantees it, if any
+
+        Criterion(String name, double selectivity, Predicate<Internship> test, CompressedBitmap bitmap, AccessPath path) {
+            this.name = name;
+            this.selectivity = selectivity;
+            this.test = test;
+            this.bitmap = bitmap;
+            this.path = path;
+        }
+
+        boolean coveredBy(AccessPath driver) {
+            return driver == AccessPath.BITMAPS ? bitmap != null : driver == path;
+        }
+    }
+
+    static final class Plan {
+        final AccessPath driver;
+        final long estimatedRows;
+        final List<Criterion> residual;
+
+        Plan(AccessPath driver, long estimatedRows, List<Criterion> residual) {
+            this.driver = driver;
+            this.estimatedRows = estimatedRows;
+            this.residual = residual;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(driver.name().toLowerCase(Locale.ROOT).replace('_', ' '))
+                    .append(" (~").append(estimatedRows).append(" rows)");
+            for (Criterion criterion : residual) {
+                text.append(", then ").append(criterion.name)
+                        .append(String.format(Locale.ROOT, " (%.3f)", criterion.selectivity));
+            }
+            return text.toString();
+        }
+    }
+
+    Plan plan(InternshipQuery query) {
+        int total = Math.max(1, bitmaps.size());
+        List<Criterion> criteria = criteria(query, total);
+
+        // Candidate drivers and the rows each would read
+        Map<AccessPath, Long> costs = new EnumMap<>(AccessPath.class);
+        double bitmapRows = total;
+        boolean anyBitmap = false;
+        for (Criterion criterion : criteria) {
+            if (criterion.bitmap != null) {
+                bitmapRows *= criterion.selectivity;
+                anyBitmap = true;
+            }
+        }
+        if (anyBitmap) {
+            costs.put(AccessPath.BITMAPS, (long) Math.ceil(bitmapRows));
+        }
+        if (query.getEligibleFor() != null) {
+            costs.put(AccessPath.ELIGIBILITY, (long) eligibility.countEligible(query.getEligibleFor(), query.getLevel()));
+        }
+        if (query.hasClosingRange()) {
+            costs.put(AccessPath.CLOSING_DATES, (long) bitmaps.countClosingBetween(query.getClosingFrom(), query.getClosingTo()));
+        }
+        if (query.getKeywords() != null) {
+            costs.put(AccessPath.KEYWORDS, (long) searchIndex.estimate(query.getKeywords()));
+        }
+        costs.put(AccessPath.SCAN, (long) total);
+
+        AccessPath driver = null;
+        if (query.getKeywords() != null && !query.isOrderedByClosingDate() && !query.isOrderedAlphabetically()) {
+            driver = AccessPath.KEYWORDS; // relevance order
+        } else {
+            for (Map.Entry<AccessPath, Long> cost : costs.entrySet()) {
+                if (driver == null || cost.getValue() < costs.get(driver)) {
+                    driver = cost.getKey();
+                }
+            }
+        }
+
+        List<Criterion> residual = new ArrayList<>();
+        for (Criterion criterion : criteria) {
+            if (!criterion.coveredBy(driver)) {
+                residual.add(criterion);
+            }
+        }
+        residual.sort(Comparator.comparingDouble(c -> c.selectivity));
+        return new Plan(driver, costs.get(driver), residual);
+    }
+
+    private List<Criterion> criteria(InternshipQuery query, int total) {
+        List<Criterion> criteria = new ArrayList<>();
+        int status = query.statusCode();
+        if (status != StringDictionary.ANY) {
+            CompressedBitmap bitmap = bitmaps.status(status);
+            criteria.add(new Criterion("status", fraction(bitmap.cardinality(), total),
+                    i -> i.getStatusCode() == status, bitmap, null));
+        }
+        int level = query.levelCode();
+        if (level != StringDictionary.ANY) {
+            CompressedBitmap bitmap = bitmaps.level(level);
+            // The eligibility path filters by level as well
+            criteria.add(new Criterion("level", fraction(bitmap.cardinality(), total),
+                    i -> i.getLevelCode() == level, bitmap, AccessPath.ELIGIBILITY));
+        }
+        int major = query.preferredMajorCode();
+        if (major != StringDictionary.ANY) {
+            CompressedBitmap bitmap = bitmaps.major(major);
+            criteria.add(new Criterion("major", fraction(bitmap.cardinality(), total),
+                    i -> i.getPreferredMajorCode() == major, bitmap, null));
+        }
+        int company = query.companyCode();
+        if (company != StringDictionary.ANY) {
+            CompressedBitmap bitmap = bitmaps.company(company);
+            criteria.add(new Criterion("company", fraction(bitmap.cardinality(), total),
+                    i -> i.getCompanyCode() == company, bitmap, null));
+        }
+        BitSet companies = query.companyPrefixCodes();
+        if (companies != null) {
+            int matching = 0;
+            for (int code = companies.nextSetBit(0); code >= 0; code = companies.nextSetBit(code + 1)) {
+                matching += bitmaps.company(code).cardinality();
+            }
+            criteria.add(new Criterion("company prefix", fraction(matching, total),
+                    i -> i.getCompanyCode() >= 0 && companies.get(i.getCompanyCode()), null, null));
+        }
+        String repID = query.getRepresentativeID();
+        if (repID != null) {
+            CompressedBitmap bitmap = bitmaps.representative(repID);
+            criteria.add(new Criterion("owner", fraction(bitmap.cardinality(), total),
+                    i -> repID.equals(i.getRepresentativeID()), bitmap, null));
+        }
+        Boolean visible = query.getVisible();
+        if (visible != null) {
+            int hidden = bitmaps.hidden().cardinality();
+            criteria.add(new Criterion("visibility", fraction(visible ? total - hidden : hidden, total),
+                    i -> i.isVisible() == visible, visible ? null : bitmaps.hidden(), null));
+        }
+        if (query.hasClosingRange()) {
+            int from = query.getClosingFrom();
+            int to = query.getClosingTo();
+            criteria.add(new Criterion("closing date", fraction(bitmaps.countClosingBetween(from, to), total),
+                    i -> i.getClosingDay() >= from && i.getClosingDay() <= to, null, AccessPath.CLOSING_DATES));
+        }
+        Student student = query.getEligibleFor();
+        if (student != null) {
+            criteria.add(new Criterion("eligibility", fraction(eligibility.countEligible(student, null), total),
+                    InternshipQuery.eligibility(student), null, AccessPath.ELIGIBILITY));
+        }
+        String keywords = query.getKeywords();
+        if (keywords != null) {
+            // Matching text is far dearer than comparing codes; rank it behind the cheap tests of similar selectivity
+            criteria.add(new Criterion("keywords", Math.min(1.0, fraction(searchIndex.estimate(keywords), total) * 4),
+                    InternshipQuery.keywordMatch(keywords), null, AccessPath.KEYWORDS));
+        }
+        return criteria;
+    }
+
+    private List<Internship> execute(Plan plan, InternshipQuery query) {
+        boolean sorted = query.isOrderedAlphabetically()
+                || (query.isOrderedByClosingDate() && plan.driver != AccessPath.CLOSING_DATES);
+        // Without a sort still to come, the driver's order is final and the limit can stop the plan early
+        int stopAt = sorted ? Integer.MAX_VALUE : query.getLimit();
+
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : candidates(plan.driver, query)) {
+            if (internship != null && passes(internship, plan.residual)) {
+                result.add(internship);
+                if (result.size() >= stopAt) {
+                    break;
+                }
+            }
+        }
+        if (query.isOrderedAlphabetically()) {
+            result.sort(new AlphabeticalSorter());
+        } else if (sorted) {
+            result.sort(new ClosingDateSorter());
+        }
+        return query.truncate(result);
+    }
+
+    private static boolean passes(Internship internship, List<Criterion> residual) {
+        for (Criterion criterion : residual) {
+            if (!criterion.test.test(internship)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Iterable<Internship> candidates(AccessPath driver, InternshipQuery query) {
+        switch (driver) {
+            case BITMAPS:
+                return byID(bitmapIDs(query));
+            case KEYWORDS:
+                return byID(searchIndex.search(query.getKeywords()));
+            case CLOSING_DATES:
+                return internshipRepo.query(query.closingRangeOnly());
+            case ELIGIBILITY:
+                return byID(eligibility.getEligibleIDs(query.getEligibleFor(), query.getLevel()));
+            default:
+                return internshipRepo.viewAll();
+        }
+    }
+    /**
+     * Intersects the bitmaps of the query's criteria, smallest first, and lists the surviving IDs.
+     */
+    private List<String> bitmapIDs(InternshipQuery query) {
+        synchronized (bitmaps) {
+            List<CompressedBitmap> selected = new ArrayList<>();
+            for (Criterion criterion : criteria(query, Math.max(1, bitmaps.size()))) {
+                if (criterion.bitmap != null) {
+                    selected.add(criterion.bitmap);
+                }
+            }
+            selected.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            CompressedBitmap both = selected.get(0);
+            for (int i = 1; i < selected.size() && both.cardinality() > 0; i++) {
+                both = both.and(selected.get(i));
+            }
+            List<String> ids = new ArrayList<>(both.cardinality());
+            both.forEach(ordinal -> ids.add(bitmaps.getID(ordinal)));
+            return ids;
+        }
+    }
+    /**
+     * Resolves IDs lazily through the repository, so a plan that stops at its limit fetches no more.
+     */
+    private Iterable<Internship> byID(List<String> ids) {
+        return () -> new Iterator<Internship>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.size();
+            }
+
+            @Override
+            public Internship next() {
+                return internshipRepo.getById(ids.get(next++));
+            }
+        };
+    }
+
+    private static double fraction(long count, int total) {
+        return Math.min(1.0, (double) count / total);
+    }
+}
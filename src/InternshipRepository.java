@@ -1,22 +1,64 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * Repository specifically for managing {@link Internship} objects.
  * <p>
  * Extends the basic CRUD functionality with domain-specific queries, such as
  * retrieving all internships created by a specific Company Representative.
  * </p>
+ * <p>
+ * <b>Secondary Indexes:</b> Besides the ID map, the repository indexes internships by representative, which
+ * serves {@link #getByRepresentativeID}. Status, level, major, company and visibility are answered by
+ * {@link InternshipBitmapIndex} through {@link InternshipQueryPlanner}; {@link #query} tests them on its
+ * candidates. Every attribute indexed here is fixed once an internship is posted, so the indexes only change
+ * on {@link #add}.
+ * </p>
+ * <p>
+ * <b>Closing-Date Index:</b> A {@link TreeMap} from closing epoch day to internships serves closing-date
+ * ranges and "closing soonest" listings in order. A query that is ordered by closing date and has no
+ * smaller candidate set walks this index instead of sorting its result.
+ * </p>
+ * <p>
+ * <b>Company-Name Trie:</b> A {@link CompanyNameIndex} over normalized company names serves company prefix
+ * filters and autocompletion in time proportional to the matches.
+ * </p>
  */
 public class InternshipRepository implements IInternshipRepository {
     private final Map<String, Internship> internships;
+    private final IEntityChangeListener changeListener;
+    private final Map<String, Set<Internship>> byRepresentative = new HashMap<>();
+    private final NavigableMap<Integer, Set<Internship>> byClosingDay = new TreeMap<>();
+    private final CompanyNameIndex<Internship> byCompanyName = new CompanyNameIndex<>();
+    private List<Internship> view; // shared by viewAll() until the next add
     private int nextID = 1;
     
     public InternshipRepository() {
+        this(null);
+    }
+    /**
+     * Creates a repository that reports additions and later changes of its internships.
+     *
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     */
+    public InternshipRepository(IEntityChangeListener changeListener) {
         this.internships = new HashMap<>();
+        this.changeListener = changeListener;
     }
 
     @Override
     public void add(Internship internship) {
-        internships.put(internship.getInternshipID(), internship);
+        Internship replaced = internships.put(internship.getInternshipID(), internship);
+        view = null;
+        if (replaced != null) {
+            unindex(replaced);
+            replaced.setChangeListener(null);
+        }
+        index(internship);
+        reserveID(internship.getInternshipID());
+        if (changeListener != null) {
+            internship.setChangeListener(changeListener);
+            changeListener.onInternshipAdded(internship);
+        }
     }
 
     @Override
@@ -28,6 +70,14 @@ public class InternshipRepository implements IInternshipRepository {
     public List<Internship> getAll() {
         return new ArrayList<>(internships.values());
     }
+
+    @Override
+    public List<Internship> viewAll() {
+        if (view == null) {
+            view = Collections.unmodifiableList(new ArrayList<>(internships.values()));
+        }
+        return view;
+    }
     /**
      * Retrieves all internships owned by a specific Company Representative.
      *
@@ -36,13 +86,72 @@ public class InternshipRepository implements IInternshipRepository {
      */
     @Override
     public List<Internship> getByRepresentativeID(String repID) {
+        return new ArrayList<>(byRepresentative.getOrDefault(repID, Collections.emptySet()));
+    }
+    /**
+     * Answers a query by narrowing the catalog with the representative, company-name or closing-date index.
+     * <p>
+     * Logic: Each of those criteria that is set gives a candidate set. The smallest of them is used, and only
+     * its internships are tested against the full query. Status, level, major, company and visibility are not
+     * indexed here and are only tested, so a query without any of the three indexed criteria scans the whole
+     * catalog. {@link InternshipQueryPlanner} answers those criteria from {@link InternshipBitmapIndex}.
+     * </p>
+     */
+    @Override
+    public List<Internship> query(InternshipQuery query) {
+        Collection<Internship> candidates = internships.values();
+        if (query.getRepresentativeID() != null) {
+            candidates = smaller(candidates, byRepresentative.getOrDefault(query.getRepresentativeID(), Collections.emptySet()));
+        }
+        if (query.getCompanyPrefix() != null && byCompanyName.count(query.getCompanyPrefix()) < candidates.size()) {
+            candidates = byCompanyName.find(query.getCompanyPrefix());
+        }
+
+        Predicate<Internship> matches = query.toPredicate();
         List<Internship> result = new ArrayList<>();
-        for (Internship internship : internships.values()) {
-            if (internship.getRepresentativeID().equals(repID)) {
+        if (query.hasClosingRange() || query.isOrderedByClosingDate()) {
+            Collection<Set<Internship>> days = byClosingDay.subMap(query.getClosingFrom(), true, query.getClosingTo(), true).values();
+            // Walking the date index yields closing order for free; prefer it unless another index is smaller
+            if (candidates == internships.values() || (query.hasClosingRange() && count(days, candidates.size()) < candidates.size())) {
+                for (Set<Internship> day : days) {
+                    for (Internship internship : day) {
+                        if (matches.test(internship)) {
+                            result.add(internship);
+                        }
+                    }
+                }
+                // Already in closing order; only an alphabetical sort or a limit is left to apply
+                return query.isOrderedByClosingDate() ? query.truncate(result) : query.order(result);
+            }
+        }
+        for (Internship internship : candidates) {
+            if (matches.test(internship)) {
                 result.add(internship);
             }
         }
-        return result;
+        return query.order(result);
+    }
+
+    @Override
+    public List<String> completeCompanyName(String prefix, int limit) {
+        return byCompanyName.complete(prefix, limit);
+    }
+    /**
+     * Counts the internships in a run of date index entries, stopping early once {@code limit} is reached.
+     */
+    private static int count(Collection<Set<Internship>> days, int limit) {
+        int count = 0;
+        for (Set<Internship> day : days) {
+            count += day.size();
+            if (count >= limit) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    private static Collection<Internship> smaller(Collection<Internship> current, Collection<Internship> other) {
+        return other.size() < current.size() ? other : current;
     }
     /**
      * Generates a unique ID for a new internship.
@@ -56,4 +165,39 @@ public class InternshipRepository implements IInternshipRepository {
     public String generateNextID() {
         return "INT" + (nextID++);
     }
+    private void index(Internship internship) {
+        entry(byRepresentative, internship.getRepresentativeID()).add(internship);
+        entry(byClosingDay, internship.getClosingDay()).add(internship);
+        byCompanyName.add(internship.getCompanyName(), internship);
+    }
+
+    private void unindex(Internship internship) {
+        remove(byRepresentative, internship.getRepresentativeID(), internship);
+        remove(byClosingDay, internship.getClosingDay(), internship);
+        byCompanyName.remove(internship.getCompanyName(), internship);
+    }
+
+    private static <K> Set<Internship> entry(Map<K, Set<Internship>> index, K key) {
+        return index.computeIfAbsent(key, k -> new LinkedHashSet<>());
+    }
+
+    private static <K> void remove(Map<K, Set<Internship>> index, K key, Internship internship) {
+        Set<Internship> entry = index.get(key);
+        if (entry != null && entry.remove(internship) && entry.isEmpty()) {
+            index.remove(key);
+        }
+    }
+    /**
+     * Keeps {@link #generateNextID()} ahead of IDs that were added directly,
+     * e.g. internships restored from a snapshot after a restart.
+     */
+    private void reserveID(String internshipID) {
+        if (internshipID != null && internshipID.startsWith("INT")) {
+            try {
+                nextID = Math.max(nextID, Integer.parseInt(internshipID.substring(3)) + 1);
+            } catch (NumberFormatException ignored) {
+                // Not a generated ID; nothing to reserve
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+import java.util.*;
+/**
+ * Inverted keyword index over internship titles and descriptions.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A <b>Derived Index</b> fed by {@link IEntityChangeListener} events, like {@link ApplicationStore}. Each
+ * internship is tokenized once when it is added; a search then reads only the posting lists of its keywords,
+ * so its cost depends on how many postings match rather than on the size of the catalog. It works the same
+ * over every {@link IInternshipRepository} implementation.
+ * </p>
+ * <p>
+ * <b>Ranking:</b> Words are lower-cased runs of letters and digits; very common English words are skipped.
+ * Each posting carries a weight (occurrences in the description, plus {@value #TITLE_WEIGHT} per occurrence
+ * in the title). Results are ordered by how many of the keywords they contain, then by a TF-IDF score, so
+ * rare words count for more than words found in most postings. Scores are accumulated per matching
+ * internship only, so a search allocates in proportion to its hits, not to the catalog.
+ * </p>
+ */
+public class InternshipSearchIndex implements IEntityChangeListener {
+    private static final int TITLE_WEIGHT = 3;
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "our", "the", "to", "we", "will", "with", "you", "your"));
+
+    private final Map<String, Integer> documentByID = new HashMap<>();
+    private final List<String> idByDocument = new ArrayList<>();
+    private final BitSet replaced = new BitSet();
+    private final Map<String, Postings> postingsByWord = new HashMap<>();
+    /**
+     * Replaces the contents with the given internships. Called once after the initial load, before the
+     * index is subscribed to change events.
+     *
+     * @param internships Every internship in the system.
+     */
+    public synchronized void rebuild(Iterable<Internship> internships) {
+        documentByID.clear();
+        idByDocument.clear();
+        replaced.clear();
+        postingsByWord.clear();
+        for (Internship internship : internships) {
+            add(internship);
+        }
+    }
+
+    @Override
+    public synchronized void onInternshipAdded(Internship internship) {
+        add(internship);
+    }
+    /**
+     * Finds the internships whose title or description contains any of the keywords.
+     *
+     * @param text Free text; split into keywords the same way titles and descriptions are.
+     * @return The matching internship IDs, best match first. Empty if no keyword is indexed.
+     */
+    public synchronized List<String> search(String text) {
+        Set<String> words = new LinkedHashSet<>(tokenize(text));
+        Map<Integer, Hit> hitByDocument = new HashMap<>();
+        List<Hit> hits = new ArrayList<>();
+
+        for (String word : words) {
+            Postings postings = postingsByWord.get(word);
+            if (postings == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (double) documentByID.size() / postings.size);
+            for (int i = 0; i < postings.size; i++) {
+                int document = postings.documents[i];
+                if (replaced.get(document)) {
+                    continue;
+                }
+                Hit hit = hitByDocument.get(document);
+                if (hit == null) {
+                    hit = new Hit(document);
+                    hitByDocument.put(document, hit);
+                    hits.add(hit);
+                }
+                hit.matched++;
+                hit.score += (float) ((1 + Math.log(postings.weights[i])) * idf);
+            }
+        }
+
+        hits.sort((a, b) -> a.matched != b.matched
+                ? Integer.compare(b.matched, a.matched) : Float.compare(b.score, a.score));
+        List<String> result = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            result.add(idByDocument.get(hit.document));
+        }
+        return result;
+    }
+    /**
+     * Upper bound of the number of results of {@link #search}, read from the posting list lengths without
+     * running the search. Used by {@link InternshipQueryPlanner} to cost keyword queries.
+     */
+    public synchronized int estimate(String text) {
+        int postings = 0;
+        for (String word : new HashSet<>(tokenize(text))) {
+            Postings list = postingsByWord.get(word);
+            if (list != null) {
+                postings += list.size;
+            }
+        }
+        return postings;
+    }
+    /**
+     * @return The number of internships in the index.
+     */
+    public synchronized int size() {
+        return documentByID.size();
+    }
+    /**
+     * Splits text into index words: lower-cased runs of letters and digits, without stop words.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                String word = text.substring(start, i).toLowerCase(Locale.ROOT);
+                if (!STOP_WORDS.contains(word)) {
+                    words.add(word);
+                }
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private void add(Internship internship) {
+        // A re-added ID (e.g. replayed from the log) supersedes its earlier entry
+        Integer previous = documentByID.get(internship.getInternshipID());
+        if (previous != null) {
+            replaced.set(previous);
+        }
+        int document = idByDocument.size();
+        idByDocument.add(internship.getInternshipID());
+        documentByID.put(internship.getInternshipID(), document);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String word : tokenize(internship.getTitle())) {
+            weights.merge(word, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(internship.getDescription())) {
+            weights.merge(word, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            postingsByWord.computeIfAbsent(weight.getKey(), w -> new Postings()).add(document, weight.getValue());
+        }
+    }
+    /**
+     * A document matched by a search: how many of the keywords it contains, and its score.
+     */
+    private static class Hit {
+        final int document;
+        int matched;
+        float score;
+
+        Hit(int document) {
+            this.document = document;
+        }
+    }
+    /**
+     * Documents containing one word, in ascending document order, with their weights.
+     */
+    private static class Postings {
+        int[] documents = new int[2];
+        int[] weights = new int[2];
+        int size;
+
+        void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+import java.lang.ref.WeakReference;
+import java.sql.*;
+import java.util.*;
+import java.util.function.Predicate;
+/**
+ * {@link IInternshipRepository} stored in an embedded SQL database.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is an alternative implementation in the <b>Repository Layer</b>, the internship counterpart of
+ * {@link JdbcUserRepository}. Postings live in an {@code internships} table and every application in an
+ * {@code applications} table keyed by (internship, student).
+ * </p>
+ * <p>
+ * <b>Query Pushdown:</b> {@link #getByRepresentativeID} and {@link #query} run as SQL queries on
+ * indexed columns instead of loading the whole catalog and filtering in Java. Level, major and status are
+ * additionally stored lower-cased so the case-insensitive menu filters can still use an index.
+ * </p>
+ * <p>
+ * Like the user repository it keeps an identity map of internships still referenced elsewhere and writes
+ * every change through to its row as soon as it is reported.
+ * </p>
+ */
+public class JdbcInternshipRepository implements IInternshipRepository {
+    private static final String COLUMNS = "id, title, description, level, preferred_major, opening_date, closing_date, "
+            + "total_slots, company_name, representative_id, status, visible, confirmed_slots, level_key, major_key, status_key";
+    private static final String INSERT = "INSERT INTO internships (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_STATE = "UPDATE internships SET status = ?, visible = ?, confirmed_slots = ?, "
+            + "status_key = ? WHERE id = ?";
+    private static final String SELECT_BY_ID = "SELECT * FROM internships WHERE id = ?";
+    private static final String SELECT_ALL = "SELECT * FROM internships ORDER BY id";
+    private static final String SELECT_BY_REP = "SELECT * FROM internships WHERE representative_id = ? ORDER BY id";
+    private static final String SELECT_IDS = "SELECT id FROM internships";
+    private static final String SELECT_APPLICATIONS = "SELECT student_id, status, withdrawal_reason FROM applications "
+            + "WHERE internship_id = ?";
+    private static final String SELECT_ALL_APPLICATIONS = "SELECT internship_id, student_id, status, withdrawal_reason "
+            + "FROM applications";
+    private static final String UPDATE_APPLICATION = "UPDATE applications SET status = ?, withdrawal_reason = ? "
+            + "WHERE internship_id = ? AND student_id = ?";
+    private static final String INSERT_APPLICATION = "INSERT INTO applications "
+            + "(status, withdrawal_reason, internship_id, student_id) VALUES (?, ?, ?, ?)";
+    private static final String DELETE_INTERNSHIP = "DELETE FROM internships WHERE id = ?";
+    private static final String DELETE_APPLICATIONS = "DELETE FROM applications WHERE internship_id = ?";
+
+    private final JdbcStatementCache db;
+    private final IEntityChangeListener changeListener;
+    private final IEntityChangeListener writeThrough = new WriteThroughListener();
+    private final Map<String, WeakReference<Internship>> live = new HashMap<>();
+    private int nextID = 1;
+    /**
+     * Creates the tables and indexes if needed and continues ID generation after the stored IDs.
+     *
+     * @param db             Connection and statement cache.
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     * @throws SQLException if the schema cannot be created or read.
+     */
+    public JdbcInternshipRepository(JdbcStatementCache db, IEntityChangeListener changeListener) throws SQLException {
+        this.db = db;
+        this.changeListener = changeListener;
+        db.execute(
+                "CREATE TABLE IF NOT EXISTS internships (id VARCHAR(64) PRIMARY KEY, title VARCHAR(255), "
+                        + "description VARCHAR(4000), level VARCHAR(32), preferred_major VARCHAR(255), "
+                        + "opening_date VARCHAR(32), closing_date VARCHAR(32), total_slots INT, "
+                        + "company_name VARCHAR(255), representative_id VARCHAR(255), status VARCHAR(32), "
+                        + "visible BOOLEAN, confirmed_slots INT, level_key VARCHAR(32), major_key VARCHAR(255), "
+                        + "status_key VARCHAR(32))",
+                "CREATE INDEX IF NOT EXISTS internships_rep ON internships (representative_id)",
+                "CREATE INDEX IF NOT EXISTS internships_status ON internships (status_key)",
+                "CREATE INDEX IF NOT EXISTS internships_major ON internships (major_key)",
+                "CREATE INDEX IF NOT EXISTS internships_level ON internships (level_key)",
+                "CREATE TABLE IF NOT EXISTS applications (internship_id VARCHAR(64), student_id VARCHAR(64), "
+                        + "status VARCHAR(32), withdrawal_reason VARCHAR(1024), PRIMARY KEY (internship_id, student_id))",
+                "CREATE INDEX IF NOT EXISTS applications_student ON applications (student_id)");
+
+        synchronized (db) {
+            try (ResultSet row = db.prepare(SELECT_IDS).executeQuery()) {
+                while (row.next()) {
+                    reserveID(row.getString(1));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void add(Internship internship) {
+        String id = internship.getInternshipID();
+        synchronized (db) {
+            try {
+                db.inTransaction(() -> {
+                    // Adding an existing ID replaces it, as with the in-memory repository
+                    execute(DELETE_APPLICATIONS, id);
+                    execute(DELETE_INTERNSHIP, id);
+                    PreparedStatement insert = db.prepare(INSERT);
+                    bindInternship(insert, internship);
+                    insert.executeUpdate();
+                    for (Map.Entry<String, String> application : internship.getAllStudentStatuses().entrySet()) {
+                        writeApplication(internship, application.getKey());
+                    }
+                });
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not store internship " + id, e);
+            }
+            reserveID(id);
+            attach(internship);
+        }
+        if (changeListener != null) {
+            changeListener.onInternshipAdded(internship);
+        }
+    }
+
+    @Override
+    public Internship getById(String internshipID) {
+        synchronized (db) {
+            Internship cached = liveInstance(internshipID);
+            if (cached != null) {
+                return cached;
+            }
+            List<Internship> found = query(SELECT_BY_ID, Collections.singletonList(internshipID), false);
+            return found.isEmpty() ? null : found.get(0);
+        }
+    }
+
+    @Override
+    public List<Internship> getAll() {
+        synchronized (db) {
+            return query(SELECT_ALL, Collections.emptyList(), true);
+        }
+    }
+
+    @Override
+    public List<Internship> getByRepresentativeID(String repID) {
+        synchronized (db) {
+            return query(SELECT_BY_REP, Collections.singletonList(repID), false);
+        }
+    }
+    /**
+     * Runs the status, major, level, owner and visibility criteria as one indexed query; the company name,
+     * which has no lower-cased column, is checked on the returned rows. One SQL string exists per
+     * combination of constrained columns, so only a handful of statements are ever prepared and cached.
+     */
+    @Override
+    public List<Internship> query(InternshipQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM internships WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>(5);
+        addConstraint(sql, parameters, "status_key", query.getStatus());
+        addConstraint(sql, parameters, "major_key", query.getPreferredMajor());
+        addConstraint(sql, parameters, "level_key", query.getLevel());
+        if (query.getRepresentativeID() != null) {
+            sql.append(" AND representative_id = ?");
+            parameters.add(query.getRepresentativeID());
+        }
+        if (query.getVisible() != null) {
+            sql.append(" AND visible = ?");
+            parameters.add(query.getVisible());
+        }
+        sql.append(" ORDER BY id");
+        List<Internship> rows;
+        synchronized (db) {
+            rows = query(sql.toString(), parameters, false);
+        }
+        Predicate<Internship> matches = query.toPredicate();
+        rows.removeIf(matches.negate());
+        return query.order(rows);
+    }
+
+    private static void addConstraint(StringBuilder sql, List<Object> parameters, String column, String filter) {
+        if (filter != null && !filter.equalsIgnoreCase("all")) {
+            sql.append(" AND ").append(column).append(" = ?");
+            parameters.add(key(filter));
+        }
+    }
+    /**
+     * Generates a unique ID for a new internship.
+     * <p>
+     * Logic: One past the highest numeric {@code INT} suffix stored in the database.
+     * </p>
+     */
+    @Override
+    public synchronized String generateNextID() {
+        return "INT" + (nextID++);
+    }
+
+    // ===== Rows =====
+
+    private List<Internship> query(String sql, List<?> parameters, boolean wholeTable) {
+        List<Internship> result = new ArrayList<>();
+        try {
+            PreparedStatement select = db.prepare(sql);
+            for (int i = 0; i < parameters.size(); i++) {
+                select.setObject(i + 1, parameters.get(i));
+            }
+            List<Internship> materialized = new ArrayList<>();
+            try (ResultSet row = select.executeQuery()) {
+                while (row.next()) {
+                    Internship cached = liveInstance(row.getString("id"));
+                    if (cached != null) {
+                        result.add(cached);
+                    } else {
+                        Internship internship = toInternship(row);
+                        materialized.add(internship);
+                        result.add(internship);
+                    }
+                }
+            }
+            restoreApplications(materialized, wholeTable);
+            for (Internship internship : materialized) {
+                attach(internship);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error querying internships: " + e.getMessage());
+        }
+        return result;
+    }
+    /**
+     * Restores the applications of freshly read internships: one scan of the applications table when
+     * the whole catalog was read, otherwise one indexed lookup per internship.
+     */
+    private void restoreApplications(List<Internship> internships, boolean wholeTable) throws SQLException {
+        if (internships.isEmpty()) {
+            return;
+        }
+        if (wholeTable) {
+            Map<String, Internship> byID = new HashMap<>();
+            for (Internship internship : internships) {
+                byID.put(internship.getInternshipID(), internship);
+            }
+            try (ResultSet row = db.prepare(SELECT_ALL_APPLICATIONS).executeQuery()) {
+                while (row.next()) {
+                    Internship internship = byID.get(row.getString("internship_id"));
+                    if (internship != null) {
+                        restoreApplication(internship, row);
+                    }
+                }
+            }
+            return;
+        }
+        PreparedStatement select = db.prepare(SELECT_APPLICATIONS);
+        for (Internship internship : internships) {
+            select.setString(1, internship.getInternshipID());
+            try (ResultSet row = select.executeQuery()) {
+                while (row.next()) {
+                    restoreApplication(internship, row);
+                }
+            }
+        }
+    }
+
+    private static void restoreApplication(Internship internship, ResultSet row) throws SQLException {
+        String studentID = row.getString("student_id");
+        String status = row.getString("status");
+        if ("Pending Withdrawal".equals(status)) {
+            internship.requestWithdrawal(studentID, row.getString("withdrawal_reason"));
+        } else {
+            internship.setStudentStatus(studentID, status);
+        }
+    }
+
+    private static Internship toInternship(ResultSet row) throws SQLException {
+        Internship internship = new Internship(row.getString("id"), row.getString("title"),
+                row.getString("description"), row.getString("level"), row.getString("preferred_major"),
+                row.getString("opening_date"), row.getString("closing_date"), row.getInt("total_slots"),
+                row.getString("company_name"), row.getString("representative_id"));
+        internship.setStatus(row.getString("status"));
+        internship.setVisible(row.getBoolean("visible"));
+        internship.restoreConfirmedSlots(row.getInt("confirmed_slots"));
+        return internship;
+    }
+
+    private static void bindInternship(PreparedStatement insert, Internship i) throws SQLException {
+        insert.setString(1, i.getInternshipID());
+        insert.setString(2, i.getTitle());
+        insert.setString(3, i.getDescription());
+        insert.setString(4, i.getLevel());
+        insert.setString(5, i.getPreferredMajor());
+        insert.setString(6, i.getOpeningDate());
+        insert.setString(7, i.getClosingDate());
+        insert.setInt(8, i.getTotalSlots());
+        insert.setString(9, i.getCompanyName());
+        insert.setString(10, i.getRepresentativeID());
+        insert.setString(11, i.getStatus());
+        insert.setBoolean(12, i.isVisible());
+        insert.setInt(13, i.getConfirmedSlots());
+        insert.setString(14, key(i.getLevel()));
+        insert.setString(15, key(i.getPreferredMajor()));
+        insert.setString(16, key(i.getStatus()));
+    }
+
+    private void writeState(Internship i) throws SQLException {
+        PreparedStatement update = db.prepare(UPDATE_STATE);
+        update.setString(1, i.getStatus());
+        update.setBoolean(2, i.isVisible());
+        update.setInt(3, i.getConfirmedSlots());
+        update.setString(4, key(i.getStatus()));
+        update.setString(5, i.getInternshipID());
+        update.executeUpdate();
+    }
+
+    // Update first; insert when the application row does not exist yet
+    private void writeApplication(Internship internship, String studentID) throws SQLException {
+        String status = internship.getStudentStatus(studentID);
+        String reason = "Pending Withdrawal".equals(status) ? internship.getWithdrawalReason(studentID) : null;
+        for (String sql : new String[]{UPDATE_APPLICATION, INSERT_APPLICATION}) {
+            PreparedStatement statement = db.prepare(sql);
+            statement.setString(1, status);
+            statement.setString(2, reason);
+            statement.setString(3, internship.getInternshipID());
+            statement.setString(4, studentID);
+            if (statement.executeUpdate() > 0) {
+                return;
+            }
+        }
+    }
+
+    private void execute(String sql, String parameter) throws SQLException {
+        PreparedStatement statement = db.prepare(sql);
+        statement.setString(1, parameter);
+        statement.executeUpdate();
+    }
+
+    private static String key(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private void attach(Internship internship) {
+        live.put(internship.getInternshipID(), new WeakReference<>(internship));
+        internship.setChangeListener(writeThrough);
+    }
+
+    private Internship liveInstance(String internshipID) {
+        WeakReference<Internship> reference = live.get(internshipID);
+        Internship internship = reference != null ? reference.get() : null;
+        if (reference != null && internship == null) {
+            live.remove(internshipID);
+        }
+        return internship;
+    }
+
+    private synchronized void reserveID(String internshipID) {
+        if (internshipID != null && internshipID.startsWith("INT")) {
+            try {
+                nextID = Math.max(nextID, Integer.parseInt(internshipID.substring(3)) + 1);
+            } catch (NumberFormatException ignored) {
+                // Not a generated ID; nothing to reserve
+            }
+        }
+    }
+    /**
+     * Writes every change straight to the database, then forwards the event.
+     */
+    private class WriteThroughListener implements IEntityChangeListener {
+        @Override
+        public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+            synchronized (db) {
+                try {
+                    writeState(internship);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not update internship " + internship.getInternshipID(), e);
+                }
+            }
+            if (changeListener != null) {
+                changeListener.onInternshipChanged(internship, field, oldValue);
+            }
+        }
+
+        @Override
+        public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+            synchronized (db) {
+                try {
+                    writeApplication(internship, studentID);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not update application of " + studentID, e);
+                }
+            }
+            if (changeListener != null) {
+                changeListener.onApplicationChanged(internship, studentID, oldStatus, newStatus);
+            }
+        }
+    }
+}
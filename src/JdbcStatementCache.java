@@ -0,0 +1,92 @@
+import java.io.Closeable;
+import java.sql.*;
+import java.util.*;
+/**
+ * One JDBC connection plus a cache of its prepared statements.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a helper of the <b>Repository Layer</b> shared by {@link JdbcUserRepository} and
+ * {@link JdbcInternshipRepository}. Every SQL string is parsed and planned by the database once and the
+ * resulting {@link PreparedStatement} is reused for the lifetime of the connection.
+ * </p>
+ * <p>
+ * A statement may only be used by one thread at a time, so repositories synchronize on this object
+ * around every use.
+ * </p>
+ */
+public class JdbcStatementCache implements Closeable {
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    /**
+     * Opens a connection to an embedded database, e.g. {@code jdbc:h2:./ims-db} or {@code jdbc:sqlite:ims.db}.
+     *
+     * @param url The JDBC URL. The matching driver must be on the class path.
+     * @throws SQLException if the connection cannot be opened.
+     */
+    public JdbcStatementCache(String url) throws SQLException {
+        this(DriverManager.getConnection(url));
+    }
+
+    public JdbcStatementCache(Connection connection) {
+        this.connection = connection;
+    }
+    /**
+     * @return The cached statement for {@code sql}, prepared on first use.
+     */
+    public synchronized PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+    /**
+     * Runs DDL statements such as {@code CREATE TABLE IF NOT EXISTS}.
+     */
+    public synchronized void execute(String... ddl) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+    /**
+     * Runs {@code work} in a single transaction, e.g. one batched insert of the whole initial data set.
+     */
+    public synchronized void inTransaction(SqlWork work) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            work.run();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // Closing the connection releases it anyway
+            }
+        }
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing database connection: " + e.getMessage());
+        }
+    }
+
+    // Unit of work that may throw SQLException
+    public interface SqlWork {
+        void run() throws SQLException;
+    }
+}
@@ -0,0 +1,227 @@
+import java.lang.ref.WeakReference;
+import java.sql.*;
+import java.util.*;
+/**
+ * {@link IUserRepository} stored in a table of an embedded SQL database.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is an alternative implementation in the <b>Repository Layer</b>. Users live in the database
+ * rather than in a {@code HashMap}, so only the objects a session actually works with are resident.
+ * How a user maps to columns is supplied by a {@link UserTableMapping} strategy, so the same class stores
+ * Students, Company Representatives and Staff.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ul>
+ * <li><b>Prepared Statements:</b> All SQL goes through a shared {@link JdbcStatementCache}.</li>
+ * <li><b>Batched Loading:</b> {@link #addAll} writes the whole initial data set in one transaction
+ * with JDBC batches.</li>
+ * <li><b>Identity Map:</b> Objects that are still referenced somewhere are handed out again instead of
+ * being re-read, so two callers never hold diverging copies. Unreferenced objects are garbage collected.</li>
+ * <li><b>Write-Through:</b> Each object handed out reports its changes through
+ * {@link IEntityChangeListener}; the row is updated immediately and the event forwarded.</li>
+ * </ul>
+ * </p>
+ *
+ * @param <T> The specific type of User this repository manages.
+ */
+public class JdbcUserRepository<T extends User> implements IUserRepository<T> {
+    private final JdbcStatementCache db;
+    private final UserTableMapping<T> mapping;
+    private final IEntityChangeListener changeListener;
+    private final IEntityChangeListener writeThrough = new WriteThroughListener();
+    private final Map<String, WeakReference<T>> live = new HashMap<>();
+
+    private final String insertSQL;
+    private final String updateSQL;
+    private final String deleteSQL;
+    private final String selectByIdSQL;
+    private final String selectAllSQL;
+    /**
+     * Creates the table if needed.
+     *
+     * @param db             Connection and statement cache.
+     * @param mapping        How the user type maps to a table.
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     * @throws SQLException if the schema cannot be created.
+     */
+    public JdbcUserRepository(JdbcStatementCache db, UserTableMapping<T> mapping,
+                              IEntityChangeListener changeListener) throws SQLException {
+        this.db = db;
+        this.mapping = mapping;
+        this.changeListener = changeListener;
+        db.execute(mapping.getSchema().toArray(new String[0]));
+
+        String table = mapping.getTableName();
+        List<String> columns = mapping.getColumns();
+        this.insertSQL = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+        // All columns are bound in mapping order (including the unchanged id), then the key once more
+        this.updateSQL = "UPDATE " + table + " SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?";
+        this.deleteSQL = "DELETE FROM " + table + " WHERE id = ?";
+        this.selectByIdSQL = "SELECT * FROM " + table + " WHERE id = ?";
+        this.selectAllSQL = "SELECT * FROM " + table + " ORDER BY id";
+    }
+
+    @Override
+    public void add(T user) {
+        synchronized (db) {
+            try {
+                write(user);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not store user " + user.getUserID(), e);
+            }
+            attach(user);
+        }
+        if (changeListener != null) {
+            changeListener.onUserAdded(user);
+        }
+    }
+    /**
+     * Replaces any stored rows with the same IDs and inserts all users in one batched transaction.
+     */
+    @Override
+    public void addAll(Collection<? extends T> users) {
+        synchronized (db) {
+            try {
+                db.inTransaction(() -> {
+                    PreparedStatement delete = db.prepare(deleteSQL);
+                    PreparedStatement insert = db.prepare(insertSQL);
+                    for (T user : users) {
+                        delete.setString(1, user.getUserID());
+                        delete.addBatch();
+                        mapping.bind(insert, user);
+                        insert.addBatch();
+                    }
+                    delete.executeBatch();
+                    insert.executeBatch();
+                });
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not store " + users.size() + " users in " + mapping.getTableName(), e);
+            }
+            for (T user : users) {
+                attach(user);
+            }
+        }
+        if (changeListener != null) {
+            for (T user : users) {
+                changeListener.onUserAdded(user);
+            }
+        }
+    }
+
+    @Override
+    public T getById(String userID) {
+        synchronized (db) {
+            T cached = liveInstance(userID);
+            if (cached != null) {
+                return cached;
+            }
+            try {
+                PreparedStatement select = db.prepare(selectByIdSQL);
+                select.setString(1, userID);
+                try (ResultSet row = select.executeQuery()) {
+                    return row.next() ? materialize(row) : null;
+                }
+            } catch (SQLException e) {
+                System.err.println("Error reading " + mapping.getTableName() + " " + userID + ": " + e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public List<T> getAll() {
+        synchronized (db) {
+            List<T> users = new ArrayList<>();
+            try (ResultSet row = db.prepare(selectAllSQL).executeQuery()) {
+                while (row.next()) {
+                    T cached = liveInstance(row.getString("id"));
+                    users.add(cached != null ? cached : materialize(row));
+                }
+            } catch (SQLException e) {
+                System.err.println("Error reading " + mapping.getTableName() + ": " + e.getMessage());
+            }
+            return users;
+        }
+    }
+
+    @Override
+    public boolean exists(String userID) {
+        return getById(userID) != null;
+    }
+
+    @Override
+    public void remove(String userID) {
+        T removed;
+        synchronized (db) {
+            removed = getById(userID);
+            if (removed == null) {
+                return;
+            }
+            try {
+                PreparedStatement delete = db.prepare(deleteSQL);
+                delete.setString(1, userID);
+                delete.executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not remove user " + userID, e);
+            }
+            live.remove(userID);
+            removed.setChangeListener(null);
+        }
+        if (changeListener != null) {
+            changeListener.onUserRemoved(removed);
+        }
+    }
+
+    // Update first; insert when the row does not exist yet
+    private void write(T user) throws SQLException {
+        PreparedStatement update = db.prepare(updateSQL);
+        mapping.bind(update, user);
+        update.setString(mapping.getColumns().size() + 1, user.getUserID());
+        if (update.executeUpdate() == 0) {
+            PreparedStatement insert = db.prepare(insertSQL);
+            mapping.bind(insert, user);
+            insert.executeUpdate();
+        }
+    }
+
+    private T materialize(ResultSet row) throws SQLException {
+        T user = mapping.map(row);
+        attach(user);
+        return user;
+    }
+
+    private void attach(T user) {
+        live.put(user.getUserID(), new WeakReference<>(user));
+        user.setChangeListener(writeThrough);
+    }
+
+    private T liveInstance(String userID) {
+        WeakReference<T> reference = live.get(userID);
+        T user = reference != null ? reference.get() : null;
+        if (reference != null && user == null) {
+            live.remove(userID);
+        }
+        return user;
+    }
+    /**
+     * Writes every change straight to the user's row, then forwards the event.
+     */
+    private class WriteThroughListener implements IEntityChangeListener {
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onUserChanged(User user, String field, Object oldValue) {
+            synchronized (db) {
+                try {
+                    write((T) user);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Could not update user " + user.getUserID(), e);
+                }
+            }
+            if (changeListener != null) {
+                changeListener.onUserChanged(user, field, oldValue);
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+import java.io.*;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+/**
+ * {@link IUserRepository} for students that reads each student from the CSV file only when it is first used.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is an alternative implementation in the <b>Repository Layer</b>. {@link UserRepository} needs
+ * every {@link Student} object built at boot, although a session usually touches one student plus the few
+ * shown by the staff reports. Here boot only records where each student's row starts; the row is parsed
+ * on {@link #getById}.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Offset Index:</b> {@link #loadIndex} scans the student file and its {@link IncrementalDataSaver}
+ * segments once, keeping only ID &rarr; (file, byte offset). A later segment row replaces the earlier offset,
+ * just like {@link CSVDataLoader#applySegments}.</li>
+ * <li><b>Bounded Cache:</b> Parsed students are kept in an LRU cache of {@code cacheSize} entries. Students
+ * still referenced elsewhere (e.g. the logged-in user) are found again through weak references, so a
+ * student never exists twice.</li>
+ * <li><b>Pinning:</b> A student that has changed, or was added after boot, no longer matches its row and is
+ * kept in memory until the repository is closed.</li>
+ * </ol>
+ * </p>
+ * <p>
+ * The indexed files stay open, so a compaction that replaces them with new files does not move the rows
+ * under the index; changed students are pinned and never read back.
+ * </p>
+ */
+public class LazyStudentRepository implements IUserRepository<Student>, Closeable {
+    public static final int DEFAULT_CACHE_SIZE = 1_000;
+
+    // A location packs the file number into the top 16 bits and the byte offset into the rest
+    private static final int OFFSET_BITS = 48;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int RECORD_BUFFER_SIZE = 512;
+
+    private final IEntityChangeListener changeListener;
+    private final IEntityChangeListener pinning = new PinningListener();
+    private final List<FileChannel> files = new ArrayList<>();
+    private final List<String> filenames = new ArrayList<>();
+    private final List<String[]> headers = new ArrayList<>();
+    private final Map<String, Long> index = new HashMap<>();
+    private final Map<String, Student> pinned = new LinkedHashMap<>();
+    private final Map<String, WeakReference<Student>> live = new HashMap<>();
+    private final LinkedHashMap<String, Student> cache;
+    private long materialized;
+    /**
+     * Creates an empty repository; call {@link #loadIndex} to attach a student file.
+     *
+     * @param cacheSize      Maximum number of unchanged students kept in memory.
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     */
+    public LazyStudentRepository(int cacheSize, IEntityChangeListener changeListener) {
+        this.changeListener = changeListener;
+        final int capacity = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<String, Student>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Student> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+    /**
+     * Indexes a student CSV file (and its segments) without creating any {@link Student}.
+     *
+     * @param filename The student file, in {@link CSVDataSaver#STUDENT_HEADER} format.
+     * @return The IDs of all indexed students.
+     */
+    public synchronized List<String> loadIndex(String filename) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        int before = index.size();
+        try {
+            bytes += indexFile(filename, true);
+            for (String segment : IncrementalDataSaver.existingSegments(filename)) {
+                // Segments carry no header row
+                bytes += indexFile(segment, false);
+            }
+        } catch (IOException e) {
+            System.err.println("Error indexing file: " + filename + " (" + e.getMessage() + ")");
+        }
+        CSVDataLoader.printLoadReport(filename + " (index only)", index.size() - before, bytes,
+                System.nanoTime() - start);
+        return new ArrayList<>(index.keySet());
+    }
+
+    private long indexFile(String filename, boolean hasHeader) throws IOException {
+        if (files.size() == 1 << (64 - OFFSET_BITS - 1)) {
+            throw new IOException("too many student files");
+        }
+        FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        long fileNumber = files.size();
+        files.add(channel);
+        filenames.add(filename);
+
+        try (CSVRecordReader reader = new CSVRecordReader(new ChannelInputStream(channel, 0))) {
+            String[] header = hasHeader ? reader.readRecord() : null;
+            // Segments carry no header row; their columns follow CSVDataSaver.STUDENT_HEADER
+            headers.add(header != null ? header : CSVDataLoader.STUDENT_COLUMNS);
+            long offset = reader.getBytesConsumed();
+            String[] data;
+            // Only the ID column is turned into a string; the other columns are parsed on demand
+            while ((data = reader.readRecord(1)) != null) {
+                if (!data[0].isEmpty()) {
+                    index.put(data[0], fileNumber << OFFSET_BITS | offset);
+                } else {
+                    System.err.println("Skipping malformed row " + reader.getRecordCount() + " in " + filename);
+                }
+                offset = reader.getBytesConsumed();
+            }
+            return reader.getBytesConsumed();
+        }
+    }
+
+    @Override
+    public synchronized void add(Student student) {
+        String id = student.getUserID();
+        index.remove(id);
+        cache.remove(id);
+        pinned.put(id, student);
+        live.put(id, new WeakReference<>(student));
+        student.setChangeListener(pinning);
+        if (changeListener != null) {
+            changeListener.onUserAdded(student);
+        }
+    }
+
+    @Override
+    public synchronized Student getById(String userID) {
+        if (userID == null) {
+            return null;
+        }
+        Student student = pinned.get(userID);
+        if (student == null) {
+            student = cache.get(userID);
+        }
+        if (student == null) {
+            student = liveInstance(userID);
+            if (student == null) {
+                student = materialize(userID);
+            }
+            if (student != null) {
+                cache.put(userID, student);
+            }
+        }
+        return student;
+    }
+    /**
+     * Returns a read-only list over all students. Elements are read through the cache as they are
+     * accessed, so iterating a large cohort never holds more than the cache in memory.
+     */
+    @Override
+    public synchronized List<Student> getAll() {
+        List<String> ids = new ArrayList<>(pinned.size() + index.size());
+        ids.addAll(pinned.keySet());
+        ids.addAll(index.keySet());
+        return new LazyStudentList(ids);
+    }
+
+    @Override
+    public synchronized boolean exists(String userID) {
+        return pinned.containsKey(userID) || index.containsKey(userID);
+    }
+
+    @Override
+    public synchronized void remove(String userID) {
+        Student removed = getById(userID);
+        if (removed == null) {
+            return;
+        }
+        pinned.remove(userID);
+        index.remove(userID);
+        cache.remove(userID);
+        live.remove(userID);
+        removed.setChangeListener(null);
+        if (changeListener != null) {
+            changeListener.onUserRemoved(removed);
+        }
+    }
+    /**
+     * @return The students that were added or changed since boot, i.e. those that differ from the file.
+     */
+    public synchronized List<Student> getPinned() {
+        return new ArrayList<>(pinned.values());
+    }
+    /**
+     * @return The number of students parsed from the file since the repository was created.
+     */
+    public synchronized long getMaterializedCount() {
+        return materialized;
+    }
+    /**
+     * Closes the indexed files. Students that were never read can no longer be loaded afterwards.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        for (FileChannel channel : files) {
+            channel.close();
+        }
+    }
+
+    private Student materialize(String userID) {
+        Long location = index.get(userID);
+        if (location == null) {
+            return null;
+        }
+        int fileNumber = (int) (location >>> OFFSET_BITS);
+        try {
+            CSVRecordReader reader = new CSVRecordReader(
+                    new ChannelInputStream(files.get(fileNumber), location & OFFSET_MASK), RECORD_BUFFER_SIZE);
+            reader.setProjection(headers.get(fileNumber), CSVDataLoader.STUDENT_COLUMNS);
+            Student student = CSVDataLoader.toStudent(reader.readRecord());
+            student.setChangeListener(pinning);
+            live.put(userID, new WeakReference<>(student));
+            materialized++;
+            return student;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading student " + userID + " from " + filenames.get(fileNumber)
+                    + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Student liveInstance(String userID) {
+        WeakReference<Student> reference = live.get(userID);
+        Student student = reference != null ? reference.get() : null;
+        if (reference != null && student == null) {
+            live.remove(userID);
+        }
+        return student;
+    }
+    /**
+     * Pins a student as soon as it changes, then forwards the event.
+     */
+    private class PinningListener implements IEntityChangeListener {
+        @Override
+        public void onUserChanged(User user, String field, Object oldValue) {
+            synchronized (LazyStudentRepository.this) {
+                String id = user.getUserID();
+                if (!pinned.containsKey(id) && index.containsKey(id)) {
+                    index.remove(id);
+                    cache.remove(id);
+                    pinned.put(id, (Student) user);
+                }
+            }
+            if (changeListener != null) {
+                changeListener.onUserChanged(user, field, oldValue);
+            }
+        }
+    }
+    /**
+     * List view whose elements are fetched through {@link #getById} on access.
+     */
+    private class LazyStudentList extends AbstractList<Student> implements RandomAccess {
+        private final List<String> ids;
+
+        LazyStudentList(List<String> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Student get(int position) {
+            return getById(ids.get(position));
+        }
+
+        @Override
+        public int size() {
+            return ids.size();
+        }
+    }
+    /**
+     * Reads a file channel from a given offset using positional reads, so several readers can share it.
+     */
+    private static class ChannelInputStream extends InputStream {
+        private final FileChannel channel;
+        private long position;
+
+        ChannelInputStream(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == 1 ? one[0] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            int read = channel.read(ByteBuffer.wrap(target, offset, length), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+}
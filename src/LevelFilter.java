@@ -1,5 +1,6 @@
 
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * A concrete filter that selects internships based on their difficulty level.
  * (e.g., "Basic", "Intermediate", "Advanced").
@@ -27,12 +28,30 @@ public class LevelFilter implements IInternshipFilter {
             return internships;
         }
 
+        int code = StringDictionary.LEVELS.lookup(level);
         List<Internship> result = new ArrayList<>();
         for (Internship i : internships) {
-            if (i.getLevel().equalsIgnoreCase(level)) {
+            if (i.getLevelCode() == code) {
                 result.add(i);
             }
         }
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CompressedBitmap select(InternshipBitmapIndex index) {
+        if ("all".equals(level)) {
+            return index.all();
+        }
+        return index.level(StringDictionary.LEVELS.lookup(level));
+    }
+
+    @Override
+    public Predicate<Internship> asPredicate() {
+        if ("all".equals(level)) {
+            return i -> true;
+        }
+        int code = StringDictionary.LEVELS.lookup(level);
+        return i -> i.getLevelCode() == code;
+    }
+}
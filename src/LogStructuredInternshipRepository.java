@@ -0,0 +1,578 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+/**
+ * {@link IInternshipRepository} backed by an embedded, log-structured key-value store on local disk.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is an alternative implementation in the <b>Repository Layer</b>. {@link InternshipRepository}
+ * keeps every posting in a {@code HashMap}, so the catalog must fit in heap and disappears on exit. Here
+ * the catalog lives in append-only data files and only a bounded number of {@link Internship} objects is
+ * held in memory, so catalogs much larger than the heap work.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Data Files:</b> Every version of an internship (details, status, slots and all applications)
+ * is appended as one {@link WriteAheadLog}-format line to the active segment file. Segments are rolled
+ * at {@code maxSegmentBytes}.</li>
+ * <li><b>Hash Index:</b> An in-memory map from internship ID to (segment, offset, length) of its latest
+ * version, rebuilt by scanning the segments on startup. {@link #getById} on a cache miss is one positional read.</li>
+ * <li><b>Write-Back Cache:</b> Loaded internships are kept in an LRU cache of {@code cacheSize} entries.
+ * Changes are reported through {@link IEntityChangeListener}; a changed internship is pinned as dirty and
+ * written when it is evicted, on {@link #flush()} or on {@link #close()}.</li>
+ * <li><b>Background Compaction:</b> Once more than half of the stored bytes belong to overwritten versions,
+ * a background thread copies the live records of old segments into the active one and deletes them.</li>
+ * </ol>
+ * </p>
+ * <p>
+ * <b>Durability:</b> Dirty internships are only written on eviction, flush or close; mutations made since then
+ * are covered by the {@link WriteAheadLog} like those of the in-memory repository.
+ * </p>
+ */
+public class LogStructuredInternshipRepository implements IInternshipRepository, Closeable {
+    public static final String DEFAULT_DIRECTORY = "ims-internships";
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+    public static final long DEFAULT_MAX_SEGMENT_BYTES = 64L << 20;
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final long MIN_COMPACTION_GARBAGE_BYTES = 1L << 20;
+    private static final int DETAIL_FIELDS = 13;
+
+    private final Path directory;
+    private final IEntityChangeListener changeListener;
+    private final IEntityChangeListener writeBack = new WriteBackListener();
+    private final long maxSegmentBytes;
+
+    private final Map<String, RecordLocation> index = new HashMap<>();
+    private final Map<String, Set<String>> idsByRepresentative = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final LinkedHashMap<String, Internship> cache;
+    private final Set<String> dirty = new HashSet<>();
+    private final ExecutorService compactor;
+    private Segment active;
+    private long totalBytes;
+    private long garbageBytes;
+    private boolean compactionQueued;
+    private boolean closed;
+    private int nextID = 1;
+    private long sequence;
+    /**
+     * Opens (or creates) a store in {@link #DEFAULT_DIRECTORY} with the default cache and segment sizes.
+     *
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     * @throws IOException if the data files cannot be opened.
+     */
+    public LogStructuredInternshipRepository(IEntityChangeListener changeListener) throws IOException {
+        this(DEFAULT_DIRECTORY, DEFAULT_CACHE_SIZE, DEFAULT_MAX_SEGMENT_BYTES, changeListener);
+    }
+    /**
+     * Opens (or creates) a store and rebuilds its index from the existing data files.
+     *
+     * @param directory       Directory holding the segment files.
+     * @param cacheSize       Maximum number of internships kept in memory (dirty ones may exceed it briefly).
+     * @param maxSegmentBytes Size at which the active segment is closed and a new one started.
+     * @param changeListener  Receives entity change events, or {@code null} for none.
+     * @throws IOException if the data files cannot be opened.
+     */
+    public LogStructuredInternshipRepository(String directory, int cacheSize, long maxSegmentBytes,
+                                             IEntityChangeListener changeListener) throws IOException {
+        this.directory = Paths.get(directory);
+        this.changeListener = changeListener;
+        this.maxSegmentBytes = Math.max(4096, maxSegmentBytes);
+        final int capacity = Math.max(1, cacheSize);
+        this.cache = new LinkedHashMap<String, Internship>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Internship> eldest) {
+                return size() > capacity && evict(eldest.getValue());
+            }
+        };
+        this.compactor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "internship-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Files.createDirectories(this.directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long id = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(id, new Segment(id, file));
+                } catch (NumberFormatException e) {
+                    System.err.println("Ignoring unexpected file in internship store: " + file);
+                }
+            }
+        }
+        for (Segment segment : segments.values()) {
+            loadIndex(segment);
+        }
+        active = segments.isEmpty() ? openSegment(1) : segments.lastEntry().getValue();
+    }
+
+    // ===== IInternshipRepository =====
+
+    @Override
+    public synchronized void add(Internship internship) {
+        String id = internship.getInternshipID();
+        try {
+            append(internship);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store internship " + id, e);
+        }
+        dirty.remove(id);
+        cache.put(id, internship);
+        idsByRepresentative.computeIfAbsent(internship.getRepresentativeID(), r -> new LinkedHashSet<>()).add(id);
+        reserveID(id);
+        internship.setChangeListener(writeBack);
+        if (changeListener != null) {
+            changeListener.onInternshipAdded(internship);
+        }
+    }
+
+    @Override
+    public synchronized Internship getById(String internshipID) {
+        Internship cached = cache.get(internshipID);
+        if (cached != null) {
+            return cached;
+        }
+        RecordLocation location = index.get(internshipID);
+        if (location == null) {
+            return null;
+        }
+        try {
+            Internship internship = toInternship(read(location));
+            internship.setChangeListener(writeBack);
+            cache.put(internshipID, internship);
+            return internship;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading internship " + internshipID + ": " + e.getMessage());
+            return null;
+        }
+    }
+    /**
+     * Returns a read-only list over all internships. Elements are loaded through the cache as they are
+     * accessed, so iterating a very large catalog never holds more than the cache in memory.
+     */
+    @Override
+    public synchronized List<Internship> getAll() {
+        return new LazyInternshipList(new ArrayList<>(index.keySet()));
+    }
+
+    @Override
+    public synchronized List<Internship> getByRepresentativeID(String repID) {
+        Set<String> ids = idsByRepresentative.get(repID);
+        return ids == null ? new ArrayList<>() : new LazyInternshipList(new ArrayList<>(ids));
+    }
+    /**
+     * Uses the representative index when the query names an owner, so only that owner's postings are
+     * loaded; other queries scan through the cache.
+     */
+    @Override
+    public List<Internship> query(InternshipQuery query) {
+        if (query.getRepresentativeID() == null) {
+            return IInternshipRepository.super.query(query);
+        }
+        Predicate<Internship> matches = query.toPredicate();
+        List<Internship> result = new ArrayList<>();
+        for (Internship internship : getByRepresentativeID(query.getRepresentativeID())) {
+            if (matches.test(internship)) {
+                result.add(internship);
+            }
+        }
+        return query.order(result);
+    }
+    /**
+     * Generates a unique ID for a new internship.
+     * <p>
+     * Logic: One past the highest numeric {@code INT} suffix stored in the data files.
+     * </p>
+     */
+    @Override
+    public synchronized String generateNextID() {
+        return "INT" + (nextID++);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+    /**
+     * Writes every dirty internship to the data files.
+     *
+     * @throws IOException if a record cannot be written.
+     */
+    public synchronized void flush() throws IOException {
+        for (String id : new ArrayList<>(dirty)) {
+            Internship internship = cache.get(id);
+            if (internship != null) {
+                append(internship);
+            }
+            dirty.remove(id);
+        }
+        active.channel.force(false);
+    }
+    /**
+     * Flushes dirty internships, waits for a running compaction and closes the data files.
+     * Calling this more than once is harmless.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            flush();
+            for (Segment segment : segments.values()) {
+                segment.channel.close();
+            }
+        }
+    }
+
+    // ===== Records =====
+
+    private void append(Internship internship) throws IOException {
+        StringBuilder line = new StringBuilder(256);
+        WriteAheadLog.encodeFields(line, ++sequence, WriteAheadLog.INTERNSHIP, toFields(internship));
+        line.append('\n');
+        appendRaw(internship.getInternshipID(), ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private void appendRaw(String id, ByteBuffer record) throws IOException {
+        if (active.size >= maxSegmentBytes) {
+            active.channel.force(false);
+            active = openSegment(active.id + 1);
+        }
+        int length = record.remaining();
+        long offset = active.size;
+        while (record.hasRemaining()) {
+            active.channel.write(record, offset + (length - record.remaining()));
+        }
+        active.size += length;
+        totalBytes += length;
+        track(id, new RecordLocation(active, offset, length));
+        maybeScheduleCompaction();
+    }
+
+    private void track(String id, RecordLocation location) {
+        RecordLocation previous = index.put(id, location);
+        location.segment.liveBytes += location.length;
+        if (previous != null) {
+            previous.segment.liveBytes -= previous.length;
+            garbageBytes += previous.length;
+        }
+    }
+
+    private String read(RecordLocation location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.length);
+        while (buffer.hasRemaining()) {
+            int read = location.segment.channel.read(buffer, location.offset + buffer.position());
+            if (read < 0) {
+                throw new EOFException("Record beyond end of " + location.segment.path);
+            }
+        }
+        // Drop the trailing line break
+        return new String(buffer.array(), 0, location.length - 1, StandardCharsets.UTF_8);
+    }
+
+    private static String[] toFields(Internship i) {
+        Map<String, String> applications = i.viewStudentStatuses();
+        String[] fields = new String[DETAIL_FIELDS + 3 * applications.size()];
+        fields[0] = i.getInternshipID();
+        fields[1] = i.getTitle();
+        fields[2] = i.getDescription();
+        fields[3] = i.getLevel();
+        fields[4] = i.getPreferredMajor();
+        fields[5] = i.getOpeningDate();
+        fields[6] = i.getClosingDate();
+        fields[7] = String.valueOf(i.getTotalSlots());
+        fields[8] = i.getCompanyName();
+        fields[9] = i.getRepresentativeID();
+        fields[10] = i.getStatus();
+        fields[11] = String.valueOf(i.isVisible());
+        fields[12] = String.valueOf(i.getConfirmedSlots());
+        int position = DETAIL_FIELDS;
+        for (Map.Entry<String, String> application : applications.entrySet()) {
+            fields[position++] = application.getKey();
+            fields[position++] = application.getValue();
+            fields[position++] = "Pending Withdrawal".equals(application.getValue())
+                    ? i.getWithdrawalReason(application.getKey()) : null;
+        }
+        return fields;
+    }
+    /**
+     * Rebuilds an internship from a record line. No listener is attached yet, so restoring
+     * its state does not produce change events.
+     */
+    private static Internship toInternship(String line) {
+        String[] record = WriteAheadLog.decode(line);
+        String[] f = Arrays.copyOfRange(record, 2, record.length);
+        Internship internship = new Internship(f[0], f[1], f[2], f[3], f[4], f[5], f[6],
+                Integer.parseInt(f[7]), f[8], f[9]);
+        internship.setStatus(f[10]);
+        internship.setVisible(Boolean.parseBoolean(f[11]));
+        internship.restoreConfirmedSlots(Integer.parseInt(f[12]));
+        for (int i = DETAIL_FIELDS; i + 2 < f.length; i += 3) {
+            if ("Pending Withdrawal".equals(f[i + 1])) {
+                internship.requestWithdrawal(f[i], f[i + 2]);
+            } else {
+                internship.setStudentStatus(f[i], f[i + 1]);
+            }
+        }
+        return internship;
+    }
+
+    // ===== Segments =====
+
+    private Segment openSegment(long id) throws IOException {
+        Segment segment = new Segment(id, directory.resolve(String.format("%08d%s", id, SEGMENT_SUFFIX)));
+        segments.put(id, segment);
+        return segment;
+    }
+    /**
+     * Scans one segment, pointing the index at every record it contains. Only the sequence number,
+     * ID and representative ID of each line are decoded. A torn last line (crash mid-append) is cut off
+     * so new records start on a clean line.
+     */
+    private void loadIndex(Segment segment) throws IOException {
+        long validEnd = 0;
+        byte[] buffer = new byte[1 << 16];
+        int carried = 0;
+        try (InputStream in = Files.newInputStream(segment.path)) {
+            int read;
+            while ((read = in.read(buffer, carried, buffer.length - carried)) != -1) {
+                int limit = carried + read;
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    int length = i - lineStart + 1;
+                    indexRecord(segment, validEnd, length, buffer, lineStart, i);
+                    validEnd += length;
+                    lineStart = i + 1;
+                }
+                // Keep the incomplete tail for the next read, growing the buffer for very long records
+                carried = limit - lineStart;
+                if (lineStart == 0 && carried == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                } else {
+                    System.arraycopy(buffer, lineStart, buffer, 0, carried);
+                }
+            }
+        }
+        totalBytes += validEnd;
+        if (validEnd < segment.channel.size()) {
+            segment.channel.truncate(validEnd);
+        }
+        segment.size = validEnd;
+    }
+
+    private void indexRecord(Segment segment, long offset, int length, byte[] line, int from, int to) {
+        // Field positions in a record line: 0 = sequence, 2 = internship ID, 11 = representative ID
+        String[] wanted = new String[12];
+        int field = 0;
+        int fieldStart = from;
+        for (int i = from; i <= to && field < wanted.length; i++) {
+            if (i == to || line[i] == '\t') {
+                if (field == 0 || field == 2 || field == 11) {
+                    wanted[field] = WriteAheadLog.unescape(new String(line, fieldStart, i - fieldStart, StandardCharsets.UTF_8));
+                }
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+        try {
+            String id = wanted[2];
+            if (id == null || wanted[11] == null) {
+                throw new IllegalArgumentException("incomplete record");
+            }
+            sequence = Math.max(sequence, Long.parseLong(wanted[0]));
+            idsByRepresentative.computeIfAbsent(wanted[11], r -> new LinkedHashSet<>()).add(id);
+            reserveID(id);
+            track(id, new RecordLocation(segment, offset, length));
+        } catch (RuntimeException e) {
+            System.err.println("Skipping unreadable record at byte " + offset + " of " + segment.path);
+            garbageBytes += length;
+        }
+    }
+
+    private void maybeScheduleCompaction() {
+        if (!compactionQueued && garbageBytes >= MIN_COMPACTION_GARBAGE_BYTES && garbageBytes * 2 > totalBytes
+                && !compactor.isShutdown()) {
+            compactionQueued = true;
+            compactor.execute(this::compact);
+        }
+    }
+    /**
+     * Copies the live records of every closed segment into the active one, then deletes the old files.
+     * Each record is copied under the repository lock, so reads and writes continue in between.
+     */
+    private void compact() {
+        List<Segment> oldSegments;
+        synchronized (this) {
+            try {
+                // Start a fresh active segment so every existing file can be compacted
+                active.channel.force(false);
+                active = openSegment(active.id + 1);
+            } catch (IOException e) {
+                System.err.println("Error starting compaction of " + directory + ": " + e.getMessage());
+                compactionQueued = false;
+                return;
+            }
+            oldSegments = new ArrayList<>(segments.headMap(active.id).values());
+        }
+
+        for (Segment segment : oldSegments) {
+            try {
+                List<Map.Entry<String, RecordLocation>> live = new ArrayList<>();
+                synchronized (this) {
+                    for (Map.Entry<String, RecordLocation> entry : index.entrySet()) {
+                        if (entry.getValue().segment == segment) {
+                            live.add(new AbstractMap.SimpleEntry<>(entry.getKey(), entry.getValue()));
+                        }
+                    }
+                }
+                for (Map.Entry<String, RecordLocation> entry : live) {
+                    synchronized (this) {
+                        // Skip records overwritten since the list was taken
+                        if (index.get(entry.getKey()) == entry.getValue()) {
+                            ByteBuffer record = ByteBuffer.wrap((read(entry.getValue()) + "\n").getBytes(StandardCharsets.UTF_8));
+                            appendRaw(entry.getKey(), record);
+                        }
+                    }
+                }
+                synchronized (this) {
+                    active.channel.force(false);
+                    segments.remove(segment.id);
+                    totalBytes -= segment.size;
+                    garbageBytes -= segment.size - segment.liveBytes;
+                    segment.channel.close();
+                    Files.deleteIfExists(segment.path);
+                }
+            } catch (IOException e) {
+                System.err.println("Error compacting " + segment.path + ": " + e.getMessage());
+                break;
+            }
+        }
+        synchronized (this) {
+            compactionQueued = false;
+        }
+    }
+
+    // ===== Cache =====
+
+    /** Called by the cache for its least recently used entry; dirty internships are written first. */
+    private boolean evict(Internship internship) {
+        if (dirty.remove(internship.getInternshipID())) {
+            try {
+                append(internship);
+            } catch (IOException e) {
+                dirty.add(internship.getInternshipID());
+                System.err.println("Error writing internship " + internship.getInternshipID() + ": " + e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private synchronized void markDirty(Internship internship) {
+        String id = internship.getInternshipID();
+        dirty.add(id);
+        if (cache.get(id) != internship) {
+            // Changed after eviction through a reference someone kept: that copy is now the latest
+            cache.put(id, internship);
+        }
+    }
+
+    private void reserveID(String internshipID) {
+        if (internshipID != null && internshipID.startsWith("INT")) {
+            try {
+                nextID = Math.max(nextID, Integer.parseInt(internshipID.substring(3)) + 1);
+            } catch (NumberFormatException ignored) {
+                // Not a generated ID; nothing to reserve
+            }
+        }
+    }
+    /**
+     * Attached to every internship handed out: pins it as dirty and forwards the event.
+     */
+    private class WriteBackListener implements IEntityChangeListener {
+        @Override
+        public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+            markDirty(internship);
+            if (changeListener != null) {
+                changeListener.onInternshipChanged(internship, field, oldValue);
+            }
+        }
+
+        @Override
+        public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+            markDirty(internship);
+            if (changeListener != null) {
+                changeListener.onApplicationChanged(internship, studentID, oldStatus, newStatus);
+            }
+        }
+    }
+    /**
+     * List view whose elements are fetched through {@link #getById} on access.
+     */
+    private class LazyInternshipList extends AbstractList<Internship> implements RandomAccess {
+        private final List<String> ids;
+
+        LazyInternshipList(List<String> ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public Internship get(int position) {
+            return getById(ids.get(position));
+        }
+
+        @Override
+        public int size() {
+            return ids.size();
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final Path path;
+        final FileChannel channel;
+        long size;
+        long liveBytes;
+
+        Segment(long id, Path path) throws IOException {
+            this.id = id;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+    }
+
+    private static final class RecordLocation {
+        final Segment segment;
+        final long offset;
+        final int length;
+
+        RecordLocation(Segment segment, long offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+}
@@ -1,3 +1,6 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.*;
 /**
  * The Entry Point of the Internship Management System (IMS).
@@ -13,7 +16,7 @@ import java.util.*;
  * <li><b>Instantiation:</b> Creates concrete instances of all Services, Repositories, and Utilities.</li>
  * <li><b>Data Loading:</b> Triggers the {@link CSVDataLoader} to populate memory from files.</li>
  * <li><b>Dependency Injection:</b> Passes these instances into constructors (e.g., giving the Repo to the Service).</li>
- * <li><b>Lifecycle Management:</b> Registers the Shutdown Hook to ensure data is saved via {@link CSVDataSaver} on exit.</li>
+ * <li><b>Lifecycle Management:</b> Registers the Shutdown Hook to ensure data is saved via {@link IncrementalDataSaver} on exit.</li>
  * </ol>
  * </p>
  */
@@ -23,39 +26,308 @@ public class Main {
 
         IOutputService outputService = new ConsoleOutputService();
 
-        IUserRepository<Student> studentRepo = new UserRepository<>();
-        IUserRepository<CompanyRepresentative> companyRepo = new UserRepository<>();
-        IUserRepository<CareerCenterStaff> staffRepo = new UserRepository<>();
-        IInternshipRepository internshipRepo = new InternshipRepository();
+        // Every repository reports entity changes to one chain; subscribers are attached below
+        EntityChangeListenerChain changeListeners = new EntityChangeListenerChain();
+
+        IUserRepository<Student> studentRepo = new UserRepository<>(changeListeners);
+        IUserRepository<CompanyRepresentative> companyRepo = new UserRepository<>(changeListeners);
+        IUserRepository<CareerCenterStaff> staffRepo = new UserRepository<>(changeListeners);
+        IInternshipRepository internshipRepo = null;
+        // -Dims.jdbc.url=jdbc:h2:./ims-db keeps every repository in an embedded database (driver on the classpath)
+        JdbcStatementCache database = openDatabase(System.getProperty("ims.jdbc.url"));
+        if (database != null) {
+            try {
+                studentRepo = new JdbcUserRepository<>(database, UserTableMappings.STUDENTS, changeListeners);
+                companyRepo = new JdbcUserRepository<>(database, UserTableMappings.COMPANY_REPS, changeListeners);
+                staffRepo = new JdbcUserRepository<>(database, UserTableMappings.STAFF, changeListeners);
+                internshipRepo = new JdbcInternshipRepository(database, changeListeners);
+            } catch (SQLException e) {
+                System.err.println("Error creating database schema: " + e.getMessage() + " (falling back to memory)");
+                studentRepo = new UserRepository<>(changeListeners);
+                companyRepo = new UserRepository<>(changeListeners);
+                staffRepo = new UserRepository<>(changeListeners);
+                database.close();
+                database = null;
+            }
+        }
+        if (internshipRepo == null) {
+            internshipRepo = openInternshipRepository(changeListeners);
+        }
+        // -Dims.data.format=binary reads the .bin files produced by BinaryDataConverter instead of the CSVs
+        boolean binaryData = "binary".equalsIgnoreCase(System.getProperty("ims.data.format", "csv"));
+        // -Dims.students.store=lazy indexes the student CSV at boot and reads each student on first use
+        if (database == null && !binaryData
+                && "lazy".equalsIgnoreCase(System.getProperty("ims.students.store", "memory"))) {
+            studentRepo = new LazyStudentRepository(
+                    Integer.getInteger("ims.students.cacheSize", LazyStudentRepository.DEFAULT_CACHE_SIZE), changeListeners);
+        }
+        final JdbcStatementCache openDatabase = database;
+        final IUserRepository<Student> openStudents = studentRepo;
+        final IInternshipRepository openInternships = internshipRepo;
 
         IAuthenticationService authService = new AuthenticationService(outputService);
         ((AuthenticationService) authService).setCompanyRepository(companyRepo);
+        ((AuthenticationService) authService).setChangeListener(changeListeners);
 
-        IApplicationService applicationService = new ApplicationService(studentRepo, internshipRepo, outputService);
-        IApprovalService approvalService = new ApprovalService(companyRepo, internshipRepo, outputService);
-        IDataLoader dataLoader = new CSVDataLoader();
-        IDataSaver dataSaver = new CSVDataSaver();
+        ApplicationStore applicationStore = new ApplicationStore();
+        PlacementIndex placementIndex = new PlacementIndex();
+        PendingWorkQueues pendingWork = new PendingWorkQueues();
+        EligibilityIndex eligibility = new EligibilityIndex();
+        IApplicationService applicationService = new ApplicationService(
+                studentRepo, internshipRepo, applicationStore, placementIndex, pendingWork, eligibility, outputService);
+        IApprovalService approvalService = new ApprovalService(companyRepo, internshipRepo, pendingWork, outputService);
+        // CSV files are split into chunks that are parsed in parallel
+        IDataLoader dataLoader = binaryData ? new BinaryDataLoader() : new MappedCSVDataLoader();
+        // CSV saves append only the records that changed since the last save. The representative file is
+        // the only one saved; everything else is persisted by the write-ahead log and snapshots.
+        IncrementalDataSaver incrementalSaver = binaryData ? null
+                : new IncrementalDataSaver(EnumSet.of(IncrementalDataSaver.Kind.COMPANY_REPS));
+        // Saves are queued and written by a background thread, so no menu action waits for the disk
+        WriteBehindDataSaver dataSaver = new WriteBehindDataSaver(
+                binaryData ? new BinaryDataSaver() : incrementalSaver,
+                Long.getLong("ims.save.flushIntervalMs", WriteBehindDataSaver.DEFAULT_FLUSH_INTERVAL_MILLIS),
+                Integer.getInteger("ims.save.batchSize", WriteBehindDataSaver.DEFAULT_BATCH_SIZE),
+                Integer.getInteger("ims.save.queueCapacity", WriteBehindDataSaver.DEFAULT_CAPACITY));
+        String studentFile = binaryData ? BinaryDataConverter.toBinaryName(BinaryDataConverter.STUDENT_CSV) : BinaryDataConverter.STUDENT_CSV;
+        String companyFile = binaryData ? BinaryDataConverter.toBinaryName(BinaryDataConverter.COMPANY_CSV) : BinaryDataConverter.COMPANY_CSV;
+        String staffFile = binaryData ? BinaryDataConverter.toBinaryName(BinaryDataConverter.STAFF_CSV) : BinaryDataConverter.STAFF_CSV;
 
+        InternshipSearchIndex searchIndex = new InternshipSearchIndex();
+        InternshipBitmapIndex bitmapIndex = new InternshipBitmapIndex();
+        InternshipQueryPlanner planner = new InternshipQueryPlanner(internshipRepo, bitmapIndex, searchIndex, eligibility);
         MenuControllerFactory controllerFactory = new MenuControllerFactory(
                 applicationService, approvalService, studentRepo, companyRepo,
-                staffRepo, internshipRepo, outputService, authService, scanner);
+                staffRepo, internshipRepo, planner, outputService, authService, scanner);
 
         InternshipManagementSystem system = new InternshipManagementSystem(
                 authService, studentRepo, companyRepo, staffRepo, internshipRepo,
                 applicationService, approvalService, dataLoader, outputService,
                 controllerFactory, scanner);
 
-        system.loadInitialData(
-                "sample_student_list.csv",
-                "sample_company_representative_list.csv",
-                "sample_staff_list.csv"
-        );
+        String walFile = System.getProperty("ims.wal.file", WriteAheadLog.DEFAULT_FILE);
+        String snapshotFile = System.getProperty("ims.snapshot.file", SnapshotManager.DEFAULT_FILE);
+        SnapshotManager snapshotManager = new SnapshotManager(snapshotFile, walFile,
+                studentRepo, companyRepo, staffRepo, internshipRepo, (AuthenticationService) authService,
+                Integer.getInteger("ims.snapshot.everyMutations", SnapshotManager.DEFAULT_SNAPSHOT_EVERY_MUTATIONS));
+        system.setSnapshotManager(snapshotManager);
+
+        if (!system.loadInitialData(studentFile, companyFile, staffFile)) {
+            // Nothing has been written yet; leave the snapshot and log untouched for inspection
+            System.err.println("Startup aborted: the saved state could not be recovered. Restore or move "
+                    + snapshotFile + " and " + walFile + " to start again from the data files.");
+            closeRepository(studentRepo);
+            closeRepository(internshipRepo);
+            if (database != null) {
+                database.close();
+            }
+            System.exit(1);
+        }
+        // Indexed once from the loaded (and recovered) internships, then kept current by change events
+        applicationStore.rebuild(internshipRepo.viewAll());
+        changeListeners.addListener(applicationStore);
+        // Placements are never in the student file, so a lazy repository only needs its changed students scanned
+        placementIndex.rebuild(studentRepo instanceof LazyStudentRepository
+                ? ((LazyStudentRepository) studentRepo).getPinned() : studentRepo.viewAll());
+        changeListeners.addListener(placementIndex);
+        pendingWork.rebuild(companyRepo.viewAll(), internshipRepo.viewAll());
+        changeListeners.addListener(pendingWork);
+        searchIndex.rebuild(internshipRepo.viewAll());
+        changeListeners.addListener(searchIndex);
+        eligibility.rebuild(internshipRepo.viewAll());
+        changeListeners.addListener(eligibility);
+        bitmapIndex.rebuild(internshipRepo.viewAll());
+        changeListeners.addListener(bitmapIndex);
+
+        // Attached after the initial load so that boot data is neither logged nor marked dirty again
+        if (incrementalSaver != null) {
+            changeListeners.addListener(incrementalSaver);
+        }
+        CompanyRepSaveTrigger repSaveTrigger = new CompanyRepSaveTrigger(dataSaver, companyRepo.viewAll(), companyFile);
+        changeListeners.addListener(repSaveTrigger);
+        WriteAheadLog writeAheadLog = openWriteAheadLog(walFile);
+        if (writeAheadLog != null) {
+            writeAheadLog.advanceLSN(snapshotManager.getRecoveredLSN());
+            changeListeners.addListener(writeAheadLog);
+            snapshotManager.attach(writeAheadLog);
+            changeListeners.addListener(snapshotManager);
+        }
+        final WriteAheadLog openLog = writeAheadLog;
+        // Ctrl+C or a terminated session still flushes whatever is queued
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (openLog != null) {
+                try {
+                    openLog.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing write-ahead log: " + e.getMessage());
+                }
+            }
+            dataSaver.close();
+            if (incrementalSaver != null) {
+                incrementalSaver.close();
+            }
+            closeRepository(openStudents);
+            closeRepository(openInternships);
+            if (openDatabase != null) {
+                openDatabase.close();
+            }
+        }, "ims-shutdown-flush"));
 
         system.run();
 
         System.out.println("Saving data...");
-        dataSaver.saveCompanyReps("sample_company_representative_list.csv", companyRepo.getAll());
+        repSaveTrigger.save();
+        dataSaver.close();
+        System.out.println(dataSaver.getMetricsSummary());
+        if (incrementalSaver != null) {
+            incrementalSaver.close();
+        }
 
+        if (writeAheadLog != null) {
+            try {
+                // A clean exit leaves a fresh snapshot and an empty log, so the next boot replays nothing
+                snapshotManager.takeSnapshot();
+                writeAheadLog.close();
+            } catch (IOException e) {
+                System.err.println("Error closing write-ahead log: " + e.getMessage());
+            }
+        }
+
+        closeRepository(studentRepo);
+        closeRepository(internshipRepo);
+        if (database != null) {
+            database.close();
+        }
         scanner.close();
     }
+    /**
+     * Chooses the internship storage. {@code -Dims.internships.store=log} keeps the catalog in the
+     * on-disk {@link LogStructuredInternshipRepository} (directory {@code ims.internships.dir}, cache size
+     * {@code ims.internships.cacheSize}); otherwise it is held in memory.
+     */
+    private static IInternshipRepository openInternshipRepository(IEntityChangeListener changeListener) {
+        if ("log".equalsIgnoreCase(System.getProperty("ims.internships.store", "memory"))) {
+            String directory = System.getProperty("ims.internships.dir", LogStructuredInternshipRepository.DEFAULT_DIRECTORY);
+            try {
+                return new LogStructuredInternshipRepository(directory,
+                        Integer.getInteger("ims.internships.cacheSize", LogStructuredInternshipRepository.DEFAULT_CACHE_SIZE),
+                        LogStructuredInternshipRepository.DEFAULT_MAX_SEGMENT_BYTES, changeListener);
+            } catch (IOException e) {
+                System.err.println("Error opening internship store " + directory + ": " + e.getMessage()
+                        + " (falling back to memory)");
+            }
+        }
+        return new InternshipRepository(changeListener);
+    }
+
+    /**
+     * Connects to the embedded database named by {@code ims.jdbc.url}.
+     *
+     * @return The connection, or {@code null} if no URL is set or the connection fails.
+     */
+    private static JdbcStatementCache openDatabase(String url) {
+        if (url == null || url.isEmpty()) {
+            return null;
+        }
+        try {
+            return new JdbcStatementCache(url);
+        } catch (SQLException e) {
+            System.err.println("Error connecting to " + url + ": " + e.getMessage() + " (falling back to memory)");
+            return null;
+        }
+    }
+
+    private static void closeRepository(Object repository) {
+        if (repository instanceof Closeable) {
+            try {
+                ((Closeable) repository).close();
+            } catch (IOException e) {
+                System.err.println("Error closing " + repository.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+    /**
+     * Opens the mutation log with the group commit settings from the
+     * {@code ims.wal.syncIntervalMs} and {@code ims.wal.syncBatchSize} system properties.
+     *
+     * @param file The log file ({@code ims.wal.file}, default {@value WriteAheadLog#DEFAULT_FILE}).
+     * @return The open log, or {@code null} if it could not be opened (the system still runs, unlogged).
+     */
+    private static WriteAheadLog openWriteAheadLog(String file) {
+        long syncInterval = Long.getLong("ims.wal.syncIntervalMs", WriteAheadLog.DEFAULT_SYNC_INTERVAL_MILLIS);
+        int syncBatch = Integer.getInteger("ims.wal.syncBatchSize", WriteAheadLog.DEFAULT_SYNC_BATCH_SIZE);
+        try {
+            return new WriteAheadLog(file, syncInterval, syncBatch);
+        } catch (IOException e) {
+            System.err.println("Error opening write-ahead log " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+    /**
+     * Queues a save of the representative file whenever a representative is added or changes
+     * (registration, approval, rejection), instead of only saving once at exit.
+     * <p>
+     * The trigger keeps a detached copy of every representative's saved fields, refreshed one representative
+     * per event. The flusher thread only ever reads those copies, never the live objects, and builds the
+     * list once per write instead of once per event.
+     * </p>
+     */
+    private static class CompanyRepSaveTrigger implements IEntityChangeListener {
+        private final WriteBehindDataSaver saver;
+        private final String companyFile;
+        private final Map<String, CompanyRepresentative> rows = new LinkedHashMap<>();
+
+        CompanyRepSaveTrigger(WriteBehindDataSaver saver, Collection<CompanyRepresentative> reps, String companyFile) {
+            this.saver = saver;
+            this.companyFile = companyFile;
+            for (CompanyRepresentative rep : reps) {
+                rows.put(rep.getUserID(), detach(rep));
+            }
+        }
+        /**
+         * Queues a save of the current copies.
+         */
+        void save() {
+            saver.saveCompanyReps(companyFile, this::snapshot);
+        }
+
+        private synchronized List<CompanyRepresentative> snapshot() {
+            return new ArrayList<>(rows.values());
+        }
+
+        // Only the fields written to the representative file; nothing listens to the copy
+        private static CompanyRepresentative detach(CompanyRepresentative rep) {
+            CompanyRepresentative copy = new CompanyRepresentative(rep.getUserID(), rep.getName(),
+                    rep.getCompanyName(), rep.getDepartment(), rep.getPosition(), rep.getEmail());
+            copy.setStatus(rep.getStatus());
+            return copy;
+        }
+
+        @Override
+        public void onUserAdded(User user) {
+            if (user instanceof CompanyRepresentative) {
+                synchronized (this) {
+                    rows.put(user.getUserID(), detach((CompanyRepresentative) user));
+                }
+                save();
+            }
+        }
+
+        @Override
+        public void onUserChanged(User user, String field, Object oldValue) {
+            // A representative's internship list is not part of the file
+            if (!IEntityChangeListener.FIELD_INTERNSHIPS.equals(field)) {
+                onUserAdded(user);
+            }
+        }
+
+        @Override
+        public void onUserRemoved(User user) {
+            if (user instanceof CompanyRepresentative) {
+                synchronized (this) {
+                    rows.remove(user.getUserID());
+                }
+                save();
+            }
+        }
+    }
 }
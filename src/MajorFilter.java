@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * A concrete filter that selects internships based on the preferred major.
  */
@@ -24,12 +25,30 @@ public class MajorFilter implements IInternshipFilter {
             return internships;
         }
 
+        int code = StringDictionary.MAJORS.lookup(major);
         List<Internship> result = new ArrayList<>();
         for (Internship i : internships) {
-            if (i.getPreferredMajor().equalsIgnoreCase(major)) {
+            if (i.getPreferredMajorCode() == code) {
                 result.add(i);
             }
         }
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CompressedBitmap select(InternshipBitmapIndex index) {
+        if ("all".equals(major)) {
+            return index.all();
+        }
+        return index.major(StringDictionary.MAJORS.lookup(major));
+    }
+
+    @Override
+    public Predicate<Internship> asPredicate() {
+        if ("all".equals(major)) {
+            return i -> true;
+        }
+        int code = StringDictionary.MAJORS.lookup(major);
+        return i -> i.getPreferredMajorCode() == code;
+    }
+}
@@ -0,0 +1,336 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+/**
+ * Parallel Data Loader strategy for very large Comma-Separated Value (CSV) files.
+ * <p>
+ * <b>Architectural Role:</b>
+ * Like {@link CSVDataLoader}, this class belongs to the <b>Persistence Layer (Read Side)</b> and can be
+ * swapped in wherever an {@link IDataLoader} is expected. It produces exactly the same entities,
+ * because both loaders share the row converters in {@link CSVDataLoader} and the
+ * {@link CSVRecordReader} tokenizer.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Memory Mapping:</b> The file is mapped with {@link FileChannel#map}, so the OS pages it in
+ * on demand instead of copying it through a {@code BufferedReader}.</li>
+ * <li><b>Chunking:</b> The byte range is cut into roughly equal chunks. Each cut is moved forward to the
+ * next line break that ends a record. Whether a byte is inside a quoted field follows the same rules as
+ * {@link CSVRecordReader} (a quote only opens a field at its start), tracked by a small state machine.
+ * Every chunk is scanned in parallel from each possible start state, and the resulting state mappings
+ * are chained in file order to find the exact state at every cut, so quoted names with embedded commas,
+ * quotes or line breaks and stray quotes inside unquoted fields are all safe.</li>
+ * <li><b>Fork-Join Parsing:</b> Chunks are parsed concurrently on a {@link ForkJoinPool}.</li>
+ * <li><b>Ordered Merge:</b> Per-chunk results are concatenated in file order, so callers see the same
+ * order as the sequential loader.</li>
+ * </ol>
+ * </p>
+ */
+public class MappedCSVDataLoader implements IDataLoader {
+    private static final long MIN_CHUNK_BYTES = 1L << 20;       // 1 MB
+    private static final long MAX_CHUNK_BYTES = 1L << 30;       // a single mapping must stay below 2 GB
+
+    private final ForkJoinPool pool;
+    private final boolean reportLoadStats;
+    /**
+     * Creates a loader that parses on the common fork-join pool and prints throughput reports.
+     */
+    public MappedCSVDataLoader() {
+        this(ForkJoinPool.commonPool(), true);
+    }
+    /**
+     * Creates a loader.
+     *
+     * @param pool            The pool that chunks are parsed on.
+     * @param reportLoadStats {@code true} to print rows/s and bytes/s after each file.
+     */
+    public MappedCSVDataLoader(ForkJoinPool pool, boolean reportLoadStats) {
+        this.pool = pool;
+        this.reportLoadStats = reportLoadStats;
+    }
+
+    @Override
+    public List<Student> loadStudents(String filename) {
+        return CSVDataLoader.applySegments(filename, load(filename, CSVDataLoader.STUDENT_COLUMNS, CSVDataLoader::toStudent),
+                CSVDataLoader.STUDENT_COLUMNS, CSVDataLoader::toStudent, Student::getUserID);
+    }
+
+    @Override
+    public List<CompanyRepresentative> loadCompanyReps(String filename) {
+        return CSVDataLoader.applySegments(filename, load(filename, CSVDataLoader.COMPANY_REP_COLUMNS, CSVDataLoader::toCompanyRep),
+                CSVDataLoader.COMPANY_REP_COLUMNS, CSVDataLoader::toCompanyRep, CompanyRepresentative::getUserID);
+    }
+
+    @Override
+    public List<CareerCenterStaff> loadStaff(String filename) {
+        return CSVDataLoader.applySegments(filename, load(filename, CSVDataLoader.STAFF_COLUMNS, CSVDataLoader::toStaff),
+                CSVDataLoader.STAFF_COLUMNS, CSVDataLoader::toStaff, CareerCenterStaff::getUserID);
+    }
+
+    @Override
+    public List<Internship> loadInternships(String filename) {
+        return CSVDataLoader.applySegments(filename, load(filename, CSVDataLoader.INTERNSHIP_COLUMNS, CSVDataLoader::toInternship),
+                CSVDataLoader.INTERNSHIP_COLUMNS, CSVDataLoader::toInternship, Internship::getInternshipID);
+    }
+    /**
+     * Maps, splits and parses a file, returning its data rows converted into entities.
+     *
+     * @param filename The CSV file.
+     * @param columns  The header names to project, in the order the mapper expects.
+     * @param mapper   Converts one row of fields into an entity.
+     * @return The entities in file order (header excluded).
+     */
+    private <T> List<T> load(String filename, String[] columns, Function<String[], T> mapper) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long[] cuts = findChunkBoundaries(channel, size);
+            // Every chunk projects the same columns, so the header is resolved before the chunks are split off
+            String[] header = readHeader(channel);
+
+            List<ChunkTask<T>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < cuts.length; i++) {
+                tasks.add(new ChunkTask<>(channel, filename, cuts[i], cuts[i + 1], i == 0,
+                        header != null ? header : columns, columns, mapper));
+            }
+            for (ChunkTask<T> task : tasks) {
+                pool.execute(task);
+            }
+
+            List<T> result = new ArrayList<>();
+            for (ChunkTask<T> task : tasks) {
+                result.addAll(task.join());
+            }
+
+            if (reportLoadStats) {
+                CSVDataLoader.printLoadReport(filename, result.size(), size, System.nanoTime() - start);
+            }
+            return result;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Error reading file: " + filename);
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+    /**
+     * Computes chunk cut points that always fall just after a line break outside quotes.
+     *
+     * @return Ascending offsets, starting at 0 and ending at {@code size}.
+     */
+    private long[] findChunkBoundaries(FileChannel channel, long size) throws IOException {
+        int parallelism = Math.max(1, pool.getParallelism());
+        long chunkBytes = Math.max(MIN_CHUNK_BYTES, size / (parallelism * 4L) + 1);
+        chunkBytes = Math.min(chunkBytes, MAX_CHUNK_BYTES);
+        int rawChunks = (int) Math.max(1, (size + chunkBytes - 1) / chunkBytes);
+        if (rawChunks == 1) {
+            return new long[]{0, size};
+        }
+
+        // 1. Scan each raw range in parallel from every start state
+        List<Callable<byte[]>> scanners = new ArrayList<>();
+        for (int i = 0; i < rawChunks; i++) {
+            long from = i * chunkBytes;
+            long to = Math.min(size, from + chunkBytes);
+            scanners.add(() -> transitions(channel.map(FileChannel.MapMode.READ_ONLY, from, to - from), from == 0));
+        }
+        byte[] stateAtCut = new byte[rawChunks];
+        byte state = FIELD_START;
+        int index = 0;
+        for (Future<byte[]> scan : pool.invokeAll(scanners)) {
+            stateAtCut[index++] = state;
+            try {
+                state = scan.get()[state];
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IOException("Failed to scan " + size + " bytes for quotes", e);
+            }
+        }
+
+        // 2. Move every raw cut forward to the next line break that ends a record
+        List<Long> cuts = new ArrayList<>();
+        cuts.add(0L);
+        for (int i = 1; i < rawChunks; i++) {
+            long cut = nextRecordStart(channel, i * chunkBytes, size, stateAtCut[i]);
+            if (cut > cuts.get(cuts.size() - 1) && cut < size) {
+                cuts.add(cut);
+            }
+        }
+        cuts.add(size);
+
+        long[] result = new long[cuts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = cuts.get(i);
+        }
+        return result;
+    }
+
+    private static String[] readHeader(FileChannel channel) throws IOException {
+        CSVRecordReader reader = new CSVRecordReader(Channels.newInputStream(channel.position(0)), 4096);
+        return reader.readRecord();
+    }
+
+    // Quote states of CSVRecordReader at a byte boundary
+    private static final byte FIELD_START = 0;      // nothing but whitespace read in this field yet
+    private static final byte UNQUOTED = 1;         // inside an unquoted field; a quote here is a literal
+    private static final byte IN_QUOTES = 2;        // inside a quoted field
+    private static final byte QUOTE_IN_QUOTES = 3;  // a quote inside a quoted field: escaped or closing
+    private static final byte AFTER_QUOTES = 4;     // after the closing quote, until the next separator
+    private static final int STATES = 5;
+
+    // Byte classes
+    private static final int OTHER = 0;
+    private static final int COMMA = 1;
+    private static final int NEWLINE = 2;
+    private static final int QUOTE = 3;
+    private static final int SPACE = 4;             // space, tab and carriage return never change the state
+
+    private static final byte[][] NEXT_STATE = {
+            // OTHER, COMMA, NEWLINE, QUOTE, SPACE
+            {UNQUOTED, FIELD_START, FIELD_START, IN_QUOTES, FIELD_START},           // FIELD_START
+            {UNQUOTED, FIELD_START, FIELD_START, UNQUOTED, UNQUOTED},               // UNQUOTED
+            {IN_QUOTES, IN_QUOTES, IN_QUOTES, QUOTE_IN_QUOTES, IN_QUOTES},          // IN_QUOTES
+            {AFTER_QUOTES, FIELD_START, FIELD_START, IN_QUOTES, AFTER_QUOTES},      // QUOTE_IN_QUOTES
+            {AFTER_QUOTES, FIELD_START, FIELD_START, AFTER_QUOTES, AFTER_QUOTES},   // AFTER_QUOTES
+    };
+
+    private static int byteClass(byte b) {
+        switch (b) {
+            case ',': return COMMA;
+            case '\n': return NEWLINE;
+            case '"': return QUOTE;
+            case ' ':
+            case '\t':
+            case '\r': return SPACE;
+            default: return OTHER;
+        }
+    }
+    /**
+     * Runs the quote state machine over a range once for every possible start state.
+     *
+     * @param fileStart {@code true} if the range starts the file, whose byte order mark the reader skips.
+     * @return The end state for each start state.
+     */
+    private static byte[] transitions(ByteBuffer buffer, boolean fileStart) {
+        if (fileStart && buffer.remaining() >= 3 && (buffer.get(0) & 0xFF) == 0xEF
+                && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+            buffer.position(3);
+        }
+        byte[] states = new byte[STATES];
+        for (byte start = 0; start < STATES; start++) {
+            states[start] = start;
+        }
+        while (buffer.hasRemaining()) {
+            int type = byteClass(buffer.get());
+            for (int start = 0; start < STATES; start++) {
+                states[start] = NEXT_STATE[states[start]][type];
+            }
+        }
+        return states;
+    }
+    /**
+     * @return The offset just after the first line break at or after {@code from} that ends a record.
+     */
+    private static long nextRecordStart(FileChannel channel, long from, long size, byte state) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        long position = from;
+        while (position < size) {
+            window.clear();
+            int read = channel.read(window, position);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                byte b = window.get(i);
+                state = NEXT_STATE[state][byteClass(b)];
+                if (b == '\n' && state == FIELD_START) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+    /**
+     * Parses a single newline-aligned byte range of the file.
+     */
+    private static class ChunkTask<T> extends RecursiveTask<List<T>> {
+        // ForkJoinTask is Serializable, but tasks are only ever run in-process and never serialized
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final String filename;
+        private final long from;
+        private final long to;
+        private final boolean containsHeader;
+        private final String[] header;
+        private final String[] columns;
+        private final Function<String[], T> mapper;
+
+        ChunkTask(FileChannel channel, String filename, long from, long to, boolean containsHeader,
+                  String[] header, String[] columns, Function<String[], T> mapper) {
+            this.channel = channel;
+            this.filename = filename;
+            this.from = from;
+            this.to = to;
+            this.containsHeader = containsHeader;
+            this.header = header;
+            this.columns = columns;
+            this.mapper = mapper;
+        }
+
+        @Override
+        protected List<T> compute() {
+            List<T> rows = new ArrayList<>();
+            try {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                CSVRecordReader reader = new CSVRecordReader(new ByteBufferInputStream(region));
+                if (containsHeader) {
+                    reader.readRecord(); // Skip header row
+                }
+                reader.setProjection(header, columns);
+
+                String[] data;
+                while ((data = reader.readRecord()) != null) {
+                    try {
+                        rows.add(mapper.apply(data));
+                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                        System.err.println("Skipping malformed row at byte " + from + "+" + reader.getBytesConsumed()
+                                + " in " + filename);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return rows;
+        }
+    }
+    /**
+     * Adapts a mapped region to the {@link InputStream} expected by {@link CSVRecordReader}.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(target, offset, count);
+            return count;
+        }
+    }
+}
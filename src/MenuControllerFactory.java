@@ -14,6 +14,7 @@ public class MenuControllerFactory {
     private final IUserRepository<CompanyRepresentative> companyRepo;
     private final IUserRepository<CareerCenterStaff> staffRepo;
     private final IInternshipRepository internshipRepo;
+    private final InternshipQueryPlanner planner;
     private final IOutputService outputService;
     private final IAuthenticationService authService;
     private final Scanner scanner;
@@ -30,6 +31,7 @@ public class MenuControllerFactory {
                                  IUserRepository<CompanyRepresentative> companyRepo,
                                  IUserRepository<CareerCenterStaff> staffRepo,
                                  IInternshipRepository internshipRepo,
+                                 InternshipQueryPlanner planner,
                                  IOutputService outputService,
                                  IAuthenticationService authService,
                                  Scanner scanner) {
@@ -39,6 +41,7 @@ public class MenuControllerFactory {
         this.companyRepo = companyRepo;
         this.staffRepo = staffRepo;
         this.internshipRepo = internshipRepo;
+        this.planner = planner;
         this.outputService = outputService;
         this.authService = authService;
         this.scanner = scanner;
@@ -47,13 +50,13 @@ public class MenuControllerFactory {
     public IMenuController createController(User user) {
         if (user instanceof Student) {
             return new StudentMenuController((Student) user, applicationService,
-                    internshipRepo, outputService, authService, scanner);
+                    internshipRepo, planner, outputService, authService, scanner);
         } else if (user instanceof CompanyRepresentative) {
             return new CompanyRepMenuController((CompanyRepresentative) user,
-                    internshipRepo, applicationService, outputService, authService, scanner);
+                    internshipRepo, planner, applicationService, outputService, authService, scanner);
         } else if (user instanceof CareerCenterStaff) {
             return new StaffMenuController((CareerCenterStaff) user, approvalService,
-                    applicationService, companyRepo, studentRepo, internshipRepo,
+                    applicationService, companyRepo, studentRepo, internshipRepo, planner,
                     outputService, authService, scanner);
         }
         throw new IllegalArgumentException("Unknown user type");
@@ -0,0 +1,148 @@
+import java.util.*;
+/**
+ * Applies decoded {@link WriteAheadLog} records to the repositories.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is the <b>Recovery</b> half of the persistence layer. The same record format is used
+ * by the write-ahead log and by {@link SnapshotManager} snapshots, so one applier rebuilds state from
+ * both: a snapshot is simply a compact sequence of records describing every entity.
+ * </p>
+ * <p>
+ * Records are after-images, so applying them in order always converges on the logged state.
+ * Records that refer to unknown entities (e.g. a corrupted tail) are skipped rather than aborting recovery.
+ * </p>
+ */
+public class MutationReplayer {
+    private final IUserRepository<Student> studentRepo;
+    private final IUserRepository<CompanyRepresentative> companyRepo;
+    private final IUserRepository<CareerCenterStaff> staffRepo;
+    private final IInternshipRepository internshipRepo;
+    private final AuthenticationService authService;
+    private long skippedRecords;
+
+    public MutationReplayer(IUserRepository<Student> studentRepo,
+                            IUserRepository<CompanyRepresentative> companyRepo,
+                            IUserRepository<CareerCenterStaff> staffRepo,
+                            IInternshipRepository internshipRepo,
+                            AuthenticationService authService) {
+        this.studentRepo = studentRepo;
+        this.companyRepo = companyRepo;
+        this.staffRepo = staffRepo;
+        this.internshipRepo = internshipRepo;
+        this.authService = authService;
+    }
+
+    public long getSkippedRecords() {
+        return skippedRecords;
+    }
+    /**
+     * Applies a single record.
+     *
+     * @param record {@code [LSN, TYPE, field...]} as produced by {@link WriteAheadLog#decode}.
+     */
+    public void apply(String[] record) {
+        try {
+            applyRecord(record[1], Arrays.copyOfRange(record, 2, record.length));
+        } catch (RuntimeException e) {
+            // Malformed or dangling record (e.g. torn tail after a crash): skip it
+            skippedRecords++;
+        }
+    }
+
+    private void applyRecord(String type, String[] f) {
+        switch (type) {
+            case WriteAheadLog.INTERNSHIP: {
+                Internship internship = new Internship(f[0], f[1], f[2], f[3], f[4], f[5], f[6],
+                        Integer.parseInt(f[7]), f[8], f[9]);
+                internshipRepo.add(internship);
+                internship.setStatus(f[10]);
+                internship.setVisible(Boolean.parseBoolean(f[11]));
+                internship.restoreConfirmedSlots(Integer.parseInt(f[12]));
+                break;
+            }
+            case WriteAheadLog.INTERNSHIP_STATE: {
+                Internship internship = requireInternship(f[0]);
+                internship.restoreConfirmedSlots(Integer.parseInt(f[3]));
+                internship.setStatus(f[1]);
+                internship.setVisible(Boolean.parseBoolean(f[2]));
+                break;
+            }
+            case WriteAheadLog.APPLICATION: {
+                Internship internship = requireInternship(f[0]);
+                if ("Pending Withdrawal".equals(f[2])) {
+                    internship.requestWithdrawal(f[1], f[3]);
+                } else {
+                    internship.setStudentStatus(f[1], f[2]);
+                }
+                break;
+            }
+            case WriteAheadLog.STUDENT:
+                studentRepo.add(new Student(f[0], f[1], Integer.parseInt(f[2]), f[3]));
+                break;
+            case WriteAheadLog.STUDENT_STATE: {
+                Student student = require(studentRepo.getById(f[0]), f[0]);
+                student.setAcceptedPlacement(f[1]);
+                student.setVisible(Boolean.parseBoolean(f[2]));
+                student.restoreApplications(splitList(f[3]));
+                student.restoreWithdrawalRequests(splitList(f[4]));
+                break;
+            }
+            case WriteAheadLog.REP: {
+                CompanyRepresentative rep = new CompanyRepresentative(f[0], f[1], f[2], f[3], f[4], f[5]);
+                rep.setStatus(f[6]);
+                companyRepo.add(rep);
+                break;
+            }
+            case WriteAheadLog.REP_STATE: {
+                CompanyRepresentative rep = require(companyRepo.getById(f[0]), f[0]);
+                rep.setStatus(f[1]);
+                rep.restoreInternships(splitList(f[2]));
+                break;
+            }
+            case WriteAheadLog.STAFF:
+                staffRepo.add(new CareerCenterStaff(f[0], f[1]));
+                break;
+            case WriteAheadLog.USER_NAME:
+                require(repositoryFor(f[0]).getById(f[1]), f[1]).setName(f[2]);
+                break;
+            case WriteAheadLog.USER_REMOVED:
+                repositoryFor(f[0]).remove(f[1]);
+                break;
+            case WriteAheadLog.CREDENTIAL:
+                authService.restoreCredential(f[0], f[1]);
+                break;
+            case WriteAheadLog.EMAIL:
+                authService.registerEmail(f[0], f[1]);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+
+    private IUserRepository<? extends User> repositoryFor(String role) {
+        switch (role) {
+            case "Student": return studentRepo;
+            case "Company Representative": return companyRepo;
+            case "Career Center Staff": return staffRepo;
+            default: throw new IllegalArgumentException("Unknown role: " + role);
+        }
+    }
+
+    private Internship requireInternship(String internshipID) {
+        return require(internshipRepo.getById(internshipID), internshipID);
+    }
+
+    private static <T> T require(T entity, String id) {
+        if (entity == null) {
+            throw new NoSuchElementException("Unknown entity: " + id);
+        }
+        return entity;
+    }
+
+    private static List<String> splitList(String joined) {
+        if (joined == null || joined.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return Arrays.asList(joined.split(WriteAheadLog.LIST_SEPARATOR));
+    }
+}
@@ -0,0 +1,78 @@
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+/**
+ * Salted PBKDF2 password hashes for {@link AuthenticationService}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A stateless utility of the <b>Security Layer</b>. Credentials are held, logged by {@link WriteAheadLog}
+ * and snapshotted by {@link SnapshotManager} only in this hashed form, so neither the memory of the
+ * authentication service nor the recovery files contain a password.
+ * </p>
+ * <p>
+ * <b>Encoding:</b> {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, salt and hash in Base64. The iteration
+ * count travels with the hash, so it can be raised later without invalidating stored credentials.
+ * </p>
+ */
+public final class PasswordHasher {
+    public static final int DEFAULT_ITERATIONS = 100_000;
+
+    private static final String SCHEME = "pbkdf2-sha256";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private PasswordHasher() {
+    }
+    /**
+     * @param password The password to protect.
+     * @return The encoded hash, with a fresh random salt.
+     */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return SCHEME + "$" + DEFAULT_ITERATIONS + "$" + base64.encodeToString(salt) + "$"
+                + base64.encodeToString(derive(password, salt, DEFAULT_ITERATIONS));
+    }
+    /**
+     * @param password The password to check.
+     * @param encoded  A value produced by {@link #hash}.
+     * @return {@code true} if the password produced the hash; {@code false} also for a malformed hash.
+     */
+    public static boolean verify(String password, String encoded) {
+        String[] parts = encoded == null ? new String[0] : encoded.split("\\$");
+        if (parts.length != 4 || !SCHEME.equals(parts[0])) {
+            return false;
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] expected = base64.decode(parts[3]);
+            byte[] actual = derive(password, base64.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+    /**
+     * @return {@code true} if {@code value} is in the encoding produced by {@link #hash}.
+     */
+    public static boolean isHash(String value) {
+        return value != null && value.startsWith(SCHEME + "$") && value.split("\\$").length == 4;
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
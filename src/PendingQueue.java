@@ -0,0 +1,55 @@
+import java.util.*;
+/**
+ * Insertion-ordered set of items waiting for review, oldest first.
+ * <p>
+ * Adding, removing and membership checks are O(1); reading a page costs the page offset plus its length.
+ * An item that leaves the queue and is later offered again goes to the back, like a new arrival.
+ * </p>
+ *
+ * @param <K> The item type; items must implement {@code equals} and {@code hashCode}.
+ */
+public class PendingQueue<K> {
+    private final LinkedHashSet<K> items = new LinkedHashSet<>();
+    /**
+     * Appends an item unless it is already queued.
+     *
+     * @return {@code true} if the item was added.
+     */
+    public synchronized boolean offer(K item) {
+        return items.add(item);
+    }
+
+    public synchronized boolean remove(K item) {
+        return items.remove(item);
+    }
+
+    public synchronized boolean contains(K item) {
+        return items.contains(item);
+    }
+
+    public synchronized int size() {
+        return items.size();
+    }
+
+    public synchronized void clear() {
+        items.clear();
+    }
+    /**
+     * Returns one page of the queue.
+     *
+     * @param offset Number of oldest items to skip.
+     * @param limit  Maximum number of items to return.
+     * @return The items, oldest first.
+     */
+    public synchronized List<K> page(int offset, int limit) {
+        List<K> page = new ArrayList<>(Math.min(Math.max(limit, 0), items.size()));
+        Iterator<K> it = items.iterator();
+        for (int skipped = 0; skipped < offset && it.hasNext(); skipped++) {
+            it.next();
+        }
+        while (page.size() < limit && it.hasNext()) {
+            page.add(it.next());
+        }
+        return page;
+    }
+}
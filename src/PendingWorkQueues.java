@@ -0,0 +1,115 @@
+import java.util.*;
+/**
+ * The three review backlogs of the Career Center Staff: representatives awaiting approval, internships
+ * awaiting approval, and withdrawal requests.
+ * <p>
+ * <b>Architectural Role:</b>
+ * A <b>Derived Index</b> fed by {@link IEntityChangeListener} events, like {@link ApplicationStore}. Every
+ * state transition that makes an item pending (registration, posting, a withdrawal request) appends it to
+ * its {@link PendingQueue}, and every transition out of the pending state (approval, rejection) removes it.
+ * {@link ApprovalService} and {@link ApplicationService} read the queues, so the staff review screens cost
+ * O(pending) rather than a scan of every representative, internship and application.
+ * </p>
+ */
+public class PendingWorkQueues implements IEntityChangeListener {
+    private static final String PENDING_WITHDRAWAL = "Pending Withdrawal";
+
+    private final PendingQueue<String> companyReps = new PendingQueue<>();
+    private final PendingQueue<String> internships = new PendingQueue<>();
+    private final PendingQueue<WithdrawalRequest> withdrawals = new PendingQueue<>();
+    /**
+     * Refills the queues from the loaded state. Called once after the initial load, before the queues
+     * are subscribed to change events. Items found here are queued in repository order; everything
+     * afterwards is queued in the order it became pending.
+     *
+     * @param reps           Every company representative.
+     * @param allInternships Every internship.
+     */
+    public void rebuild(Iterable<CompanyRepresentative> reps, Iterable<Internship> allInternships) {
+        companyReps.clear();
+        internships.clear();
+        withdrawals.clear();
+        for (CompanyRepresentative rep : reps) {
+            update(rep);
+        }
+        for (Internship internship : allInternships) {
+            onInternshipAdded(internship);
+        }
+    }
+
+    public PendingQueue<String> getCompanyReps() {
+        return companyReps;
+    }
+
+    public PendingQueue<String> getInternships() {
+        return internships;
+    }
+
+    public PendingQueue<WithdrawalRequest> getWithdrawals() {
+        return withdrawals;
+    }
+
+    // ===== IEntityChangeListener =====
+
+    @Override
+    public void onInternshipAdded(Internship internship) {
+        update(internship);
+        for (Map.Entry<String, String> application : internship.viewStudentStatuses().entrySet()) {
+            onApplicationChanged(internship, application.getKey(), null, application.getValue());
+        }
+    }
+
+    @Override
+    public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        if (IEntityChangeListener.FIELD_STATUS.equals(field)) {
+            update(internship);
+        }
+    }
+
+    @Override
+    public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        WithdrawalRequest request = new WithdrawalRequest(internship.getInternshipID(), studentID);
+        if (PENDING_WITHDRAWAL.equals(newStatus)) {
+            withdrawals.offer(request);
+        } else {
+            withdrawals.remove(request);
+        }
+    }
+
+    @Override
+    public void onUserAdded(User user) {
+        if (user instanceof CompanyRepresentative) {
+            update((CompanyRepresentative) user);
+        }
+    }
+
+    @Override
+    public void onUserChanged(User user, String field, Object oldValue) {
+        if (user instanceof CompanyRepresentative && IEntityChangeListener.FIELD_STATUS.equals(field)) {
+            update((CompanyRepresentative) user);
+        }
+    }
+
+    @Override
+    public void onUserRemoved(User user) {
+        if (user instanceof CompanyRepresentative) {
+            companyReps.remove(user.getUserID());
+        }
+    }
+
+    private void update(CompanyRepresentative rep) {
+        if (rep.getStatusCode() == StringDictionary.STATUS_PENDING) {
+            companyReps.offer(rep.getUserID());
+        } else {
+            companyReps.remove(rep.getUserID());
+        }
+    }
+
+    private void update(Internship internship) {
+        if (internship.getStatusCode() == StringDictionary.STATUS_PENDING) {
+            internships.offer(internship.getInternshipID());
+        } else {
+            internships.remove(internship.getInternshipID());
+        }
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.*;
+/**
+ * Index of confirmed placements: which students have accepted which internship.
+ * <p>
+ * <b>Architectural Role:</b>
+ * Like {@link ApplicationStore}, this is a <b>Derived Index</b> fed by {@link IEntityChangeListener} events.
+ * The placement itself stays on {@link Student#getAcceptedPlacementID()}; the index follows every call to
+ * {@link Student#setAcceptedPlacement} (placement confirmation, and withdrawal approval clearing it) and groups
+ * the students by internship, so the placement report no longer compares every student with every internship.
+ * </p>
+ */
+public class PlacementIndex implements IEntityChangeListener {
+    private final Map<String, Set<String>> studentsByInternship = new HashMap<>();
+    private final Map<String, String> placementByStudent = new HashMap<>();
+    /**
+     * Replaces the contents with the placements of the given students.
+     * Called once after the initial load, before the index is subscribed to change events.
+     *
+     * @param students Every student that may hold a placement.
+     */
+    public synchronized void rebuild(Iterable<Student> students) {
+        studentsByInternship.clear();
+        placementByStudent.clear();
+        for (Student student : students) {
+            place(student.getUserID(), student.getAcceptedPlacementID());
+        }
+    }
+    /**
+     * @param internshipID The internship.
+     * @return The IDs of the students who confirmed it, in confirmation order.
+     */
+    public synchronized List<String> getPlacedStudents(String internshipID) {
+        Set<String> students = studentsByInternship.get(internshipID);
+        return students == null ? new ArrayList<>() : new ArrayList<>(students);
+    }
+    /**
+     * @return The number of students holding a placement.
+     */
+    public synchronized int size() {
+        return placementByStudent.size();
+    }
+
+    // ===== IEntityChangeListener =====
+
+    @Override
+    public synchronized void onUserAdded(User user) {
+        if (user instanceof Student) {
+            place(user.getUserID(), ((Student) user).getAcceptedPlacementID());
+        }
+    }
+
+    @Override
+    public synchronized void onUserChanged(User user, String field, Object oldValue) {
+        if (user instanceof Student && IEntityChangeListener.FIELD_ACCEPTED_PLACEMENT.equals(field)) {
+            place(user.getUserID(), ((Student) user).getAcceptedPlacementID());
+        }
+    }
+
+    @Override
+    public synchronized void onUserRemoved(User user) {
+        if (user instanceof Student) {
+            place(user.getUserID(), null);
+        }
+    }
+
+    private void place(String studentID, String internshipID) {
+        String previous = internshipID == null
+                ? placementByStudent.remove(studentID) : placementByStudent.put(studentID, internshipID);
+        if (previous != null && !previous.equals(internshipID)) {
+            Set<String> students = studentsByInternship.get(previous);
+            if (students != null) {
+                students.remove(studentID);
+                if (students.isEmpty()) {
+                    studentsByInternship.remove(previous);
+                }
+            }
+        }
+        if (internshipID != null) {
+            studentsByInternship.computeIfAbsent(internshipID, id -> new LinkedHashSet<>()).add(studentID);
+        }
+    }
+}
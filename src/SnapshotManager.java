@@ -0,0 +1,395 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+/**
+ * Writes compact snapshots of the whole system state and recovers from "latest snapshot + log tail".
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class belongs to the <b>Persistence Layer</b> and works together with {@link WriteAheadLog}.
+ * Without snapshots, a restart would have to replay every mutation ever logged, so boot time would grow
+ * with total history. With snapshots, boot time is bounded by the snapshot size plus the short tail of
+ * mutations logged since it was taken.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Periodic Snapshots:</b> As a listener on the entity change chain (registered after the log), it
+ * counts mutations. Every {@code snapshotEveryMutations} mutations it encodes every repository and all
+ * credentials into memory, on the thread that made the mutation, so the copy is consistent with the log
+ * position. A background thread then writes the copy to a temporary file, reads the file back to verify
+ * it, atomically renames it over the previous snapshot and truncates the log up to the copy's position.
+ * The menu action that triggered it does not wait for the disk, and the previous snapshot is only
+ * replaced by a complete one.</li>
+ * <li><b>Sequence Numbers:</b> The snapshot header stores the log sequence number (LSN) it reflects.
+ * On recovery, log records at or below that LSN are skipped, so a crash between the rename and the
+ * truncation is harmless. A trailer record holds the record count; a snapshot without it, or with a
+ * record that fails its checksum, cannot be loaded.</li>
+ * <li><b>Shared Format:</b> A snapshot uses the log's record format, so {@link MutationReplayer}
+ * rebuilds state from both.</li>
+ * </ol>
+ * </p>
+ */
+public class SnapshotManager implements IEntityChangeListener {
+    public static final String DEFAULT_FILE = "ims.snapshot";
+    public static final int DEFAULT_SNAPSHOT_EVERY_MUTATIONS = 10_000;
+
+    private static final String HEADER = "IMS-SNAPSHOT";
+    private static final String TRAILER = "IMS-SNAPSHOT-END";
+    private static final String FORMAT_VERSION = "3"; // 2: every record carries a checksum; 3: hashed credentials
+
+    private final String snapshotFile;
+    private final String logFile;
+    private final IUserRepository<Student> studentRepo;
+    private final IUserRepository<CompanyRepresentative> companyRepo;
+    private final IUserRepository<CareerCenterStaff> staffRepo;
+    private final IInternshipRepository internshipRepo;
+    private final AuthenticationService authService;
+    private final MutationReplayer replayer;
+    private final int snapshotEveryMutations;
+
+    private final ExecutorService writer;
+    private Future<?> inFlight;
+
+    private WriteAheadLog log;
+    private long mutationsSinceSnapshot;
+    private long recoveredLSN;
+    /**
+     * Constructs the manager.
+     *
+     * @param snapshotFile           Where snapshots are written.
+     * @param logFile                The write-ahead log whose tail is replayed on recovery.
+     * @param studentRepo            Storage for Students.
+     * @param companyRepo            Storage for Company Reps.
+     * @param staffRepo              Storage for Staff.
+     * @param internshipRepo         Storage for Internships.
+     * @param authService            Holds the credentials to snapshot and restore.
+     * @param snapshotEveryMutations Number of logged mutations between two snapshots.
+     */
+    public SnapshotManager(String snapshotFile, String logFile,
+                           IUserRepository<Student> studentRepo,
+                           IUserRepository<CompanyRepresentative> companyRepo,
+                           IUserRepository<CareerCenterStaff> staffRepo,
+                           IInternshipRepository internshipRepo,
+                           AuthenticationService authService,
+                           int snapshotEveryMutations) {
+        this.snapshotFile = snapshotFile;
+        this.logFile = logFile;
+        this.studentRepo = studentRepo;
+        this.companyRepo = companyRepo;
+        this.staffRepo = staffRepo;
+        this.internshipRepo = internshipRepo;
+        this.authService = authService;
+        this.replayer = new MutationReplayer(studentRepo, companyRepo, staffRepo, internshipRepo, authService);
+        this.snapshotEveryMutations = Math.max(1, snapshotEveryMutations);
+        this.writer = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean hasSnapshot() {
+        return Files.exists(Paths.get(snapshotFile));
+    }
+    /**
+     * @return The highest log sequence number reflected in the recovered state.
+     */
+    public long getRecoveredLSN() {
+        return recoveredLSN;
+    }
+    /**
+     * Loads the latest snapshot into the (empty) repositories.
+     *
+     * @return The number of records read from the snapshot.
+     * @throws IOException if the snapshot cannot be read or is incomplete or corrupt. The repositories may
+     *                     then hold part of it, so the caller must not carry on as if recovery succeeded.
+     */
+    public long loadSnapshot() throws IOException {
+        SnapshotScan scan = readSnapshot(snapshotFile, replayer::apply);
+        recoveredLSN = scan.lsn;
+        return scan.records;
+    }
+    /**
+     * Reads a whole snapshot file and checks its header, checksums and trailer.
+     *
+     * @throws IOException if any check fails.
+     */
+    private static SnapshotScan readSnapshot(String file, Consumer<String[]> apply) throws IOException {
+        SnapshotScan scan = new SnapshotScan(file, apply);
+        long validEnd = WriteAheadLog.readValidPrefix(file, scan);
+        if (validEnd < Files.size(Paths.get(file))) {
+            throw new IOException("Corrupt record at byte " + validEnd + " of " + file);
+        }
+        if (scan.lsn < 0 || scan.declaredRecords != scan.records) {
+            throw new IOException("Incomplete snapshot " + file);
+        }
+        return scan;
+    }
+    /**
+     * Replays the log records written after the loaded snapshot.
+     *
+     * @return The number of records applied.
+     * @throws IOException if the log cannot be read.
+     */
+    public long replayLog() throws IOException {
+        final long snapshotLSN = recoveredLSN;
+        final long[] applied = {0};
+        WriteAheadLog.readRecords(logFile, record -> {
+            long lsn;
+            try {
+                lsn = Long.parseLong(record[0]);
+            } catch (NumberFormatException e) {
+                return;
+            }
+            if (lsn > snapshotLSN) {
+                replayer.apply(record);
+                recoveredLSN = Math.max(recoveredLSN, lsn);
+                applied[0]++;
+            }
+        });
+        return applied[0];
+    }
+
+    public long getSkippedRecords() {
+        return replayer.getSkippedRecords();
+    }
+    /**
+     * Starts periodic snapshots of the given log. Register this manager on the change chain
+     * <i>after</i> the log, so the log has already recorded a mutation when it is counted.
+     *
+     * @param log The active write-ahead log.
+     */
+    public void attach(WriteAheadLog log) {
+        this.log = log;
+    }
+    /**
+     * Writes a snapshot of the current state and truncates the log, waiting until both are done. Used at
+     * exit; a background snapshot still in progress finishes first.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     */
+    public synchronized void takeSnapshot() throws IOException {
+        if (log == null) {
+            throw new IllegalStateException("No write-ahead log attached");
+        }
+        mutationsSinceSnapshot = 0;
+        Future<?> done = writer.submit(persist(capture(log.getLastLSN())));
+        try {
+            done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing snapshot " + snapshotFile);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private Callable<Void> persist(SnapshotImage image) {
+        return () -> {
+            writeSnapshot(image);
+            log.truncateThrough(image.lsn);
+            return null;
+        };
+    }
+    /**
+     * Encodes the current state of every repository and all credentials as snapshot records.
+     */
+    private SnapshotImage capture(long lsn) {
+        SnapshotImage image = new SnapshotImage(lsn);
+
+        // A lazy repository only needs its changed students; the rest are read back from the student file
+        List<Student> students = studentRepo instanceof LazyStudentRepository
+                ? ((LazyStudentRepository) studentRepo).getPinned() : studentRepo.viewAll();
+        for (Student s : students) {
+            image.add(WriteAheadLog.STUDENT, s.getUserID(), s.getName(),
+                    String.valueOf(s.getYearOfStudy()), s.getMajor());
+            boolean hasState = s.getAcceptedPlacementID() != null || !s.isVisible()
+                    || !s.viewApplicationIDs().isEmpty() || !s.getWithdrawalRequestedIDs().isEmpty();
+            if (hasState) {
+                image.add(WriteAheadLog.STUDENT_STATE, s.getUserID(), s.getAcceptedPlacementID(),
+                        String.valueOf(s.isVisible()),
+                        String.join(WriteAheadLog.LIST_SEPARATOR, s.viewApplicationIDs()),
+                        String.join(WriteAheadLog.LIST_SEPARATOR, s.getWithdrawalRequestedIDs()));
+            }
+        }
+
+        for (CompanyRepresentative r : companyRepo.viewAll()) {
+            image.add(WriteAheadLog.REP, r.getUserID(), r.getName(), r.getCompanyName(),
+                    r.getDepartment(), r.getPosition(), r.getEmail(), r.getStatus());
+            if (!r.getInternshipIDs().isEmpty()) {
+                image.add(WriteAheadLog.REP_STATE, r.getUserID(), r.getStatus(),
+                        String.join(WriteAheadLog.LIST_SEPARATOR, r.getInternshipIDs()));
+            }
+        }
+
+        for (CareerCenterStaff s : staffRepo.viewAll()) {
+            image.add(WriteAheadLog.STAFF, s.getUserID(), s.getName());
+        }
+
+        for (Internship i : internshipRepo.viewAll()) {
+            image.add(WriteAheadLog.INTERNSHIP, i.getInternshipID(), i.getTitle(),
+                    i.getDescription(), i.getLevel(), i.getPreferredMajor(), i.getOpeningDate(),
+                    i.getClosingDate(), String.valueOf(i.getTotalSlots()), i.getCompanyName(),
+                    i.getRepresentativeID(), i.getStatus(), String.valueOf(i.isVisible()),
+                    String.valueOf(i.getConfirmedSlots()));
+            for (Map.Entry<String, String> application : i.viewStudentStatuses().entrySet()) {
+                String status = application.getValue();
+                String reason = "Pending Withdrawal".equals(status) ? i.getWithdrawalReason(application.getKey()) : null;
+                image.add(WriteAheadLog.APPLICATION, i.getInternshipID(), application.getKey(), status, reason);
+            }
+        }
+
+        for (Map.Entry<String, String> credential : authService.exportCredentials().entrySet()) {
+            image.add(WriteAheadLog.CREDENTIAL, credential.getKey(), credential.getValue());
+        }
+        for (Map.Entry<String, String> email : authService.exportEmails().entrySet()) {
+            image.add(WriteAheadLog.EMAIL, email.getKey(), email.getValue());
+        }
+        return image;
+    }
+    /**
+     * Writes a captured state between a header and a trailer, syncs it, reads it back and only then
+     * renames it over the previous snapshot.
+     */
+    private void writeSnapshot(SnapshotImage image) throws IOException {
+        Path target = Paths.get(snapshotFile);
+        Path temp = Paths.get(snapshotFile + ".tmp");
+        StringBuilder line = new StringBuilder(64);
+
+        try (FileOutputStream out = new FileOutputStream(temp.toFile());
+             Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16)) {
+            WriteAheadLog.encode(line, image.lsn, HEADER, FORMAT_VERSION);
+            writer.append(line);
+            writer.append(image.records);
+            line.setLength(0);
+            WriteAheadLog.encode(line, image.lsn, TRAILER, String.valueOf(image.count));
+            writer.append(line);
+            writer.flush();
+            out.getFD().sync();
+        }
+
+        // Only a snapshot that reads back completely may replace the previous one
+        if (readSnapshot(temp.toString(), record -> { }).lsn != image.lsn) {
+            throw new IOException("Snapshot " + temp + " does not read back as written");
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===== Mutation counting =====
+
+    private synchronized void countMutation() {
+        if (log == null || ++mutationsSinceSnapshot < snapshotEveryMutations) {
+            return;
+        }
+        if (inFlight != null && !inFlight.isDone()) {
+            return; // the previous snapshot is still being written; try again on the next mutation
+        }
+        mutationsSinceSnapshot = 0;
+        Callable<Void> task = persist(capture(log.getLastLSN()));
+        inFlight = writer.submit(() -> {
+            try {
+                task.call();
+            } catch (Exception e) {
+                System.err.println("Error writing snapshot " + snapshotFile + ": " + e.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void onInternshipAdded(Internship internship) {
+        countMutation();
+    }
+
+    @Override
+    public void onInternshipChanged(Internship internship, String field, Object oldValue) {
+        countMutation();
+    }
+
+    @Override
+    public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        countMutation();
+    }
+
+    @Override
+    public void onUserAdded(User user) {
+        countMutation();
+    }
+
+    @Override
+    public void onUserChanged(User user, String field, Object oldValue) {
+        countMutation();
+    }
+
+    @Override
+    public void onUserRemoved(User user) {
+        countMutation();
+    }
+
+    @Override
+    public void onCredentialChanged(String userID, String passwordHash) {
+        countMutation();
+    }
+
+    @Override
+    public void onEmailRegistered(String email, String userID) {
+        countMutation();
+    }
+    /**
+     * Checks the structure of a snapshot while its records stream past: header first, then the records,
+     * then a trailer with their count.
+     */
+    private static final class SnapshotScan implements Consumer<String[]> {
+        private final String file;
+        private final Consumer<String[]> apply;
+        long lsn = -1;
+        long records;
+        long declaredRecords = -1;
+
+        SnapshotScan(String file, Consumer<String[]> apply) {
+            this.file = file;
+            this.apply = apply;
+        }
+
+        @Override
+        public void accept(String[] record) {
+            if (lsn < 0) {
+                if (!HEADER.equals(record[1]) || record.length < 3) {
+                    throw new IllegalStateException("Missing snapshot header in " + file);
+                }
+                // Version 2 differs only in plaintext credentials, which MutationReplayer hashes on load
+                if (!FORMAT_VERSION.equals(record[2]) && !"2".equals(record[2])) {
+                    throw new IllegalStateException("Unsupported snapshot version " + record[2] + " in " + file);
+                }
+                lsn = Long.parseLong(record[0]);
+            } else if (declaredRecords >= 0) {
+                throw new IllegalStateException("Records after the snapshot trailer in " + file);
+            } else if (TRAILER.equals(record[1])) {
+                declaredRecords = Long.parseLong(record[2]);
+            } else {
+                apply.accept(record);
+                records++;
+            }
+        }
+    }
+    /**
+     * The encoded records of one snapshot, all sharing the LSN of the state they describe.
+     */
+    private static final class SnapshotImage {
+        final long lsn;
+        final StringBuilder records = new StringBuilder(1 << 16);
+        long count;
+
+        SnapshotImage(long lsn) {
+            this.lsn = lsn;
+        }
+
+        void add(String type, String... fields) {
+            WriteAheadLog.encode(records, lsn, type, fields);
+            count++;
+        }
+    }
+}
@@ -19,12 +19,16 @@ import java.util.*;
  * </p>
  */
 public class StaffMenuController implements IMenuController {
+    private static final int PAGE_SIZE = 20; // review backlog entries per screen
+    private static final int SEARCH_RESULTS_SHOWN = 20;
+    private static final int COMPANY_SUGGESTIONS_SHOWN = 10;
     private final CareerCenterStaff currentStaff;
     private final IApprovalService approvalService;
     private final IApplicationService applicationService;
     private final IUserRepository<CompanyRepresentative> companyRepo;
     private final IUserRepository<Student> studentRepo;
     private final IInternshipRepository internshipRepo;
+    private final InternshipQueryPlanner planner;
     private final IOutputService outputService;
     private final IAuthenticationService authService;
     private final Scanner scanner;
@@ -47,6 +51,7 @@ public class StaffMenuController implements IMenuController {
      * @param companyRepo        Access to Company Rep data.
      * @param studentRepo        Access to Student data.
      * @param internshipRepo     Access to Internship data.
+     * @param planner            Plans and runs the internship listings and searches.
      * @param outputService      Console output.
      * @param authService        Password management.
      * @param scanner            User input.
@@ -57,6 +62,7 @@ public class StaffMenuController implements IMenuController {
                                IUserRepository<CompanyRepresentative> companyRepo,
                                IUserRepository<Student> studentRepo,
                                IInternshipRepository internshipRepo,
+                               InternshipQueryPlanner planner,
                                IOutputService outputService,
                                IAuthenticationService authService,
                                Scanner scanner) {
@@ -66,6 +72,7 @@ public class StaffMenuController implements IMenuController {
         this.companyRepo = companyRepo;
         this.studentRepo = studentRepo;
         this.internshipRepo = internshipRepo;
+        this.planner = planner;
         this.outputService = outputService;
         this.authService = authService;
         this.scanner = scanner;
@@ -85,6 +92,7 @@ public class StaffMenuController implements IMenuController {
         outputService.displayMessage("7. View Placement Report");
         outputService.displayMessage("8. Change Password");
         outputService.displayMessage("9. Logout");
+        outputService.displayMessage("10. Search Internships");
     }
     /**
      * Processes the user's menu selection.
@@ -121,6 +129,9 @@ public class StaffMenuController implements IMenuController {
             case "9":
                 outputService.displayMessage("Logging out...");
                 break;
+            case "10":
+                searchInternships();
+                break;
             default:
                 outputService.displayError("Invalid choice!");
         }
@@ -135,33 +146,30 @@ public class StaffMenuController implements IMenuController {
      * To display a helpful request to the Staff (e.g., "John Doe wants to withdraw because..."),
      * this method performs a <b>Manual Join</b>:
      * <ol>
-     * <li><b>Outer Loop:</b> Iterate through ALL Internships to find flags.</li>
-     * <li><b>Inner Check:</b> Call {@code getPendingWithdrawalStudents()} on each internship.</li>
-     * <li><b>The Lookup:</b> If a request is found (e.g., for "STU001"), use {@code studentRepo.getById("STU001")}
+     * <li><b>The Queue:</b> Read one page of requests, oldest first, from
+     * {@code applicationService.getPendingWithdrawals} instead of scanning every internship.</li>
+     * <li><b>The Lookup:</b> For each request (e.g., for "STU001"), use {@code studentRepo.getById("STU001")}
      * to fetch the Student Entity and retrieve their real Name.</li>
      * </ol>
      * This demonstrates why the Controller needs access to multiple Repositories.
      * </p>
      */
     private void reviewWithdrawals() {
-        List<Internship> allInternships = internshipRepo.getAll();
-        List<Internship> withPending = new ArrayList<>();
-
-        for (Internship i : allInternships) {
-            if (!i.getPendingWithdrawalStudents().isEmpty()) {
-                withPending.add(i);
+        String input = null;
+        for (int offset = 0; input == null; offset += PAGE_SIZE) {
+            List<WithdrawalRequest> page = applicationService.getPendingWithdrawals(offset, PAGE_SIZE);
+            if (page.isEmpty() && offset == 0) {
+                outputService.displayMessage("No pending withdrawal requests.");
+                return;
             }
-        }
 
-        if (withPending.isEmpty()) {
-            outputService.displayMessage("No pending withdrawal requests.");
-            return;
-        }
-
-        outputService.displayMessage("\n===== Pending Withdrawal Requests =====");
-        for (Internship i : withPending) {
-            List<String> pendingStudents = i.getPendingWithdrawalStudents();
-            for (String studentID : pendingStudents) {
+            outputService.displayMessage("\n===== Pending Withdrawal Requests =====");
+            for (WithdrawalRequest request : page) {
+                Internship i = internshipRepo.getById(request.getInternshipID());
+                if (i == null) {
+                    continue;
+                }
+                String studentID = request.getStudentID();
                 Student s = studentRepo.getById(studentID);
                 String name = s != null ? s.getName() : "Unknown";
                 String reason = i.getWithdrawalReason(studentID);
@@ -169,10 +177,11 @@ public class StaffMenuController implements IMenuController {
                         "Internship: %s - %s | Company: %s\n  Student: %s (%s)\n  Reason: %s\n",
                         i.getInternshipID(), i.getTitle(), i.getCompanyName(), name, studentID, reason));
             }
-        }
 
-        outputService.displayMessage("\nEnter 'InternshipID StudentID' to review (e.g., INT123 STU456) or 'back':");
-        String input = scanner.nextLine().trim();
+            input = readChoiceOrNextPage(offset, page.size(), applicationService.countPendingWithdrawals(),
+                    "\nEnter 'InternshipID StudentID' to review (e.g., INT123 STU456) or 'back':");
+        }
+        input = input.trim();
 
         if ("back".equals(input)) {
             return;
@@ -204,6 +213,7 @@ public class StaffMenuController implements IMenuController {
             outputService.displayError("Invalid decision.");
         }
     }
+
     /**
      * Generates a summary report of all successful placements.
      * <p>
@@ -213,38 +223,40 @@ public class StaffMenuController implements IMenuController {
      * Instead of querying students ("Where are you working?"), it queries Internships
      * ("How many confirmed slots do you have?").
      * <br>
-     * <b>Why?</b> This is more efficient (O(N) on internships vs O(M) on students)
-     * and relies on the Internship being the "Source of Truth" for slot counts.
+     * <b>Why?</b> The confirmed students of each internship are read from the {@link PlacementIndex}
+     * (via {@code applicationService.findPlacedStudents}), so the report is a single pass costing
+     * O(internships + placements) instead of comparing every student with every internship. Each
+     * internship's block is printed as soon as it is built.
      * </p>
      */
     private void viewPlacementReport() {
-        List<Internship> allInternships = internshipRepo.getAll();
-        List<Student> allStudents = studentRepo.getAll();
-
         outputService.displayMessage("\n===== Placement Report =====");
         outputService.displayMessage("");
 
         int totalPlacements = 0;
 
-        for (Internship i : allInternships) {
-            if (!"Approved".equals(i.getStatus()) && !"Filled".equals(i.getStatus())) {
+        // One pass over the catalog; each internship's students come grouped from the placement index
+        for (Internship i : internshipRepo.viewAll()) {
+            int status = i.getStatusCode();
+            if (status != StringDictionary.STATUS_APPROVED && status != StringDictionary.STATUS_FILLED) {
                 continue;
             }
 
-            List<String> confirmedStudents = new ArrayList<>();
-            for (Student s : allStudents) {
-                String studentPlacementID = s.getAcceptedPlacementID();
-                if (studentPlacementID != null && studentPlacementID.equals(i.getInternshipID())) {
-                    confirmedStudents.add(s.getUserID() + " (" + s.getName() + ")");
-                    totalPlacements++;
+            StringBuilder confirmedStudents = new StringBuilder();
+            for (String studentID : applicationService.findPlacedStudents(i.getInternshipID())) {
+                Student s = studentRepo.getById(studentID);
+                if (confirmedStudents.length() > 0) {
+                    confirmedStudents.append(", ");
                 }
+                confirmedStudents.append(studentID).append(" (").append(s != null ? s.getName() : "?").append(')');
+                totalPlacements++;
             }
 
             outputService.displayMessage(String.format(
                     "%s - %s\n  Company: %s | Level: %s | Major: %s\n  Confirmed Students: %s\n",
                     i.getInternshipID(), i.getTitle(), i.getCompanyName(),
                     i.getLevel(), i.getPreferredMajor(),
-                    confirmedStudents.isEmpty() ? "None" : String.join(", ", confirmedStudents)));
+                    confirmedStudents.length() == 0 ? "None" : confirmedStudents));
         }
 
         outputService.displayMessage("===== Summary =====");
@@ -256,11 +268,10 @@ public class StaffMenuController implements IMenuController {
      * <b>Deep Dive into Logic:</b>
      * This method acts as a manual filter for the "Registration" process.
      * <br>
-     * <b>1. Aggregation:</b> It fetches the entire list of representatives from the {@code companyRepo}.
+     * <b>1. The Queue:</b> It reads the representatives awaiting approval from {@link IApprovalService},
+     * which keeps them in registration order as their status changes.
      * <br>
-     * <b>2. Filtering:</b> It manually iterates to find only those with "Pending" status.
-     * <i>(Note: In a SQL-based system, this would be a "SELECT * FROM Users WHERE Status='Pending'" query.
-     * Since we are in-memory, we filter in the controller.)</i>
+     * <b>2. Paging:</b> A long backlog is shown one page at a time, oldest first; 'n' moves to the next page.
      * <br>
      * <b>3. Vetting Display:</b> Unlike other lists that just show IDs, this view dumps
      * <i>all</i> available info (Department, Email, Position). This is intentional:
@@ -271,35 +282,30 @@ public class StaffMenuController implements IMenuController {
      * </p>
      */
     private void reviewCompanyReps() {
-        List<CompanyRepresentative> reps = companyRepo.getAll();
-        List<CompanyRepresentative> pending = new ArrayList<>();
-
-        for (CompanyRepresentative rep : reps) {
-            if ("Pending".equals(rep.getStatus())) {
-                pending.add(rep);
+        String repID = null;
+        for (int offset = 0; repID == null; offset += PAGE_SIZE) {
+            List<CompanyRepresentative> pending = approvalService.getPendingCompanyReps(offset, PAGE_SIZE);
+            if (pending.isEmpty() && offset == 0) {
+                outputService.displayMessage("No pending company representatives.");
+                return;
             }
-        }
 
-        if (pending.isEmpty()) {
-            outputService.displayMessage("No pending company representatives.");
-            return;
-        }
+            outputService.displayMessage("\n===== Pending Applications =====");
+            for (CompanyRepresentative rep : pending) {
+                outputService.displayMessage("------------------------------------------------");
+                outputService.displayMessage("ID:           " + rep.getUserID());
+                outputService.displayMessage("Name:         " + rep.getName());
+                outputService.displayMessage("Company:      " + rep.getCompanyName());
+                outputService.displayMessage("Department:   " + rep.getDepartment());
+                outputService.displayMessage("Position:     " + rep.getPosition());
+                outputService.displayMessage("Email:        " + rep.getEmail());
+                outputService.displayMessage("Status:       " + rep.getStatus());
+                outputService.displayMessage("------------------------------------------------");
+            }
 
-        outputService.displayMessage("\n===== Pending Applications =====");
-        for (CompanyRepresentative rep : pending) {
-            outputService.displayMessage("------------------------------------------------");
-            outputService.displayMessage("ID:           " + rep.getUserID());
-            outputService.displayMessage("Name:         " + rep.getName());
-            outputService.displayMessage("Company:      " + rep.getCompanyName());
-            outputService.displayMessage("Department:   " + rep.getDepartment());
-            outputService.displayMessage("Position:     " + rep.getPosition());
-            outputService.displayMessage("Email:        " + rep.getEmail());
-            outputService.displayMessage("Status:       " + rep.getStatus());
-            outputService.displayMessage("------------------------------------------------");
+            repID = readChoiceOrNextPage(offset, pending.size(), approvalService.countPendingCompanyReps(),
+                    "\nEnter Rep ID to review (or 'back'):");
         }
-
-        outputService.displayMessage("\nEnter Rep ID to review (or 'back'):");
-        String repID = scanner.nextLine();
         if ("back".equals(repID)) return;
 
         outputService.displayMessage("Approve or Reject? (a/r):");
@@ -311,6 +317,7 @@ public class StaffMenuController implements IMenuController {
             approvalService.rejectCompanyRep(repID);
         }
     }
+
     /**
      * View all internships with support for administrative filters.
      * <p>
@@ -328,38 +335,10 @@ public class StaffMenuController implements IMenuController {
      * </p>
      */
     private void viewAllInternships() {
-        List<Internship> allInternships = internshipRepo.getAll();
-        List<Internship> filtered = new ArrayList<>();
-
-        for (Internship i : allInternships) {
-            boolean matches = true;
-
-            if (!filterStatus.equalsIgnoreCase("all") && !i.getStatus().equalsIgnoreCase(filterStatus)) {
-                matches = false;
-            }
-
-            if (!filterMajor.equalsIgnoreCase("all") && !i.getPreferredMajor().equalsIgnoreCase(filterMajor)) {
-                matches = false;
-            }
-
-            if (!filterLevel.equalsIgnoreCase("all") && !i.getLevel().equalsIgnoreCase(filterLevel)) {
-                matches = false;
-            }
-
-            if (!filterCompany.equalsIgnoreCase("all") && !i.getCompanyName().equalsIgnoreCase(filterCompany)) {
-                matches = false;
-            }
-
-            if (matches) {
-                filtered.add(i);
-            }
-        }
-
-        if (sortOrder.equals("alphabetical")) {
-            filtered.sort(new AlphabeticalSorter());
-        } else {
-            filtered.sort(new ClosingDateSorter());
-        }
+        // All filters and the sort are planned together, driven from the most selective index
+        InternshipQuery query = InternshipQuery.all()
+                .status(filterStatus).preferredMajor(filterMajor).level(filterLevel).companyPrefix(filterCompany);
+        List<Internship> filtered = planner.list(sortOrder.equals("alphabetical") ? query.orderAlphabetically() : query.orderByClosingDate());
 
         outputService.displayMessage("\n===== All Internships =====");
         outputService.displayMessage("Active Filters: Status=" + filterStatus + " | Major=" + filterMajor +
@@ -394,6 +373,25 @@ public class StaffMenuController implements IMenuController {
         outputService.displayMessage("Fill Rate: " + (totalSlots > 0 ? (filledSlots * 100 / totalSlots) : 0) + "%");
     }
 
+    /**
+     * Autocompletion for the company filter: lists the companies the prefix will match, from the
+     * repository's company-name index.
+     */
+    private void showCompanySuggestions(String prefix) {
+        List<String> companies = internshipRepo.completeCompanyName(prefix, COMPANY_SUGGESTIONS_SHOWN + 1);
+        if (companies.isEmpty()) {
+            outputService.displayMessage("No company with internships starts with '" + prefix + "'.");
+            return;
+        }
+        outputService.displayMessage("Matching companies:");
+        for (int i = 0; i < Math.min(companies.size(), COMPANY_SUGGESTIONS_SHOWN); i++) {
+            outputService.displayMessage("  " + companies.get(i));
+        }
+        if (companies.size() > COMPANY_SUGGESTIONS_SHOWN) {
+            outputService.displayMessage("  ...");
+        }
+    }
+
     private void filterInternships() {
         while (true) {
             outputService.displayMessage("\n===== Filter Settings =====");
@@ -431,9 +429,12 @@ public class StaffMenuController implements IMenuController {
                     if (filterLevel.isEmpty()) filterLevel = "all";
                     break;
                 case "4":
-                    outputService.displayMessage("Enter company name (or 'all'):");
+                    outputService.displayMessage("Enter company name or its first letters (or 'all'):");
                     filterCompany = scanner.nextLine().trim();
                     if (filterCompany.isEmpty()) filterCompany = "all";
+                    if (!filterCompany.equalsIgnoreCase("all")) {
+                        showCompanySuggestions(filterCompany);
+                    }
                     break;
                 case "5":
                     outputService.displayMessage("Sort by:");
@@ -467,34 +468,29 @@ public class StaffMenuController implements IMenuController {
      * </p>
      * <p>
      * <b>Logic Flow:</b>
-     * 1. Retrieve all internships.
-     * 2. Filter for status equals "Pending".
+     * 1. Read a page of the internships awaiting approval, oldest posting first.
+     * 2. Offer the next page with 'n' while more are waiting.
      * 3. Allow Staff to inspect details (Company, Description).
      * 4. Delegate to {@link IApprovalService} to flip the boolean visibility switch.
      * </p>
      */
     private void reviewInternships() {
-        List<Internship> internships = internshipRepo.getAll();
-        List<Internship> pending = new ArrayList<>();
-
-        for (Internship i : internships) {
-            if ("Pending".equals(i.getStatus())) {
-                pending.add(i);
+        String internshipID = null;
+        for (int offset = 0; internshipID == null; offset += PAGE_SIZE) {
+            List<Internship> pending = approvalService.getPendingInternships(offset, PAGE_SIZE);
+            if (pending.isEmpty() && offset == 0) {
+                outputService.displayMessage("No pending internships.");
+                return;
             }
-        }
 
-        if (pending.isEmpty()) {
-            outputService.displayMessage("No pending internships.");
-            return;
-        }
+            for (Internship i : pending) {
+                outputService.displayMessage(String.format("%s - %s (%s)",
+                        i.getInternshipID(), i.getTitle(), i.getCompanyName()));
+            }
 
-        for (Internship i : pending) {
-            outputService.displayMessage(String.format("%s - %s (%s)",
-                    i.getInternshipID(), i.getTitle(), i.getCompanyName()));
+            internshipID = readChoiceOrNextPage(offset, pending.size(), approvalService.countPendingInternships(),
+                    "\nEnter Internship ID to review (or 'back'):");
         }
-
-        outputService.displayMessage("\nEnter Internship ID to review (or 'back'):");
-        String internshipID = scanner.nextLine();
         if ("back".equals(internshipID)) return;
 
         Internship internship = internshipRepo.getById(internshipID);
@@ -517,9 +513,58 @@ public class StaffMenuController implements IMenuController {
             approvalService.rejectInternship(internshipID);
         }
     }
+    /**
+     * Prints the paging footer when a review backlog does not fit on one page, then reads the reviewer's answer.
+     *
+     * @param offset Position of the first item shown.
+     * @param shown  Number of items shown on this page.
+     * @param total  Size of the whole backlog.
+     * @param prompt The question to ask.
+     * @return The answer as typed, or {@code null} if the reviewer asked for the next page.
+     */
+    private String readChoiceOrNextPage(int offset, int shown, int total, String prompt) {
+        boolean more = offset + shown < total;
+        if (offset > 0 || more) {
+            outputService.displayMessage(String.format("\nShowing %d-%d of %d, oldest first.%s",
+                    offset + 1, offset + shown, total, more ? " Enter 'n' for the next page." : ""));
+        }
+        outputService.displayMessage(prompt);
+        String input = scanner.nextLine();
+        return more && "n".equals(input.trim()) ? null : input;
+    }
+
+    /**
+     * Keyword search over every internship's title and description, regardless of status or visibility.
+     * Shows the {@value #SEARCH_RESULTS_SHOWN} best matches, ranked by relevance by the {@link InternshipQueryPlanner}.
+     */
+    private void searchInternships() {
+        outputService.displayMessage("Enter keywords:");
+        String keywords = scanner.nextLine().trim();
+        if (keywords.isEmpty()) {
+            outputService.displayError("Please enter at least one keyword.");
+            return;
+        }
+
+        List<Internship> matches = planner.list(InternshipQuery.all().keywords(keywords));
+        if (matches.isEmpty()) {
+            outputService.displayMessage("No internships match \"" + keywords + "\".");
+            return;
+        }
+
+        outputService.displayMessage("\n===== Search Results: " + keywords + " =====");
+        outputService.displayMessage("Total Found: " + matches.size());
+        outputService.displayMessage("");
+        for (Internship i : matches.subList(0, Math.min(SEARCH_RESULTS_SHOWN, matches.size()))) {
+            outputService.displayMessage(String.format(
+                    "%s - %s\n  Company: %s | Level: %s | Major: %s\n  Status: %s | Slots: %d/%d | Visible: %s\n",
+                    i.getInternshipID(), i.getTitle(), i.getCompanyName(),
+                    i.getLevel(), i.getPreferredMajor(), i.getStatus(),
+                    i.getConfirmedSlots(), i.getTotalSlots(), i.isVisible() ? "Yes" : "No"));
+        }
+    }
 
     private void viewStudents() {
-        List<Student> students = studentRepo.getAll();
+        List<Student> students = studentRepo.viewAll();
         for (Student s : students) {
             outputService.displayMessage(String.format("%s - %s (Year %d, %s)",
                     s.getUserID(), s.getName(), s.getYearOfStudy(), s.getMajor()));
@@ -0,0 +1,81 @@
+import java.io.*;
+import java.util.*;
+/**
+ * Compares cold-start load time of the CSV and binary data loaders.
+ * <p>
+ * <b>Usage:</b> {@code java StartupBenchmark [rows] [runs]}. A synthetic student file with {@code rows}
+ * rows (default 200,000) and a synthetic internship file of a tenth of that size are generated as CSV,
+ * converted with {@link BinaryDataSaver}, and then loaded {@code runs} times (default 5) by each loader.
+ * The median load time per loader is reported.
+ * </p>
+ */
+public class StartupBenchmark {
+    private static final String[] MAJORS = {"Computer Science", "Data Science & AI", "Computer Engineering",
+            "Business Analytics", "Electrical Engineering"};
+    private static final String[] LEVELS = {"Basic", "Intermediate", "Advanced"};
+    private static final String[] STATUSES = {"Pending", "Approved", "Rejected", "Filled"};
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        File dir = new File(System.getProperty("java.io.tmpdir"), "ims-benchmark");
+        dir.mkdirs();
+        String studentCSV = new File(dir, "students.csv").getPath();
+        String internshipCSV = new File(dir, "internships.csv").getPath();
+        writeStudents(studentCSV, rows);
+        writeInternships(internshipCSV, Math.max(1, rows / 10));
+
+        CSVDataLoader csvLoader = new CSVDataLoader(false);
+        BinaryDataSaver binarySaver = new BinaryDataSaver();
+        String studentBin = BinaryDataConverter.toBinaryName(studentCSV);
+        String internshipBin = BinaryDataConverter.toBinaryName(internshipCSV);
+        binarySaver.saveStudents(studentBin, csvLoader.loadStudents(studentCSV));
+        binarySaver.saveInternships(internshipBin, csvLoader.loadInternships(internshipCSV));
+
+        System.out.println(String.format("%d students (%d KB CSV, %d KB binary), %d internships (%d KB CSV, %d KB binary)",
+                rows, new File(studentCSV).length() / 1024, new File(studentBin).length() / 1024,
+                Math.max(1, rows / 10), new File(internshipCSV).length() / 1024, new File(internshipBin).length() / 1024));
+
+        report("CSVDataLoader", runs, csvLoader, studentCSV, internshipCSV);
+        report("MappedCSVDataLoader", runs, new MappedCSVDataLoader(java.util.concurrent.ForkJoinPool.commonPool(), false),
+                studentCSV, internshipCSV);
+        report("BinaryDataLoader", runs, new BinaryDataLoader(false), studentBin, internshipBin);
+    }
+
+    private static void report(String name, int runs, IDataLoader loader, String studentFile, String internshipFile) {
+        long[] timings = new long[runs];
+        int loaded = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            loaded = loader.loadStudents(studentFile).size() + loader.loadInternships(internshipFile).size();
+            timings[run] = System.nanoTime() - start;
+        }
+        Arrays.sort(timings);
+        System.out.println(String.format("%-20s median %8.1f ms  best %8.1f ms  (%d entities)",
+                name, timings[runs / 2] / 1e6, timings[0] / 1e6, loaded));
+    }
+
+    private static void writeStudents(String filename, int rows) throws IOException {
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(filename), 1 << 16)) {
+            out.write("StudentID,Name,Major,Year,Email\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(String.format("U%07dA,Student %d,%s,%d,u%d@e.ntu.edu.sg%n",
+                        i, i, MAJORS[i % MAJORS.length], 1 + i % 4, i));
+            }
+        }
+    }
+
+    private static void writeInternships(String filename, int rows) throws IOException {
+        try (BufferedWriter out = new BufferedWriter(new FileWriter(filename), 1 << 16)) {
+            out.write("InternshipID,Title,Description,Level,PreferredMajor,OpeningDate,ClosingDate,"
+                    + "TotalSlots,CompanyName,RepresentativeID,Status,Visible,ConfirmedSlots\n");
+            for (int i = 0; i < rows; i++) {
+                out.write(String.format("INT%d,Intern %d,\"Build things, test things\",%s,%s,2025-01-01,2025-%02d-28,"
+                                + "%d,Company %d,rep%d@company%d.com,%s,%b,0%n",
+                        i, i, LEVELS[i % LEVELS.length], MAJORS[i % MAJORS.length], 1 + i % 12,
+                        1 + i % 10, i % 200, i % 200, i % 200, STATUSES[i % STATUSES.length], i % 3 != 0));
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.function.Predicate;
 /**
  * A concrete filter that selects internships based on their current status.
  * (e.g., "Approved", "Pending", "Filled").
@@ -27,12 +28,30 @@ public class StatusFilter implements IInternshipFilter {
             return internships;
         }
 
+        int code = StringDictionary.STATUSES.lookup(status);
         List<Internship> result = new ArrayList<>();
         for (Internship i : internships) {
-            if (i.getStatus().equalsIgnoreCase(status)) {
+            if (i.getStatusCode() == code) {
                 result.add(i);
             }
         }
         return result;
     }
-}
\ No newline at end of file
+
+    @Override
+    public CompressedBitmap select(InternshipBitmapIndex index) {
+        if ("all".equals(status)) {
+            return index.all();
+        }
+        return index.status(StringDictionary.STATUSES.lookup(status));
+    }
+
+    @Override
+    public Predicate<Internship> asPredicate() {
+        if ("all".equals(status)) {
+            return i -> true;
+        }
+        int code = StringDictionary.STATUSES.lookup(status);
+        return i -> i.getStatusCode() == code;
+    }
+}
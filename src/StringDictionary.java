@@ -0,0 +1,142 @@
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+/**
+ * Shared dictionary of the highly repetitive text values held by the entities.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a helper of the <b>Domain Layer</b>. Majors, internship levels, statuses and company
+ * names repeat across thousands of {@link Student}, {@link Internship} and {@link CompanyRepresentative}
+ * objects. Instead of each entity holding its own {@link String}, the entity stores an {@code int} code
+ * and every code maps to one shared, canonical instance.
+ * </p>
+ * <p>
+ * <b>Normalization:</b> Values are keyed case-insensitively, so {@code "computer science"} and
+ * {@code "Computer Science"} get the same code and the spelling seen first is the one displayed. Two values
+ * are therefore equal ignoring case exactly when their codes are equal, which turns the
+ * {@code equalsIgnoreCase} checks of the filters and eligibility rules into {@code int} comparisons.
+ * </p>
+ * <p>
+ * Codes are only ever added, never removed, and are assigned in first-seen order; the values the code
+ * itself refers to (e.g. "Approved", "Basic", "All") are seeded first. The dictionary is
+ * safe to use from the parallel loaders.
+ * </p>
+ */
+public final class StringDictionary {
+    /** Code of {@code null}. */
+    public static final int NONE = -1;
+    /** Result of {@link #lookup} for a value that was never encoded; it matches no entity. */
+    public static final int UNKNOWN = -2;
+    /** Result of {@link #filterCode} for a filter that places no constraint ({@code null} or "all"). */
+    public static final int ANY = -3;
+
+    public static final StringDictionary MAJORS = new StringDictionary("All");
+    public static final StringDictionary LEVELS = new StringDictionary("Basic", "Intermediate", "Advanced");
+    public static final StringDictionary STATUSES = new StringDictionary(
+            "Pending", "Approved", "Rejected", "Filled",
+            "Successful", "Unsuccessful", "Confirmed", "Pending Withdrawal", "Withdrawn");
+    public static final StringDictionary COMPANIES = new StringDictionary();
+
+    public static final int MAJOR_ALL = MAJORS.encode("All");
+    public static final int LEVEL_BASIC = LEVELS.encode("Basic");
+    public static final int STATUS_PENDING = STATUSES.encode("Pending");
+    public static final int STATUS_APPROVED = STATUSES.encode("Approved");
+    public static final int STATUS_FILLED = STATUSES.encode("Filled");
+
+    private final Map<String, Integer> codesByKey = new ConcurrentHashMap<>();
+    // Exact spellings already seen, so the common case skips the case folding
+    private final Map<String, Integer> codesBySpelling = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size;
+    /**
+     * Creates a dictionary whose first codes are the given values, so the literals used in the code
+     * are the instances returned for them.
+     *
+     * @param seeds Values to encode up front.
+     */
+    private StringDictionary(String... seeds) {
+        for (String seed : seeds) {
+            encode(seed);
+        }
+    }
+    /**
+     * Returns the code of a value, adding the value if it has not been seen before.
+     *
+     * @param value The value, or {@code null}.
+     * @return Its code, or {@link #NONE} for {@code null}.
+     */
+    public int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codesBySpelling.get(value);
+        if (code != null) {
+            return code;
+        }
+        String key = key(value);
+        synchronized (this) {
+            code = codesByKey.get(key);
+            if (code != null) {
+                codesBySpelling.put(value, code);
+                return code;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = value;
+            values = current; // publish the entry before its code becomes visible
+            codesByKey.put(key, size);
+            codesBySpelling.put(value, size);
+            return size++;
+        }
+    }
+    /**
+     * Returns the code of a value without adding it. Filters use this: a value that was never encoded
+     * cannot match any entity.
+     *
+     * @param value The value, or {@code null}.
+     * @return Its code, {@link #NONE} for {@code null} or {@link #UNKNOWN}.
+     */
+    public int lookup(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codesByKey.get(key(value));
+        return code != null ? code : UNKNOWN;
+    }
+    /**
+     * Resolves a menu filter setting once, so the filter loop only compares codes.
+     *
+     * @param filter The filter value; {@code null} or "all" (any case) means no constraint.
+     * @return {@link #ANY}, or the code to compare against with {@link #matches}.
+     */
+    public int filterCode(String filter) {
+        return filter == null || filter.equalsIgnoreCase("all") ? ANY : lookup(filter);
+    }
+
+    public static boolean matches(int filterCode, int code) {
+        return filterCode == ANY || filterCode == code;
+    }
+    /**
+     * @param code A code returned by {@link #encode}.
+     * @return The canonical value, or {@code null} for {@link #NONE}.
+     */
+    public String decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+    /**
+     * @param value The value, or {@code null}.
+     * @return The shared instance equal (ignoring case) to {@code value}.
+     */
+    public String canonical(String value) {
+        return decode(encode(value));
+    }
+
+    public int size() {
+        return codesByKey.size();
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -9,11 +9,12 @@ import java.util.*;
  */
 public class Student extends User {
     private int yearOfStudy;
-    private String major;
+    private int majorCode; // StringDictionary.MAJORS code
     private boolean isVisible = true;
     private final List<String> applicationIDs; // Store IDs instead of objects
     private String acceptedPlacementID;
     private final Set<String> withdrawalRequestedIDs;
+    private List<String> applicationIDsView; // shared read-only copy, dropped on the next change
     private static final int MAX_APPLICATIONS = 3;
     /**
      * Constructs a new Student.
@@ -26,7 +27,7 @@ public class Student extends User {
     public Student(String userID, String name, int yearOfStudy, String major) {
         super(userID, name);
         this.yearOfStudy = yearOfStudy;
-        this.major = major;
+        this.majorCode = StringDictionary.MAJORS.encode(major);
         this.applicationIDs = new ArrayList<>();
         this.withdrawalRequestedIDs = new HashSet<>();
     }
@@ -41,7 +42,11 @@ public class Student extends User {
     }
 
     public String getMajor() {
-        return major;
+        return StringDictionary.MAJORS.decode(majorCode);
+    }
+
+    public int getMajorCode() {
+        return majorCode;
     }
 
     public boolean isVisible() {
@@ -49,12 +54,28 @@ public class Student extends User {
     }
 
     public void setVisible(boolean visible) {
+        boolean wasVisible = isVisible;
         isVisible = visible;
+        notifyChanged(IEntityChangeListener.FIELD_VISIBLE, wasVisible);
     }
 
     public List<String> getApplicationIDs() {
         return new ArrayList<>(applicationIDs);
     }
+    /**
+     * Read-only counterpart of {@link #getApplicationIDs()}. The same immutable copy is returned until
+     * the application list changes.
+     *
+     * @return An unmodifiable list of the internship IDs applied for.
+     */
+    public List<String> viewApplicationIDs() {
+        List<String> view = applicationIDsView;
+        if (view == null) {
+            view = Collections.unmodifiableList(new ArrayList<>(applicationIDs));
+            applicationIDsView = view;
+        }
+        return view;
+    }
     /**
      * Checks if the student is eligible to apply for a new internship.
      * <p>
@@ -75,13 +96,37 @@ public class Student extends User {
     public boolean addApplication(String internshipID) {
         if (canApply()) {
             applicationIDs.add(internshipID);
+            applicationIDsView = null;
+            notifyChanged(IEntityChangeListener.FIELD_APPLICATIONS, null);
             return true;
         }
         return false;
     }
 
+    /**
+     * Replaces the application list from persisted state (recovery only).
+     * The application limit is not re-checked because the state was valid when it was saved.
+     *
+     * @param internshipIDs The persisted application IDs.
+     */
+    void restoreApplications(Collection<String> internshipIDs) {
+        applicationIDs.clear();
+        applicationIDs.addAll(internshipIDs);
+        applicationIDsView = null;
+        notifyChanged(IEntityChangeListener.FIELD_APPLICATIONS, null);
+    }
+
+    void restoreWithdrawalRequests(Collection<String> internshipIDs) {
+        withdrawalRequestedIDs.clear();
+        withdrawalRequestedIDs.addAll(internshipIDs);
+        notifyChanged(IEntityChangeListener.FIELD_WITHDRAWAL_REQUESTS, null);
+    }
+
     public void removeApplication(String internshipID) {
-        applicationIDs.remove(internshipID);
+        if (applicationIDs.remove(internshipID)) {
+            applicationIDsView = null;
+            notifyChanged(IEntityChangeListener.FIELD_APPLICATIONS, null);
+        }
     }
 
     public String getAcceptedPlacementID() {
@@ -93,11 +138,15 @@ public class Student extends User {
      * @param internshipID The ID of the internship the student has accepted.
      */
     public void setAcceptedPlacement(String internshipID) {
+        String oldPlacementID = this.acceptedPlacementID;
         this.acceptedPlacementID = internshipID;
+        notifyChanged(IEntityChangeListener.FIELD_ACCEPTED_PLACEMENT, oldPlacementID);
     }
 
     public void requestWithdrawal(String internshipID) {
-        withdrawalRequestedIDs.add(internshipID);
+        if (withdrawalRequestedIDs.add(internshipID)) {
+            notifyChanged(IEntityChangeListener.FIELD_WITHDRAWAL_REQUESTS, null);
+        }
     }
 
     public boolean hasWithdrawalRequest(String internshipID) {
@@ -105,6 +154,12 @@ public class Student extends User {
     }
 
     public void clearWithdrawalRequest(String internshipID) {
-        withdrawalRequestedIDs.remove(internshipID);
+        if (withdrawalRequestedIDs.remove(internshipID)) {
+            notifyChanged(IEntityChangeListener.FIELD_WITHDRAWAL_REQUESTS, null);
+        }
+    }
+
+    public Set<String> getWithdrawalRequestedIDs() {
+        return new HashSet<>(withdrawalRequestedIDs);
     }
 }
\ No newline at end of file
@@ -12,9 +12,11 @@ import java.util.*;
  * </p>
  */
 public class StudentMenuController implements IMenuController {
+    private static final int SEARCH_RESULTS_SHOWN = 20;
     private final Student currentStudent;
     private final IApplicationService applicationService;
     private final IInternshipRepository internshipRepo;
+    private final InternshipQueryPlanner planner;
     private final IOutputService outputService;
     private final IAuthenticationService authService;
     private final Scanner scanner;
@@ -27,6 +29,7 @@ public class StudentMenuController implements IMenuController {
      * @param student            The currently logged-in student.
      * @param applicationService Service to handle application logic.
      * @param internshipRepo     Repository to read internship data.
+     * @param planner            Plans and runs the internship listings and searches.
      * @param outputService      Service to handle console output.
      * @param authService        Service to handle password changes.
      * @param scanner            Scanner for reading user input.
@@ -34,12 +37,14 @@ public class StudentMenuController implements IMenuController {
     public StudentMenuController(Student student,
                                  IApplicationService applicationService,
                                  IInternshipRepository internshipRepo,
+                                 InternshipQueryPlanner planner,
                                  IOutputService outputService,
                                  IAuthenticationService authService,
                                  Scanner scanner) {
         this.currentStudent = student;
         this.applicationService = applicationService;
         this.internshipRepo = internshipRepo;
+        this.planner = planner;
         this.outputService = outputService;
         this.authService = authService;
         this.scanner = scanner;
@@ -58,6 +63,7 @@ public class StudentMenuController implements IMenuController {
         outputService.displayMessage("6. Confirm Accepted Placement");
         outputService.displayMessage("7. Change Password");
         outputService.displayMessage("8. Logout");
+        outputService.displayMessage("9. Search Internships");
     }
     /**
      * Processes the user's menu selection.
@@ -90,6 +96,9 @@ public class StudentMenuController implements IMenuController {
                 break;
             case "8":
                 break;
+            case "9":
+                searchInternships();
+                break;
             default:
                 outputService.displayError("Invalid choice!");
         }
@@ -111,15 +120,8 @@ public class StudentMenuController implements IMenuController {
             return;
         }
 
-        List<String> appIDs = currentStudent.getApplicationIDs();
-        List<String> approvedInternships = new ArrayList<>();
-
-        for (String id : appIDs) {
-            Internship i = internshipRepo.getById(id);
-            if (i != null && "Approved".equals(i.getStudentStatus(currentStudent.getUserID()))) {
-                approvedInternships.add(id);
-            }
-        }
+        List<String> appIDs = currentStudent.viewApplicationIDs();
+        List<String> approvedInternships = applicationService.findApplications(currentStudent.getUserID(), "Approved");
 
         if (approvedInternships.isEmpty()) {
             outputService.displayMessage("You have no approved internships to confirm yet.");
@@ -220,30 +222,7 @@ public class StudentMenuController implements IMenuController {
     }
 
     private void viewAvailableInternships() {
-        List<Internship> allInternships = internshipRepo.getAll();
-        List<Internship> filtered = new ArrayList<>();
-
-        for (Internship i : allInternships) {
-            if (!isInternshipAvailableForStudent(i)) {
-                continue;
-            }
-
-            boolean matches = true;
-
-            if (!filterLevel.equalsIgnoreCase("all") && !i.getLevel().equalsIgnoreCase(filterLevel)) {
-                matches = false;
-            }
-
-            if (matches) {
-                filtered.add(i);
-            }
-        }
-
-        if (sortOrder.equals("alphabetical")) {
-            filtered.sort(new AlphabeticalSorter());
-        } else {
-            filtered.sort(new ClosingDateSorter());
-        }
+        List<Internship> filtered = availableInternships();
 
         if (filtered.isEmpty()) {
             outputService.displayMessage("No internships available.");
@@ -298,34 +277,43 @@ public class StudentMenuController implements IMenuController {
         }
     }
     /**
-     * Checks strict business rules for visibility.
+     * Keyword search over the titles and descriptions of the internships this student may apply for.
+     * <p>
+     * The {@link InternshipQueryPlanner} ranks the postings containing a keyword by relevance and keeps the
+     * best {@value #SEARCH_RESULTS_SHOWN} that pass the same availability rules and level filter as the listing.
+     * </p>
      */
-    private boolean isInternshipAvailableForStudent(Internship internship) {
-        if (!"Approved".equals(internship.getStatus())) {
-            return false;
-        }
-
-        if (!internship.isVisible()) {
-            return false;
-        }
-
-        if (!internship.hasAvailableSlots()) {
-            return false;
-        }
-
-        if (!internship.getPreferredMajor().equalsIgnoreCase(currentStudent.getMajor()) &&
-                !internship.getPreferredMajor().equalsIgnoreCase("all")) {
-            return false;
+    private void searchInternships() {
+        outputService.displayMessage("Enter keywords:");
+        String keywords = scanner.nextLine().trim();
+        if (keywords.isEmpty()) {
+            outputService.displayError("Please enter at least one keyword.");
+            return;
         }
 
-        int year = currentStudent.getYearOfStudy();
-        String level = internship.getLevel();
+        List<Internship> results = planner.list(InternshipQuery.all().eligibleFor(currentStudent)
+                .level(filterLevel).keywords(keywords).limit(SEARCH_RESULTS_SHOWN));
 
-        if (year <= 2 && !level.equalsIgnoreCase("Basic")) {
-            return false;
+        if (results.isEmpty()) {
+            outputService.displayMessage("No available internships match \"" + keywords + "\".");
+            return;
         }
 
-        return true;
+        outputService.displayMessage("\n===== Search Results: " + keywords + " =====");
+        outputService.displayMessage("");
+        displayInternshipList(results);
+    }
+    /**
+     * The internships this student may apply for, in the chosen sort order.
+     * <p>
+     * The eligibility rules (Approved, visible, free slots, major, Basic level for years 1-2) and the level
+     * filter form one query; the {@link InternshipQueryPlanner} typically answers it from the eligibility
+     * bitmaps, so only the eligible postings are fetched and sorted.
+     * </p>
+     */
+    private List<Internship> availableInternships() {
+        InternshipQuery query = InternshipQuery.all().eligibleFor(currentStudent).level(filterLevel);
+        return planner.list(sortOrder.equals("alphabetical") ? query.orderAlphabetically() : query.orderByClosingDate());
     }
 
     private void displayInternshipList(List<Internship> internships) {
@@ -347,30 +335,7 @@ public class StudentMenuController implements IMenuController {
      * Handles the flow for applying to a new internship.
      */
     private void applyForInternship() {
-        List<Internship> allInternships = internshipRepo.getAll();
-        List<Internship> filtered = new ArrayList<>();
-
-        for (Internship i : allInternships) {
-            if (!isInternshipAvailableForStudent(i)) {
-                continue;
-            }
-
-            boolean matches = true;
-
-            if (!filterLevel.equalsIgnoreCase("all") && !i.getLevel().equalsIgnoreCase(filterLevel)) {
-                matches = false;
-            }
-
-            if (matches) {
-                filtered.add(i);
-            }
-        }
-
-        if (sortOrder.equals("alphabetical")) {
-            filtered.sort(new AlphabeticalSorter());
-        } else {
-            filtered.sort(new ClosingDateSorter());
-        }
+        List<Internship> filtered = availableInternships();
 
         if (filtered.isEmpty()) {
             outputService.displayMessage("No internships available to apply.");
@@ -395,7 +360,7 @@ public class StudentMenuController implements IMenuController {
      * Displays the status of all applications made by the student.
      */
     private void viewMyApplications() {
-        List<String> appIDs = currentStudent.getApplicationIDs();
+        List<String> appIDs = currentStudent.viewApplicationIDs();
         if (appIDs.isEmpty()) {
             outputService.displayMessage("No applications found.");
             return;
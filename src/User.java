@@ -12,6 +12,7 @@
 public abstract class User {
     protected String userID;
     protected String name;
+    protected IEntityChangeListener changeListener;
 
     /**
      * Constructs a new User with the specified ID and name.
@@ -34,7 +35,27 @@ public abstract class User {
     }
 
     public void setName(String name) {
+        String oldName = this.name;
         this.name = name;
+        notifyChanged(IEntityChangeListener.FIELD_NAME, oldName);
+    }
+    /**
+     * Attaches the listener that is told about every change to this user.
+     * <p>
+     * Called by the owning repository when the user is added, so that persistence
+     * and indexes stay in sync no matter which class performs the mutation.
+     * </p>
+     *
+     * @param changeListener The listener, or {@code null} to detach.
+     */
+    public void setChangeListener(IEntityChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    protected void notifyChanged(String field, Object oldValue) {
+        if (changeListener != null) {
+            changeListener.onUserChanged(this, field, oldValue);
+        }
     }
 
     // Template method for role-specific behavior
@@ -1,23 +1,56 @@
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 /**
  * Concrete implementation of the Generic User Repository.
  * <p>
  * Acts as an <b>In-Memory Database</b> storing user objects in an {@code ArrayList}.
  * </p>
+ * <p>
+ * The map is concurrent so that the initial load can fill the repositories from several threads.
+ * </p>
+ * <p>
+ * A repository of company representatives doubles as the company directory: the representatives are also
+ * indexed by company name in a {@link CompanyNameIndex}, which answers {@link #findByCompanyPrefix} and
+ * {@link #completeCompanyName} without a scan. These are not part of {@link IUserRepository}, because they
+ * mean nothing for the other user types.
+ * </p>
  *
  * @param <T> The specific type of User (Student, CompanyRepresentative, etc.).
  */
 // Single Responsibility - manages user storage only
 public class UserRepository<T extends User> implements IUserRepository<T> {
     private final Map<String, T> users;
+    private final IEntityChangeListener changeListener;
+    private final CompanyNameIndex<T> byCompanyName = new CompanyNameIndex<>();
+    private List<T> view; // shared by viewAll() until the next add or remove, guarded by this
 
     public UserRepository() {
-        this.users = new HashMap<>();
+        this(null);
+    }
+    /**
+     * Creates a repository that reports additions, removals and later changes of its users.
+     *
+     * @param changeListener Receives entity change events, or {@code null} for none.
+     */
+    public UserRepository(IEntityChangeListener changeListener) {
+        this.users = new ConcurrentHashMap<>();
+        this.changeListener = changeListener;
     }
 
     @Override
     public void add(T user) {
-        users.put(user.getUserID(), user);
+        T replaced = users.put(user.getUserID(), user);
+        if (replaced instanceof CompanyRepresentative) {
+            byCompanyName.remove(((CompanyRepresentative) replaced).getCompanyName(), replaced);
+        }
+        if (user instanceof CompanyRepresentative) {
+            byCompanyName.add(((CompanyRepresentative) user).getCompanyName(), user);
+        }
+        invalidateView();
+        if (changeListener != null) {
+            user.setChangeListener(changeListener);
+            changeListener.onUserAdded(user);
+        }
     }
 
     @Override
@@ -30,6 +63,34 @@ public class UserRepository<T extends User> implements IUserRepository<T> {
         return new ArrayList<>(users.values());
     }
 
+    @Override
+    public synchronized List<T> viewAll() {
+        if (view == null) {
+            view = Collections.unmodifiableList(new ArrayList<>(users.values()));
+        }
+        return view;
+    }
+
+    /**
+     * Finds company representatives by the start of their company name, ignoring case and extra spaces.
+     *
+     * @param prefix The start of the company name.
+     * @return The matching representatives, grouped by company; empty for other user types.
+     */
+    public List<T> findByCompanyPrefix(String prefix) {
+        return byCompanyName.find(prefix);
+    }
+    /**
+     * Autocompletes a company name from the representatives' companies.
+     *
+     * @param prefix The start of the name.
+     * @param limit  Maximum number of names to return.
+     * @return The distinct matching company names, alphabetically.
+     */
+    public List<String> completeCompanyName(String prefix, int limit) {
+        return byCompanyName.complete(prefix, limit);
+    }
+
     @Override
     public boolean exists(String userID) {
         return users.containsKey(userID);
@@ -37,6 +98,21 @@ public class UserRepository<T extends User> implements IUserRepository<T> {
 
     @Override
     public void remove(String userID) {
-        users.remove(userID);
+        T removed = users.remove(userID);
+        if (removed != null) {
+            invalidateView();
+        }
+        if (removed instanceof CompanyRepresentative) {
+            byCompanyName.remove(((CompanyRepresentative) removed).getCompanyName(), removed);
+        }
+        if (removed != null && changeListener != null) {
+            removed.setChangeListener(null);
+            changeListener.onUserRemoved(removed);
+        }
+    }
+
+    // Called after the map changes, so a view built concurrently is never kept past the change
+    private synchronized void invalidateView() {
+        view = null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+import java.sql.*;
+import java.util.*;
+/**
+ * Describes how one kind of {@link User} is stored in a SQL table.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This is the <b>Strategy</b> that lets a single generic {@link JdbcUserRepository} store Students,
+ * Company Representatives and Staff, in the same way {@link IUserRepository} lets one contract serve
+ * all three. The first column is always the user ID primary key.
+ * </p>
+ *
+ * @param <T> The type of User stored in the table.
+ */
+public interface UserTableMapping<T extends User> {
+    String getTableName();
+    /**
+     * @return Column names, starting with the primary key {@code id}.
+     */
+    List<String> getColumns();
+    /**
+     * @return {@code CREATE TABLE IF NOT EXISTS} and {@code CREATE INDEX IF NOT EXISTS} statements.
+     */
+    List<String> getSchema();
+    /**
+     * Binds every column of {@code user}, in {@link #getColumns()} order, starting at parameter 1.
+     */
+    void bind(PreparedStatement statement, T user) throws SQLException;
+    /**
+     * Builds a user from the current row, including state such as applications, without firing change events.
+     */
+    T map(ResultSet row) throws SQLException;
+
+    /** Joins a list column; the separator never occurs in IDs. */
+    static String joinList(Collection<String> values) {
+        return String.join(";", values);
+    }
+
+    static List<String> splitList(String joined) {
+        return joined == null || joined.isEmpty() ? new ArrayList<>() : Arrays.asList(joined.split(";"));
+    }
+}
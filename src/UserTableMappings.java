@@ -0,0 +1,131 @@
+import java.sql.*;
+import java.util.*;
+/**
+ * The {@link UserTableMapping} strategies for the three user types.
+ */
+public final class UserTableMappings {
+    public static final UserTableMapping<Student> STUDENTS = new StudentMapping();
+    public static final UserTableMapping<CompanyRepresentative> COMPANY_REPS = new CompanyRepMapping();
+    public static final UserTableMapping<CareerCenterStaff> STAFF = new StaffMapping();
+
+    private UserTableMappings() {
+    }
+
+    private static class StudentMapping implements UserTableMapping<Student> {
+        @Override
+        public String getTableName() {
+            return "students";
+        }
+
+        @Override
+        public List<String> getColumns() {
+            return Arrays.asList("id", "name", "year_of_study", "major", "visible",
+                    "accepted_placement", "applications", "withdrawal_requests");
+        }
+
+        @Override
+        public List<String> getSchema() {
+            return Arrays.asList(
+                    "CREATE TABLE IF NOT EXISTS students (id VARCHAR(64) PRIMARY KEY, name VARCHAR(255), "
+                            + "year_of_study INT, major VARCHAR(255), visible BOOLEAN, accepted_placement VARCHAR(64), "
+                            + "applications VARCHAR(1024), withdrawal_requests VARCHAR(1024))",
+                    "CREATE INDEX IF NOT EXISTS students_major ON students (major)");
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, Student s) throws SQLException {
+            statement.setString(1, s.getUserID());
+            statement.setString(2, s.getName());
+            statement.setInt(3, s.getYearOfStudy());
+            statement.setString(4, s.getMajor());
+            statement.setBoolean(5, s.isVisible());
+            statement.setString(6, s.getAcceptedPlacementID());
+            statement.setString(7, UserTableMapping.joinList(s.getApplicationIDs()));
+            statement.setString(8, UserTableMapping.joinList(s.getWithdrawalRequestedIDs()));
+        }
+
+        @Override
+        public Student map(ResultSet row) throws SQLException {
+            Student student = new Student(row.getString("id"), row.getString("name"),
+                    row.getInt("year_of_study"), row.getString("major"));
+            student.setVisible(row.getBoolean("visible"));
+            student.setAcceptedPlacement(row.getString("accepted_placement"));
+            student.restoreApplications(UserTableMapping.splitList(row.getString("applications")));
+            student.restoreWithdrawalRequests(UserTableMapping.splitList(row.getString("withdrawal_requests")));
+            return student;
+        }
+    }
+
+    private static class CompanyRepMapping implements UserTableMapping<CompanyRepresentative> {
+        @Override
+        public String getTableName() {
+            return "company_reps";
+        }
+
+        @Override
+        public List<String> getColumns() {
+            return Arrays.asList("id", "name", "company_name", "department", "position", "email",
+                    "status", "internships");
+        }
+
+        @Override
+        public List<String> getSchema() {
+            return Arrays.asList(
+                    "CREATE TABLE IF NOT EXISTS company_reps (id VARCHAR(255) PRIMARY KEY, name VARCHAR(255), "
+                            + "company_name VARCHAR(255), department VARCHAR(255), position VARCHAR(255), "
+                            + "email VARCHAR(255), status VARCHAR(32), internships VARCHAR(1024))",
+                    "CREATE INDEX IF NOT EXISTS company_reps_status ON company_reps (status)");
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, CompanyRepresentative r) throws SQLException {
+            statement.setString(1, r.getUserID());
+            statement.setString(2, r.getName());
+            statement.setString(3, r.getCompanyName());
+            statement.setString(4, r.getDepartment());
+            statement.setString(5, r.getPosition());
+            statement.setString(6, r.getEmail());
+            statement.setString(7, r.getStatus());
+            statement.setString(8, UserTableMapping.joinList(r.getInternshipIDs()));
+        }
+
+        @Override
+        public CompanyRepresentative map(ResultSet row) throws SQLException {
+            CompanyRepresentative rep = new CompanyRepresentative(row.getString("id"), row.getString("name"),
+                    row.getString("company_name"), row.getString("department"), row.getString("position"),
+                    row.getString("email"));
+            rep.setStatus(row.getString("status"));
+            rep.restoreInternships(UserTableMapping.splitList(row.getString("internships")));
+            return rep;
+        }
+    }
+
+    private static class StaffMapping implements UserTableMapping<CareerCenterStaff> {
+        @Override
+        public String getTableName() {
+            return "staff";
+        }
+
+        @Override
+        public List<String> getColumns() {
+            return Arrays.asList("id", "name");
+        }
+
+        @Override
+        public List<String> getSchema() {
+            return Collections.singletonList(
+                    "CREATE TABLE IF NOT EXISTS staff (id VARCHAR(64) PRIMARY KEY, name VARCHAR(255))");
+        }
+
+        @Override
+        public void bind(PreparedStatement statement, CareerCenterStaff s) throws SQLException {
+            statement.setString(1, s.getUserID());
+            statement.setString(2, s.getName());
+        }
+
+        @Override
+        public CareerCenterStaff map(ResultSet row) throws SQLException {
+            return new CareerCenterStaff(row.getString("id"), row.getString("name"));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+import java.util.Objects;
+/**
+ * Identifies one student's pending request to withdraw from one internship.
+ * <p>
+ * A value object: two requests are equal when they name the same internship and student, so it can key
+ * the withdrawal {@link PendingQueue}.
+ * </p>
+ */
+public final class WithdrawalRequest {
+    private final String internshipID;
+    private final String studentID;
+
+    public WithdrawalRequest(String internshipID, String studentID) {
+        this.internshipID = internshipID;
+        this.studentID = studentID;
+    }
+
+    public String getInternshipID() {
+        return internshipID;
+    }
+
+    public String getStudentID() {
+        return studentID;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof WithdrawalRequest)) {
+            return false;
+        }
+        WithdrawalRequest request = (WithdrawalRequest) other;
+        return internshipID.equals(request.internshipID) && studentID.equals(request.studentID);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(internshipID, studentID);
+    }
+
+    @Override
+    public String toString() {
+        return internshipID + " " + studentID;
+    }
+}
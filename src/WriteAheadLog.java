@@ -0,0 +1,560 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+/**
+ * Append-only, group-committed log of every state mutation in the system.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class belongs to the <b>Persistence Layer (Write Side)</b>. Previously the only thing saved
+ * was the Company Representative list, once, when the program exited normally. Any crash lost every
+ * internship, application status, confirmed slot and withdrawal. The log subscribes to entity
+ * changes through {@link IEntityChangeListener}, so every mutation made via {@link ApplicationService},
+ * {@link ApprovalService}, the controllers or the entities themselves is recorded.
+ * </p>
+ * <p>
+ * <b>Record Format:</b> One line per mutation: {@code LSN<TAB>TYPE<TAB>field<TAB>field...<TAB>CRC}.
+ * Tabs, line breaks and backslashes inside fields are escaped and {@code null} is written as {@code \N}.
+ * The last field is the CRC-32 (hex) of the UTF-8 bytes before it. Every record is an <i>after-image</i>
+ * (the new state, not a delta), so replaying a record twice is harmless.
+ * </p>
+ * <p>
+ * <b>Torn Tail:</b> Only lines that end in a line break and match their checksum are records. Reading
+ * stops at the first line that fails either test, and opening the log truncates the file there, so a
+ * record cut short by a crash is neither replayed nor glued to the next one.
+ * </p>
+ * <p>
+ * <b>Group Commit:</b>
+ * A mutation event appends its record to an in-memory batch and then waits until a background thread
+ * has written and {@code fsync}ed it, so a service only reports success for a change that is on disk.
+ * The thread syncs as soon as someone is waiting; records appended while a sync is in progress form the
+ * next batch, so during an application rush many mutations share one disk sync. Records nobody waits for
+ * are synced every {@code syncIntervalMillis}, or once {@code syncBatchSize} of them are pending.
+ * </p>
+ */
+public class WriteAheadLog implements IEntityChangeListener, Closeable {
+    public static final String DEFAULT_FILE = "ims.wal";
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+    public static final int DEFAULT_SYNC_BATCH_SIZE = 256;
+
+    // Record types
+    static final String INTERNSHIP = "INTERNSHIP";
+    static final String INTERNSHIP_STATE = "INTERNSHIP_STATE";
+    static final String APPLICATION = "APPLICATION";
+    static final String STUDENT = "STUDENT";
+    static final String STUDENT_STATE = "STUDENT_STATE";
+    static final String REP = "REP";
+    static final String REP_STATE = "REP_STATE";
+    static final String STAFF = "STAFF";
+    static final String USER_NAME = "USER_NAME";
+    static final String USER_REMOVED = "USER_REMOVED";
+    static final String CREDENTIAL = "CREDENTIAL";
+    static final String EMAIL = "EMAIL";
+
+    private static final String NULL_TOKEN = "\\N";
+    static final String LIST_SEPARATOR = ";";
+
+    private final String filename;
+    private FileChannel channel; // replaced by truncateThrough; used under writeLock
+    private final long syncIntervalMillis;
+    private final int syncBatchSize;
+
+    private final Object appendLock = new Object();
+    private final Object writeLock = new Object();
+    private StringBuilder pending = new StringBuilder();
+    private int pendingRecords;
+    private int committers;
+    private long lastLSN;
+    private long durableLSN;
+    private IOException syncFailure;
+    private volatile boolean closed;
+    private final Thread flusher;
+    /**
+     * Opens (or creates) a log with the default group commit settings.
+     *
+     * @param filename The log file path.
+     * @throws IOException if the file cannot be opened.
+     */
+    public WriteAheadLog(String filename) throws IOException {
+        this(filename, DEFAULT_SYNC_INTERVAL_MILLIS, DEFAULT_SYNC_BATCH_SIZE);
+    }
+    /**
+     * Opens (or creates) a log and starts its group commit thread.
+     *
+     * @param filename           The log file path. Existing records are kept (a torn tail is cut off) and
+     *                           new ones appended.
+     * @param syncIntervalMillis Maximum time a record that nobody waits for stays unsynced.
+     * @param syncBatchSize      Number of pending records that triggers an immediate sync.
+     * @throws IOException if the file cannot be opened.
+     */
+    public WriteAheadLog(String filename, long syncIntervalMillis, int syncBatchSize) throws IOException {
+        this.filename = filename;
+        this.syncIntervalMillis = Math.max(1, syncIntervalMillis);
+        this.syncBatchSize = Math.max(1, syncBatchSize);
+        long[] last = {0};
+        long validEnd = readValidPrefix(filename, record -> last[0] = Math.max(last[0], parseLSN(record)));
+        this.lastLSN = last[0];
+        this.durableLSN = lastLSN;
+        this.channel = FileChannel.open(Paths.get(filename),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() > validEnd) {
+            channel.truncate(validEnd);
+            channel.force(true);
+        }
+
+        this.flusher = new Thread(this::runFlusher, "wal-group-commit");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+    /**
+     * @return The sequence number of the most recently appended record.
+     */
+    public long getLastLSN() {
+        synchronized (appendLock) {
+            return lastLSN;
+        }
+    }
+    /**
+     * Makes sure new records are numbered after {@code lsn}. Called after recovery, because a log
+     * that was truncated by a snapshot restarts empty while the snapshot remembers the last number.
+     *
+     * @param lsn The highest sequence number already reflected in recovered state.
+     */
+    public void advanceLSN(long lsn) {
+        synchronized (appendLock) {
+            if (lsn > lastLSN) {
+                lastLSN = lsn;
+                durableLSN = Math.max(durableLSN, lsn);
+            }
+        }
+    }
+    /**
+     * @return The sequence number up to which records are known to be on disk.
+     */
+    public long getDurableLSN() {
+        synchronized (appendLock) {
+            return durableLSN;
+        }
+    }
+
+    // ===== Entity events (each waits until its record is durable) =====
+
+    @Override
+    public void onInternshipAdded(Internship i) {
+        commit(INTERNSHIP, i.getInternshipID(), i.getTitle(), i.getDescription(), i.getLevel(),
+                i.getPreferredMajor(), i.getOpeningDate(), i.getClosingDate(),
+                String.valueOf(i.getTotalSlots()), i.getCompanyName(), i.getRepresentativeID(),
+                i.getStatus(), String.valueOf(i.isVisible()), String.valueOf(i.getConfirmedSlots()));
+    }
+
+    @Override
+    public void onInternshipChanged(Internship i, String field, Object oldValue) {
+        commit(INTERNSHIP_STATE, i.getInternshipID(), i.getStatus(),
+                String.valueOf(i.isVisible()), String.valueOf(i.getConfirmedSlots()));
+    }
+
+    @Override
+    public void onApplicationChanged(Internship internship, String studentID, String oldStatus, String newStatus) {
+        String reason = "Pending Withdrawal".equals(newStatus) ? internship.getWithdrawalReason(studentID) : null;
+        commit(APPLICATION, internship.getInternshipID(), studentID, newStatus, reason);
+    }
+
+    @Override
+    public void onUserAdded(User user) {
+        if (user instanceof Student) {
+            Student s = (Student) user;
+            commit(STUDENT, s.getUserID(), s.getName(), String.valueOf(s.getYearOfStudy()), s.getMajor());
+        } else if (user instanceof CompanyRepresentative) {
+            CompanyRepresentative r = (CompanyRepresentative) user;
+            commit(REP, r.getUserID(), r.getName(), r.getCompanyName(), r.getDepartment(),
+                    r.getPosition(), r.getEmail(), r.getStatus());
+        } else if (user instanceof CareerCenterStaff) {
+            commit(STAFF, user.getUserID(), user.getName());
+        }
+    }
+
+    @Override
+    public void onUserChanged(User user, String field, Object oldValue) {
+        if (FIELD_NAME.equals(field)) {
+            commit(USER_NAME, user.getRole(), user.getUserID(), user.getName());
+        } else if (user instanceof Student) {
+            Student s = (Student) user;
+            commit(STUDENT_STATE, s.getUserID(), s.getAcceptedPlacementID(), String.valueOf(s.isVisible()),
+                    String.join(LIST_SEPARATOR, s.viewApplicationIDs()),
+                    String.join(LIST_SEPARATOR, s.getWithdrawalRequestedIDs()));
+        } else if (user instanceof CompanyRepresentative) {
+            CompanyRepresentative r = (CompanyRepresentative) user;
+            commit(REP_STATE, r.getUserID(), r.getStatus(), String.join(LIST_SEPARATOR, r.getInternshipIDs()));
+        }
+    }
+
+    @Override
+    public void onUserRemoved(User user) {
+        commit(USER_REMOVED, user.getRole(), user.getUserID());
+    }
+
+    @Override
+    public void onCredentialChanged(String userID, String passwordHash) {
+        commit(CREDENTIAL, userID, passwordHash);
+    }
+
+    @Override
+    public void onEmailRegistered(String email, String userID) {
+        commit(EMAIL, email, userID);
+    }
+
+    // ===== Appending and group commit =====
+    /**
+     * Appends a record and waits until the group commit thread has synced it.
+     * <p>
+     * A failed sync is reported on {@code System.err} rather than thrown, like the other persistence
+     * errors, so one broken disk write does not abort the menu action that caused it.
+     * </p>
+     *
+     * @return The sequence number assigned to the record.
+     */
+    long commit(String type, String... fields) {
+        synchronized (appendLock) {
+            long lsn = append(type, fields);
+            committers++;
+            appendLock.notifyAll();
+            try {
+                while (durableLSN < lsn && syncFailure == null) {
+                    appendLock.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                committers--;
+            }
+            if (durableLSN < lsn && syncFailure != null) {
+                System.err.println("Mutation " + lsn + " may not be durable: " + syncFailure.getMessage());
+            }
+            return lsn;
+        }
+    }
+    /**
+     * Adds a record to the current batch. Returns without waiting for the disk.
+     *
+     * @param type   The record type.
+     * @param fields The record fields; {@code null} is allowed.
+     * @return The sequence number assigned to the record.
+     */
+    long append(String type, String... fields) {
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Write-ahead log is closed: " + filename);
+            }
+            lastLSN++;
+            encode(pending, lastLSN, type, fields);
+            pendingRecords++;
+            if (pendingRecords >= syncBatchSize) {
+                appendLock.notifyAll();
+            }
+            return lastLSN;
+        }
+    }
+    /**
+     * Writes and syncs every record appended so far, on the calling thread.
+     *
+     * @throws IOException if the write or sync fails.
+     */
+    public void sync() throws IOException {
+        synchronized (writeLock) {
+            String batch;
+            long batchLSN;
+            synchronized (appendLock) {
+                if (pendingRecords == 0) {
+                    return;
+                }
+                batch = pending.toString();
+                batchLSN = lastLSN;
+                pending = new StringBuilder();
+                pendingRecords = 0;
+            }
+
+            try {
+                ByteBuffer bytes = ByteBuffer.wrap(batch.getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                synchronized (appendLock) {
+                    syncFailure = e;
+                    appendLock.notifyAll();
+                }
+                throw e;
+            }
+
+            synchronized (appendLock) {
+                durableLSN = batchLSN;
+                syncFailure = null;
+                appendLock.notifyAll();
+            }
+        }
+    }
+    /**
+     * Discards the records up to and including {@code lsn}. Used after a snapshot has captured the state
+     * they describe; records appended while the snapshot was being written are kept. The kept tail is
+     * written to a new file that atomically replaces the log, so a crash leaves either the old or the new
+     * log. Sequence numbers keep increasing across truncations.
+     *
+     * @param lsn The sequence number the snapshot reflects.
+     * @throws IOException if the file cannot be rewritten.
+     */
+    public void truncateThrough(long lsn) throws IOException {
+        synchronized (writeLock) {
+            sync();
+            StringBuilder kept = new StringBuilder();
+            readValidPrefix(filename, record -> {
+                if (parseLSN(record) > lsn) {
+                    encode(kept, parseLSN(record), record[1], Arrays.copyOfRange(record, 2, record.length));
+                }
+            });
+            if (kept.length() == 0) {
+                channel.truncate(0);
+                channel.force(true);
+                return;
+            }
+            Path temp = Paths.get(filename + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(kept.toString().getBytes(StandardCharsets.UTF_8));
+                while (bytes.hasRemaining()) {
+                    out.write(bytes);
+                }
+                out.force(true);
+            }
+            Files.move(temp, Paths.get(filename), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel.close();
+            channel = FileChannel.open(Paths.get(filename), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            synchronized (appendLock) {
+                boolean due = pendingRecords >= syncBatchSize || (pendingRecords > 0 && committers > 0);
+                if (!closed && !due) {
+                    try {
+                        appendLock.wait(syncIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+            try {
+                sync();
+            } catch (IOException e) {
+                System.err.println("Error writing write-ahead log " + filename + ": " + e.getMessage());
+            }
+        }
+    }
+    /**
+     * Stops the group commit thread, syncs the remaining records and closes the file.
+     *
+     * @throws IOException if the final sync fails.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appendLock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            try {
+                sync();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // ===== Encoding =====
+    /**
+     * Appends one record line, checksum included. Shared with {@link SnapshotManager}, whose files use the
+     * same format.
+     */
+    static void encode(StringBuilder out, long lsn, String type, String... fields) {
+        int start = out.length();
+        encodeFields(out, lsn, type, fields);
+        CRC32 crc = new CRC32();
+        crc.update(out.substring(start).getBytes(StandardCharsets.UTF_8));
+        out.append('\t').append(Long.toHexString(crc.getValue())).append('\n');
+    }
+    /**
+     * Appends one record line without a checksum. {@link LogStructuredInternshipRepository} segments use this
+     * form; they detect a torn tail by the missing line break alone.
+     */
+    static void encodeFields(StringBuilder out, long lsn, String type, String... fields) {
+        out.append(lsn).append('\t').append(type);
+        for (String field : fields) {
+            out.append('\t');
+            escape(field, out);
+        }
+    }
+    private static void escape(String value, StringBuilder out) {
+        if (value == null) {
+            out.append(NULL_TOKEN);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': out.append("\\\\"); break;
+                case '\t': out.append("\\t"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                default: out.append(c);
+            }
+        }
+    }
+
+    static String unescape(String value) {
+        if (NULL_TOKEN.equals(value)) {
+            return null;
+        }
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                switch (next) {
+                    case 't': out.append('\t'); break;
+                    case 'n': out.append('\n'); break;
+                    case 'r': out.append('\r'); break;
+                    default: out.append(next);
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+    /**
+     * Decodes a single line written by {@link #encodeFields} (checksum already removed).
+     *
+     * @param line A line without its line break.
+     * @return {@code [LSN, TYPE, field...]} with fields unescaped, or {@code null} if the line is incomplete.
+     */
+    static String[] decode(String line) {
+        String[] parts = line.split("\t", -1);
+        if (parts.length < 2) {
+            return null;
+        }
+        for (int i = 2; i < parts.length; i++) {
+            parts[i] = unescape(parts[i]);
+        }
+        return parts;
+    }
+    /**
+     * Streams the records of a log file in order, ignoring a torn or corrupt tail.
+     *
+     * @param filename The log file; a missing file has no records.
+     * @param consumer Receives {@code [LSN, TYPE, field...]} per record.
+     * @return The number of records read.
+     * @throws IOException if the file cannot be read.
+     */
+    static long readRecords(String filename, Consumer<String[]> consumer) throws IOException {
+        long[] count = {0};
+        readValidPrefix(filename, record -> {
+            consumer.accept(record);
+            count[0]++;
+        });
+        return count[0];
+    }
+    /**
+     * Streams the records of the valid prefix of a file: complete lines, each ending in a line break and
+     * matching its checksum. Reading stops at the first line that is not.
+     *
+     * @param filename The log file; a missing file has no records.
+     * @param consumer Receives {@code [LSN, TYPE, field...]} per record.
+     * @return The length in bytes of the valid prefix; less than the file size if the tail is torn or corrupt.
+     * @throws IOException if the file cannot be read.
+     */
+    static long readValidPrefix(String filename, Consumer<String[]> consumer) throws IOException {
+        Path path = Paths.get(filename);
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        long validEnd = 0;
+        byte[] buffer = new byte[1 << 16];
+        int carried = 0;
+        try (InputStream in = Files.newInputStream(path)) {
+            int read;
+            while ((read = in.read(buffer, carried, buffer.length - carried)) != -1) {
+                int limit = carried + read;
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    String[] record = checkedRecord(buffer, lineStart, i);
+                    if (record == null) {
+                        return validEnd;
+                    }
+                    consumer.accept(record);
+                    validEnd += i - lineStart + 1;
+                    lineStart = i + 1;
+                }
+                // Keep the incomplete tail for the next read, growing the buffer for very long records
+                carried = limit - lineStart;
+                if (lineStart == 0 && carried == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                } else {
+                    System.arraycopy(buffer, lineStart, buffer, 0, carried);
+                }
+            }
+        }
+        return validEnd;
+    }
+
+    private static String[] checkedRecord(byte[] line, int from, int to) {
+        int tab = to - 1;
+        while (tab >= from && line[tab] != '\t') {
+            tab--;
+        }
+        if (tab < from) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(line, from, tab - from);
+        try {
+            if (Long.parseLong(new String(line, tab + 1, to - tab - 1, StandardCharsets.US_ASCII), 16) != crc.getValue()) {
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String[] record = decode(new String(line, from, tab - from, StandardCharsets.UTF_8));
+        return record != null && parseLSN(record) >= 0 ? record : null;
+    }
+
+    private static long parseLSN(String[] record) {
+        try {
+            return Long.parseLong(record[0]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
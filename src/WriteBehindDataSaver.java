@@ -0,0 +1,292 @@
+import java.io.Closeable;
+import java.util.*;
+import java.util.function.Supplier;
+/**
+ * Asynchronous write-behind stage in front of any {@link IDataSaver}.
+ * <p>
+ * <b>Architectural Role:</b>
+ * This class is a <b>Decorator</b> in the <b>Persistence Layer (Write Side)</b>. A save call on it returns
+ * immediately; the actual write is performed later by a background thread through the wrapped saver
+ * ({@link IncrementalDataSaver}, {@link CSVDataSaver} or {@link BinaryDataSaver}). Menu actions such as
+ * approving a representative therefore never wait for the disk.
+ * </p>
+ * <p>
+ * <b>How it works:</b>
+ * <ol>
+ * <li><b>Coalescing:</b> Pending saves are keyed by entity type and file. A new save of a key that is
+ * still queued replaces the queued one, so a burst of approvals becomes a single write of the latest state.</li>
+ * <li><b>Batching:</b> The flusher drains up to {@code batchSize} saves at a time, either when that many
+ * are waiting or every {@code flushIntervalMillis}, whichever comes first.</li>
+ * <li><b>Backpressure:</b> The queue holds at most {@code capacity} distinct keys. Once it is full, a save
+ * of a new key blocks until the flusher has made room.</li>
+ * <li><b>Shutdown:</b> {@link #close()} writes everything still queued. {@link Main} calls it on exit and
+ * from a shutdown hook.</li>
+ * </ol>
+ * </p>
+ */
+public class WriteBehindDataSaver implements IDataSaver, Closeable {
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 200;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final IDataSaver delegate;
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final int capacity;
+
+    private final Object lock = new Object();
+    private final LinkedHashMap<String, Runnable> pending = new LinkedHashMap<>();
+    private boolean inFlight;
+    private boolean flushRequested;
+    private boolean closed;
+    private final Thread flusher;
+
+    // Metrics, guarded by lock
+    private long flushedSaves;
+    private long batches;
+    private long coalescedSaves;
+    private long backpressureWaits;
+    private int lastBatchSize;
+    private long lastFlushNanos;
+    private long maxFlushNanos;
+    private long totalFlushNanos;
+    /**
+     * Wraps a saver with the default interval, batch size and capacity.
+     *
+     * @param delegate The saver that performs the actual writes.
+     */
+    public WriteBehindDataSaver(IDataSaver delegate) {
+        this(delegate, DEFAULT_FLUSH_INTERVAL_MILLIS, DEFAULT_BATCH_SIZE, DEFAULT_CAPACITY);
+    }
+    /**
+     * Wraps a saver and starts the flusher thread.
+     *
+     * @param delegate            The saver that performs the actual writes.
+     * @param flushIntervalMillis Maximum time a queued save waits before it is written.
+     * @param batchSize           Number of queued saves that triggers an immediate flush, and the most
+     *                            saves written per batch.
+     * @param capacity            Maximum number of distinct queued saves before callers block.
+     */
+    public WriteBehindDataSaver(IDataSaver delegate, long flushIntervalMillis, int batchSize, int capacity) {
+        this.delegate = delegate;
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.batchSize = Math.max(1, batchSize);
+        this.capacity = Math.max(1, capacity);
+
+        this.flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // ===== IDataSaver =====
+
+    @Override
+    public void saveCompanyReps(String filename, List<CompanyRepresentative> reps) {
+        saveCompanyReps(filename, () -> reps);
+    }
+    /**
+     * Queues a save whose list is only built when the save is written, on the flusher thread. A burst of
+     * coalesced saves therefore builds it once instead of once per call.
+     *
+     * @param filename The file to save to.
+     * @param reps     Supplies the representatives; must be safe to call from the flusher thread.
+     */
+    public void saveCompanyReps(String filename, Supplier<List<CompanyRepresentative>> reps) {
+        enqueue("reps|" + filename, () -> delegate.saveCompanyReps(filename, reps.get()));
+    }
+
+    @Override
+    public void saveStudents(String filename, List<Student> students) {
+        enqueue("students|" + filename, () -> delegate.saveStudents(filename, students));
+    }
+
+    @Override
+    public void saveStaff(String filename, List<CareerCenterStaff> staff) {
+        enqueue("staff|" + filename, () -> delegate.saveStaff(filename, staff));
+    }
+
+    @Override
+    public void saveInternships(String filename, List<Internship> internships) {
+        enqueue("internships|" + filename, () -> delegate.saveInternships(filename, internships));
+    }
+
+    @Override
+    public void saveApplications(String filename, List<Internship> internships) {
+        enqueue("applications|" + filename, () -> delegate.saveApplications(filename, internships));
+    }
+
+    private void enqueue(String key, Runnable save) {
+        synchronized (lock) {
+            if (closed) {
+                // The flusher is gone: fall back to a synchronous write rather than dropping data
+                save.run();
+                return;
+            }
+            boolean waited = false;
+            while (!pending.containsKey(key) && pending.size() >= capacity && !closed) {
+                if (!waited) {
+                    backpressureWaits++;
+                    waited = true;
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    save.run();
+                    return;
+                }
+            }
+            if (pending.put(key, save) != null) {
+                coalescedSaves++;
+            } else if (pending.size() >= batchSize) {
+                lock.notifyAll();
+            }
+        }
+    }
+    /**
+     * Blocks until every save queued so far has been written.
+     */
+    public void flush() {
+        synchronized (lock) {
+            flushRequested = true;
+            lock.notifyAll();
+            while ((!pending.isEmpty() || inFlight) && flusher.isAlive()) {
+                try {
+                    lock.wait(flushIntervalMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    /**
+     * Writes all queued saves and stops the flusher. Later saves are written synchronously.
+     * Calling this more than once is harmless.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            List<Runnable> batch = new ArrayList<>();
+            synchronized (lock) {
+                if (pending.size() < batchSize && !closed && !flushRequested) {
+                    try {
+                        lock.wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        closed = true;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    flushRequested = false;
+                    if (closed) {
+                        lock.notifyAll();
+                        return;
+                    }
+                    continue;
+                }
+                Iterator<Runnable> it = pending.values().iterator();
+                while (it.hasNext() && batch.size() < batchSize) {
+                    batch.add(it.next());
+                    it.remove();
+                }
+                inFlight = true;
+                lock.notifyAll(); // room for producers blocked on a full queue
+            }
+
+            long start = System.nanoTime();
+            for (Runnable save : batch) {
+                try {
+                    save.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Write-behind save failed: " + e.getMessage());
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            synchronized (lock) {
+                inFlight = false;
+                batches++;
+                flushedSaves += batch.size();
+                lastBatchSize = batch.size();
+                lastFlushNanos = elapsed;
+                maxFlushNanos = Math.max(maxFlushNanos, elapsed);
+                totalFlushNanos += elapsed;
+                if (pending.isEmpty()) {
+                    flushRequested = false;
+                }
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // ===== Metrics =====
+
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    public int getLastBatchSize() {
+        synchronized (lock) {
+            return lastBatchSize;
+        }
+    }
+
+    public double getAverageBatchSize() {
+        synchronized (lock) {
+            return batches == 0 ? 0 : (double) flushedSaves / batches;
+        }
+    }
+
+    public double getLastFlushLatencyMillis() {
+        synchronized (lock) {
+            return lastFlushNanos / 1e6;
+        }
+    }
+
+    public double getMaxFlushLatencyMillis() {
+        synchronized (lock) {
+            return maxFlushNanos / 1e6;
+        }
+    }
+
+    public long getCoalescedSaves() {
+        synchronized (lock) {
+            return coalescedSaves;
+        }
+    }
+
+    public long getBackpressureWaits() {
+        synchronized (lock) {
+            return backpressureWaits;
+        }
+    }
+    /**
+     * @return A one-line summary of queue depth, batch sizes and flush latency.
+     */
+    public String getMetricsSummary() {
+        synchronized (lock) {
+            return String.format("Write-behind: %d saves in %d batches (avg batch %.1f, last %d), %d coalesced, "
+                            + "%d backpressure waits, flush latency avg %.2f ms / max %.2f ms, queue depth %d",
+                    flushedSaves, batches, batches == 0 ? 0.0 : (double) flushedSaves / batches, lastBatchSize,
+                    coalescedSaves, backpressureWaits, batches == 0 ? 0.0 : totalFlushNanos / 1e6 / batches,
+                    maxFlushNanos / 1e6, pending.size());
+        }
+    }
+}